@@ -0,0 +1,383 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.chrono;
+
+import java.time.DateTimeException;
+import java.time.chrono.ChronoLocalDate;
+import java.time.chrono.ChronoPeriod;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.temporal.ValueRange;
+
+import io.github.meness.roozh.Jalali;
+
+/**
+ * Jalali date of {@link JalaliChronology}, backed by one packed <code>int</code>.
+ * <p>
+ * Immutable and thread-safe.
+ *
+ * @since 4.2
+ */
+public final class JalaliChronoDate implements ChronoLocalDate {
+    private final int packed;
+
+    private JalaliChronoDate(int packed) {
+        this.packed = packed;
+    }
+
+    /**
+     * @param year  proleptic Jalali year
+     * @param month month, 1 to 12
+     * @param day   day of month
+     * @return date
+     * @throws DateTimeException if date is not valid
+     */
+    public static JalaliChronoDate of(int year, int month, int day) {
+        try {
+            Jalali.toEpochDay(year, month, day);
+        } catch (IllegalArgumentException e) {
+            throw JalaliChronology.invalid(e);
+        }
+        return new JalaliChronoDate(Jalali.pack(year, month, day));
+    }
+
+    /**
+     * @param year      proleptic Jalali year
+     * @param dayOfYear day of year, 1 to 366
+     * @return date
+     * @throws DateTimeException if date is not valid
+     */
+    public static JalaliChronoDate ofYearDay(int year, int dayOfYear) {
+        JalaliChronology.INSTANCE.range(ChronoField.YEAR).checkValidValue(year, ChronoField.YEAR);
+        int length = Jalali.isLeapYear(year) ? 366 : 365;
+        if (dayOfYear < 1 || dayOfYear > length) {
+            throw new DateTimeException("Invalid day of year: " + dayOfYear);
+        }
+        return ofEpochDay(Jalali.toEpochDay(year, 1, 1) + dayOfYear - 1);
+    }
+
+    /**
+     * @param epochDay days since 1970-01-01
+     * @return date
+     * @throws DateTimeException if day is out of supported range
+     */
+    public static JalaliChronoDate ofEpochDay(long epochDay) {
+        try {
+            return new JalaliChronoDate(Jalali.toJalali(epochDay));
+        } catch (IllegalArgumentException e) {
+            throw JalaliChronology.invalid(e);
+        }
+    }
+
+    /**
+     * Create date clamping day of month to the length of month
+     */
+    private static JalaliChronoDate resolvePreviousValid(int year, int month, int day) {
+        JalaliChronology.INSTANCE.range(ChronoField.YEAR).checkValidValue(year, ChronoField.YEAR);
+        if (month == 12 && day > 29 && !Jalali.isLeapYear(year)) {
+            day = 29;
+        } else if (month > 6 && day > 30) {
+            day = 30;
+        }
+        return of(year, month, day);
+    }
+
+    /**
+     * @return packed Jalali date
+     * @see Jalali#pack(int, int, int)
+     */
+    public int toPacked() {
+        return packed;
+    }
+
+    @Override
+    public JalaliChronology getChronology() {
+        return JalaliChronology.INSTANCE;
+    }
+
+    @Override
+    public JalaliEra getEra() {
+        return getYear() >= 1 ? JalaliEra.AP : JalaliEra.BEFORE_AP;
+    }
+
+    @Override
+    public int lengthOfMonth() {
+        return Jalali.lengthOfMonth(getYear(), getMonth());
+    }
+
+    @Override
+    public int lengthOfYear() {
+        return Jalali.lengthOfYear(getYear());
+    }
+
+    @Override
+    public boolean isLeapYear() {
+        return Jalali.isLeapYear(getYear());
+    }
+
+    @Override
+    public ValueRange range(TemporalField field) {
+        if (field instanceof ChronoField) {
+            if (!isSupported(field)) {
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            }
+            switch ((ChronoField) field) {
+                case DAY_OF_MONTH:
+                    return ValueRange.of(1, lengthOfMonth());
+                case DAY_OF_YEAR:
+                    return ValueRange.of(1, lengthOfYear());
+                case ALIGNED_WEEK_OF_MONTH:
+                    return ValueRange.of(1, (lengthOfMonth() + 6) / 7);
+                case YEAR_OF_ERA:
+                    return ValueRange.of(1, getEra() == JalaliEra.AP ? Jalali.MAX_YEAR : 1 - Jalali.MIN_YEAR);
+                default:
+                    return getChronology().range((ChronoField) field);
+            }
+        }
+        return field.rangeRefinedBy(this);
+    }
+
+    @Override
+    public long getLong(TemporalField field) {
+        if (field instanceof ChronoField) {
+            switch ((ChronoField) field) {
+                case DAY_OF_WEEK:
+                    // ISO numbering, Monday is 1
+                    return Math.floorMod(toEpochDay() + 3, 7) + 1;
+                case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+                    return (getDayOfMonth() - 1) % 7 + 1;
+                case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                    return (getDayOfYear() - 1) % 7 + 1;
+                case DAY_OF_MONTH:
+                    return getDayOfMonth();
+                case DAY_OF_YEAR:
+                    return getDayOfYear();
+                case EPOCH_DAY:
+                    return toEpochDay();
+                case ALIGNED_WEEK_OF_MONTH:
+                    return (getDayOfMonth() - 1) / 7 + 1;
+                case ALIGNED_WEEK_OF_YEAR:
+                    return (getDayOfYear() - 1) / 7 + 1;
+                case MONTH_OF_YEAR:
+                    return getMonth();
+                case PROLEPTIC_MONTH:
+                    return getProlepticMonth();
+                case YEAR_OF_ERA:
+                    return getYear() >= 1 ? getYear() : 1 - getYear();
+                case YEAR:
+                    return getYear();
+                case ERA:
+                    return getEra().getValue();
+                default:
+                    throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            }
+        }
+        return field.getFrom(this);
+    }
+
+    @Override
+    public JalaliChronoDate with(TemporalField field, long newValue) {
+        if (field instanceof ChronoField) {
+            ChronoField f = (ChronoField) field;
+            range(f).checkValidValue(newValue, f);
+            int value = (int) newValue;
+            switch (f) {
+                case DAY_OF_WEEK:
+                case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+                case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                    return plusDays(newValue - getLong(f));
+                case DAY_OF_MONTH:
+                    return of(getYear(), getMonth(), value);
+                case DAY_OF_YEAR:
+                    return ofYearDay(getYear(), value);
+                case EPOCH_DAY:
+                    return ofEpochDay(newValue);
+                case ALIGNED_WEEK_OF_MONTH:
+                case ALIGNED_WEEK_OF_YEAR:
+                    return plusDays((newValue - getLong(f)) * 7);
+                case MONTH_OF_YEAR:
+                    return resolvePreviousValid(getYear(), value, getDayOfMonth());
+                case PROLEPTIC_MONTH:
+                    return plusMonths(newValue - getProlepticMonth());
+                case YEAR_OF_ERA:
+                    return resolvePreviousValid(getEra() == JalaliEra.AP ? value : 1 - value, getMonth(), getDayOfMonth());
+                case YEAR:
+                    return resolvePreviousValid(value, getMonth(), getDayOfMonth());
+                case ERA:
+                    return value == getEra().getValue() ? this
+                            : resolvePreviousValid(1 - getYear(), getMonth(), getDayOfMonth());
+                default:
+                    throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            }
+        }
+        return (JalaliChronoDate) ChronoLocalDate.super.with(field, newValue);
+    }
+
+    @Override
+    public JalaliChronoDate plus(long amountToAdd, TemporalUnit unit) {
+        if (unit instanceof ChronoUnit) {
+            switch ((ChronoUnit) unit) {
+                case DAYS:
+                    return plusDays(amountToAdd);
+                case WEEKS:
+                    return plusDays(Math.multiplyExact(amountToAdd, 7));
+                case MONTHS:
+                    return plusMonths(amountToAdd);
+                case YEARS:
+                    return plusYears(amountToAdd);
+                case DECADES:
+                    return plusYears(Math.multiplyExact(amountToAdd, 10));
+                case CENTURIES:
+                    return plusYears(Math.multiplyExact(amountToAdd, 100));
+                case MILLENNIA:
+                    return plusYears(Math.multiplyExact(amountToAdd, 1000));
+                case ERAS:
+                    return with(ChronoField.ERA, Math.addExact(getLong(ChronoField.ERA), amountToAdd));
+                default:
+                    throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            }
+        }
+        return (JalaliChronoDate) ChronoLocalDate.super.plus(amountToAdd, unit);
+    }
+
+    @Override
+    public JalaliChronoDate minus(long amountToSubtract, TemporalUnit unit) {
+        return (JalaliChronoDate) ChronoLocalDate.super.minus(amountToSubtract, unit);
+    }
+
+    public JalaliChronoDate plusDays(long days) {
+        return days == 0 ? this : ofEpochDay(Math.addExact(toEpochDay(), days));
+    }
+
+    public JalaliChronoDate plusMonths(long months) {
+        if (months == 0) {
+            return this;
+        }
+        long total = Math.addExact(getProlepticMonth(), months);
+        long year = Math.floorDiv(total, 12);
+        getChronology().range(ChronoField.YEAR).checkValidValue(year, ChronoField.YEAR);
+        return resolvePreviousValid((int) year, (int) Math.floorMod(total, 12) + 1, getDayOfMonth());
+    }
+
+    public JalaliChronoDate plusYears(long years) {
+        if (years == 0) {
+            return this;
+        }
+        long year = Math.addExact(getYear(), years);
+        getChronology().range(ChronoField.YEAR).checkValidValue(year, ChronoField.YEAR);
+        return resolvePreviousValid((int) year, getMonth(), getDayOfMonth());
+    }
+
+    @Override
+    public long until(Temporal endExclusive, TemporalUnit unit) {
+        JalaliChronoDate end = getChronology().date(endExclusive);
+        if (unit instanceof ChronoUnit) {
+            switch ((ChronoUnit) unit) {
+                case DAYS:
+                    return end.toEpochDay() - toEpochDay();
+                case WEEKS:
+                    return (end.toEpochDay() - toEpochDay()) / 7;
+                case MONTHS:
+                    return monthsUntil(end);
+                case YEARS:
+                    return monthsUntil(end) / 12;
+                case DECADES:
+                    return monthsUntil(end) / 120;
+                case CENTURIES:
+                    return monthsUntil(end) / 1200;
+                case MILLENNIA:
+                    return monthsUntil(end) / 12000;
+                case ERAS:
+                    return end.getLong(ChronoField.ERA) - getLong(ChronoField.ERA);
+                default:
+                    throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            }
+        }
+        return unit.between(this, end);
+    }
+
+    @Override
+    public ChronoPeriod until(ChronoLocalDate endDateExclusive) {
+        JalaliChronoDate end = getChronology().date(endDateExclusive);
+        long totalMonths = end.getProlepticMonth() - getProlepticMonth();
+        int days = end.getDayOfMonth() - getDayOfMonth();
+        if (totalMonths > 0 && days < 0) {
+            totalMonths--;
+            days = (int) (end.toEpochDay() - plusMonths(totalMonths).toEpochDay());
+        } else if (totalMonths < 0 && days > 0) {
+            totalMonths++;
+            days -= end.lengthOfMonth();
+        }
+        return getChronology().period(Math.toIntExact(totalMonths / 12), (int) (totalMonths % 12), days);
+    }
+
+    @Override
+    public long toEpochDay() {
+        return Jalali.toEpochDay(packed);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof JalaliChronoDate && packed == ((JalaliChronoDate) o).packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return getChronology().getId().hashCode() ^ packed;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(30);
+        sb.append(getChronology().getId()).append(' ').append(getEra()).append(' ')
+                .append(getLong(ChronoField.YEAR_OF_ERA))
+                .append(getMonth() < 10 ? "-0" : "-").append(getMonth())
+                .append(getDayOfMonth() < 10 ? "-0" : "-").append(getDayOfMonth());
+        return sb.toString();
+    }
+
+    private int getYear() {
+        return Jalali.getYear(packed);
+    }
+
+    private int getMonth() {
+        return Jalali.getMonth(packed);
+    }
+
+    private int getDayOfMonth() {
+        return Jalali.getDayOfMonth(packed);
+    }
+
+    private int getDayOfYear() {
+        int month = getMonth();
+        return (month - 1) * 31 - month / 7 * (month - 7) + getDayOfMonth();
+    }
+
+    private long getProlepticMonth() {
+        return getYear() * 12L + getMonth() - 1;
+    }
+
+    private long monthsUntil(JalaliChronoDate end) {
+        long packed1 = getProlepticMonth() * 32L + getDayOfMonth();
+        long packed2 = end.getProlepticMonth() * 32L + end.getDayOfMonth();
+        return (packed2 - packed1) / 32;
+    }
+}
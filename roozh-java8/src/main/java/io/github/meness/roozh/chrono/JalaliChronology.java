@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.chrono;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.chrono.AbstractChronology;
+import java.time.chrono.ChronoLocalDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.time.chrono.Era;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalField;
+import java.time.temporal.ValueRange;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import io.github.meness.roozh.Jalali;
+
+/**
+ * Jalali calendar as a {@link java.time.chrono.Chronology}, running on Roozh's epoch day
+ * arithmetic without any <code>Calendar</code> or <code>TimeZone</code>.
+ * <p>
+ * Registered for {@link java.time.chrono.Chronology#of(String)} with id <code>Jalali</code>.
+ *
+ * @since 4.2
+ */
+public final class JalaliChronology extends AbstractChronology {
+    public static final JalaliChronology INSTANCE = new JalaliChronology();
+
+    /**
+     * Public for {@link java.util.ServiceLoader} only, use {@link #INSTANCE} instead
+     */
+    public JalaliChronology() {
+    }
+
+    @Override
+    public String getId() {
+        return "Jalali";
+    }
+
+    /**
+     * @return CLDR calendar type
+     */
+    @Override
+    public String getCalendarType() {
+        return "persian";
+    }
+
+    @Override
+    public JalaliChronoDate date(Era era, int yearOfEra, int month, int dayOfMonth) {
+        return date(prolepticYear(era, yearOfEra), month, dayOfMonth);
+    }
+
+    @Override
+    public JalaliChronoDate date(int prolepticYear, int month, int dayOfMonth) {
+        return JalaliChronoDate.of(prolepticYear, month, dayOfMonth);
+    }
+
+    @Override
+    public JalaliChronoDate dateYearDay(Era era, int yearOfEra, int dayOfYear) {
+        return dateYearDay(prolepticYear(era, yearOfEra), dayOfYear);
+    }
+
+    @Override
+    public JalaliChronoDate dateYearDay(int prolepticYear, int dayOfYear) {
+        return JalaliChronoDate.ofYearDay(prolepticYear, dayOfYear);
+    }
+
+    @Override
+    public JalaliChronoDate dateEpochDay(long epochDay) {
+        return JalaliChronoDate.ofEpochDay(epochDay);
+    }
+
+    @Override
+    public JalaliChronoDate dateNow() {
+        return dateNow(Clock.systemDefaultZone());
+    }
+
+    @Override
+    public JalaliChronoDate dateNow(ZoneId zone) {
+        return dateNow(Clock.system(zone));
+    }
+
+    @Override
+    public JalaliChronoDate dateNow(Clock clock) {
+        return date(LocalDate.now(clock));
+    }
+
+    @Override
+    public JalaliChronoDate date(TemporalAccessor temporal) {
+        if (temporal instanceof JalaliChronoDate) {
+            return (JalaliChronoDate) temporal;
+        }
+        return dateEpochDay(temporal.getLong(ChronoField.EPOCH_DAY));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChronoLocalDateTime<JalaliChronoDate> localDateTime(TemporalAccessor temporal) {
+        return (ChronoLocalDateTime<JalaliChronoDate>) super.localDateTime(temporal);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChronoZonedDateTime<JalaliChronoDate> zonedDateTime(TemporalAccessor temporal) {
+        return (ChronoZonedDateTime<JalaliChronoDate>) super.zonedDateTime(temporal);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChronoZonedDateTime<JalaliChronoDate> zonedDateTime(Instant instant, ZoneId zone) {
+        return (ChronoZonedDateTime<JalaliChronoDate>) super.zonedDateTime(instant, zone);
+    }
+
+    @Override
+    public JalaliChronoDate resolveDate(Map<TemporalField, Long> fieldValues, ResolverStyle resolverStyle) {
+        return (JalaliChronoDate) super.resolveDate(fieldValues, resolverStyle);
+    }
+
+    @Override
+    public boolean isLeapYear(long prolepticYear) {
+        return prolepticYear >= Jalali.MIN_YEAR && prolepticYear <= Jalali.MAX_YEAR
+                && Jalali.isLeapYear((int) prolepticYear);
+    }
+
+    @Override
+    public int prolepticYear(Era era, int yearOfEra) {
+        if (!(era instanceof JalaliEra)) {
+            throw new ClassCastException("Era must be JalaliEra");
+        }
+        return era == JalaliEra.AP ? yearOfEra : 1 - yearOfEra;
+    }
+
+    @Override
+    public JalaliEra eraOf(int eraValue) {
+        return JalaliEra.of(eraValue);
+    }
+
+    @Override
+    public List<Era> eras() {
+        return Arrays.<Era>asList(JalaliEra.values());
+    }
+
+    @Override
+    public ValueRange range(ChronoField field) {
+        switch (field) {
+            case DAY_OF_MONTH:
+                return ValueRange.of(1, 29, 31);
+            case DAY_OF_YEAR:
+                return ValueRange.of(1, 365, 366);
+            case ALIGNED_WEEK_OF_MONTH:
+                return ValueRange.of(1, 5);
+            case ALIGNED_WEEK_OF_YEAR:
+                return ValueRange.of(1, 53);
+            case MONTH_OF_YEAR:
+                return ValueRange.of(1, 12);
+            case PROLEPTIC_MONTH:
+                return ValueRange.of(Jalali.MIN_YEAR * 12L, Jalali.MAX_YEAR * 12L + 11);
+            case YEAR_OF_ERA:
+                return ValueRange.of(1, Jalali.MAX_YEAR);
+            case YEAR:
+                return ValueRange.of(Jalali.MIN_YEAR, Jalali.MAX_YEAR);
+            case ERA:
+                return ValueRange.of(0, 1);
+            case EPOCH_DAY:
+                return ValueRange.of(Jalali.MIN_EPOCH_DAY, Jalali.MAX_EPOCH_DAY);
+            default:
+                return field.range();
+        }
+    }
+
+    static DateTimeException invalid(IllegalArgumentException e) {
+        return new DateTimeException(e.getMessage(), e);
+    }
+}
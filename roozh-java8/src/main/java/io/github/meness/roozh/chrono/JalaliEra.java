@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.chrono;
+
+import java.time.DateTimeException;
+import java.time.chrono.Era;
+
+/**
+ * Eras of the Jalali calendar
+ *
+ * @since 4.2
+ */
+public enum JalaliEra implements Era {
+    /**
+     * Years before 1 AP, numbered from 1 backwards
+     */
+    BEFORE_AP,
+    /**
+     * Anno Persico, year 1 onwards
+     */
+    AP;
+
+    public static JalaliEra of(int era) {
+        switch (era) {
+            case 0:
+                return BEFORE_AP;
+            case 1:
+                return AP;
+            default:
+                throw new DateTimeException("Invalid era: " + era);
+        }
+    }
+
+    @Override
+    public int getValue() {
+        return ordinal();
+    }
+}
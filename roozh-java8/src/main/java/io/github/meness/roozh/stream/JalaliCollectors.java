@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.stream;
+
+import java.util.TimeZone;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+
+import io.github.meness.roozh.JalaliUnit;
+import io.github.meness.roozh.RoozhZone;
+
+/**
+ * Groups timestamps by Jalali day, week, month or year into a
+ * {@link JalaliHistogram}, without boxing dates or counts.
+ *
+ * @since 4.2
+ */
+public final class JalaliCollectors {
+    private JalaliCollectors() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    /**
+     * Count epoch milliseconds per unit
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z, may be parallel
+     * @param unit        bucket unit
+     * @param zone        compiled time zone
+     * @return counts
+     */
+    public static JalaliHistogram count(LongStream epochMillis, JalaliUnit unit, RoozhZone zone) {
+        checkArguments(unit, zone);
+        return epochMillis.collect(() -> new JalaliHistogram(unit, zone), JalaliHistogram::addMillis,
+                JalaliHistogram::merge);
+    }
+
+    /**
+     * Count epoch milliseconds per unit
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z, may be parallel
+     * @param unit        bucket unit
+     * @param zone        time zone, its compiled zone is used if there is one
+     * @return counts
+     * @see #count(LongStream, JalaliUnit, RoozhZone)
+     */
+    public static JalaliHistogram count(LongStream epochMillis, JalaliUnit unit, TimeZone zone) {
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            return count(epochMillis, unit, compiled);
+        }
+        TimeZone copy = (TimeZone) zone.clone();
+        return epochMillis.collect(() -> new JalaliHistogram(unit, copy), JalaliHistogram::addMillis,
+                JalaliHistogram::merge);
+    }
+
+    /**
+     * @param epochMillis instant of an element in milliseconds since 1970-01-01T00:00:00Z
+     * @param unit        bucket unit
+     * @param zone        compiled time zone
+     * @param <T>         element type
+     * @return collector counting elements per unit
+     */
+    public static <T> Collector<T, ?, JalaliHistogram> counting(ToLongFunction<? super T> epochMillis,
+                                                               JalaliUnit unit, RoozhZone zone) {
+        return summing(epochMillis, element -> 1, unit, zone);
+    }
+
+    /**
+     * @param epochMillis instant of an element in milliseconds since 1970-01-01T00:00:00Z
+     * @param unit        bucket unit
+     * @param zone        time zone, its compiled zone is used if there is one
+     * @param <T>         element type
+     * @return collector counting elements per unit
+     */
+    public static <T> Collector<T, ?, JalaliHistogram> counting(ToLongFunction<? super T> epochMillis,
+                                                               JalaliUnit unit, TimeZone zone) {
+        return summing(epochMillis, element -> 1, unit, zone);
+    }
+
+    /**
+     * @param epochMillis instant of an element in milliseconds since 1970-01-01T00:00:00Z
+     * @param value       value of an element
+     * @param unit        bucket unit
+     * @param zone        compiled time zone
+     * @param <T>         element type
+     * @return collector summing values of elements per unit
+     */
+    public static <T> Collector<T, ?, JalaliHistogram> summing(ToLongFunction<? super T> epochMillis,
+                                                              ToLongFunction<? super T> value,
+                                                              JalaliUnit unit, RoozhZone zone) {
+        checkArguments(unit, zone);
+        return Collector.of(() -> new JalaliHistogram(unit, zone),
+                (histogram, element) -> histogram.addMillis(epochMillis.applyAsLong(element),
+                        value.applyAsLong(element)),
+                JalaliHistogram::merge,
+                Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * @param epochMillis instant of an element in milliseconds since 1970-01-01T00:00:00Z
+     * @param value       value of an element
+     * @param unit        bucket unit
+     * @param zone        time zone, its compiled zone is used if there is one
+     * @param <T>         element type
+     * @return collector summing values of elements per unit
+     * @see #summing(ToLongFunction, ToLongFunction, JalaliUnit, RoozhZone)
+     */
+    public static <T> Collector<T, ?, JalaliHistogram> summing(ToLongFunction<? super T> epochMillis,
+                                                              ToLongFunction<? super T> value,
+                                                              JalaliUnit unit, TimeZone zone) {
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            return summing(epochMillis, value, unit, compiled);
+        }
+        TimeZone copy = (TimeZone) zone.clone();
+        return Collector.of(() -> new JalaliHistogram(unit, copy),
+                (histogram, element) -> histogram.addMillis(epochMillis.applyAsLong(element),
+                        value.applyAsLong(element)),
+                JalaliHistogram::merge,
+                Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+    }
+
+    private static void checkArguments(JalaliUnit unit, RoozhZone zone) {
+        // fail at creation instead of in the first supplier call
+        if (unit == null || zone == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.stream;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+import io.github.meness.roozh.Jalali;
+import io.github.meness.roozh.JalaliDate;
+import io.github.meness.roozh.JalaliUnit;
+import io.github.meness.roozh.RoozhZone;
+
+/**
+ * Sums values per Jalali day, week, month or year in a primitive open addressing
+ * table keyed by the packed first date of each bucket.
+ * <p>
+ * Not thread-safe; parallel collection merges one histogram per thread.
+ *
+ * @see JalaliCollectors
+ * @since 4.2
+ */
+public class JalaliHistogram {
+    private static final long MILLIS_PER_DAY = 86400000L;
+    // below any packed date
+    private static final int FREE = Integer.MIN_VALUE;
+    private final JalaliUnit unit;
+    // null when offsets come from compiled zone
+    private final TimeZone zone;
+    private final RoozhZone compiledZone;
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private long lastDay = Long.MIN_VALUE;
+    private int lastKey;
+
+    /**
+     * @param unit bucket unit
+     * @param zone compiled time zone used by {@link #addMillis(long, long)}
+     */
+    public JalaliHistogram(JalaliUnit unit, RoozhZone zone) {
+        this(unit, null, zone);
+    }
+
+    /**
+     * @param unit bucket unit
+     * @param zone time zone used by {@link #addMillis(long, long)}, must not be
+     *             modified while in use; replaced by its compiled zone if there is one
+     * @see RoozhZone#forTimeZone(TimeZone)
+     */
+    public JalaliHistogram(JalaliUnit unit, TimeZone zone) {
+        this(unit, zone, zone == null ? null : RoozhZone.forTimeZone(zone));
+    }
+
+    private JalaliHistogram(JalaliUnit unit, TimeZone zone, RoozhZone compiledZone) {
+        if (unit == null || zone == null && compiledZone == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        this.unit = unit;
+        this.zone = compiledZone != null ? null : zone;
+        this.compiledZone = compiledZone;
+        allocate(16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int h = key * 0x9E3779B9;
+        int i = (h ^ h >>> 16) & mask;
+        while (keys[i] != key && keys[i] != FREE) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void put(int key, long value) {
+        int i = slot(key);
+        if (keys[i] == FREE) {
+            keys[i] = key;
+            if (++size << 1 > keys.length) {
+                values[i] = value;
+                rehash();
+                return;
+            }
+        }
+        values[i] += value;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    public JalaliUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Add one to the bucket of an instant
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     */
+    public void addMillis(long epochMillis) {
+        addMillis(epochMillis, 1);
+    }
+
+    /**
+     * Add value to the bucket of an instant
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param value       value to add
+     */
+    public void addMillis(long epochMillis, long value) {
+        long day = compiledZone != null ? compiledZone.toEpochDay(epochMillis)
+                : Math.floorDiv(epochMillis + zone.getOffset(epochMillis), MILLIS_PER_DAY);
+        if (day != lastDay) {
+            lastKey = unit.truncate(Jalali.toJalali(day));
+            lastDay = day;
+        }
+        put(lastKey, value);
+    }
+
+    /**
+     * Add value to the bucket of a date
+     *
+     * @param packed packed Jalali date
+     * @param value  value to add
+     */
+    public void addDate(int packed, long value) {
+        put(unit.truncate(packed), value);
+    }
+
+    /**
+     * Add all buckets of other histogram to this one
+     *
+     * @param other histogram of the same unit
+     * @return this histogram
+     */
+    public JalaliHistogram merge(JalaliHistogram other) {
+        if (other.unit != unit) {
+            throw new IllegalArgumentException("Units differ: " + unit + ", " + other.unit);
+        }
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != FREE) {
+                put(other.keys[i], other.values[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return number of buckets
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param packed packed Jalali date
+     * @return sum of the bucket containing date, zero if empty
+     */
+    public long get(int packed) {
+        int i = slot(unit.truncate(packed));
+        return keys[i] == FREE ? 0 : values[i];
+    }
+
+    /**
+     * @return packed first dates of all buckets in ascending order
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int key : keys) {
+            if (key != FREE) {
+                result[n++] = key;
+            }
+        }
+        // packed dates sort chronologically
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @return sorted copy of buckets
+     */
+    public SortedMap<JalaliDate, Long> toMap() {
+        TreeMap<JalaliDate, Long> map = new TreeMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                map.put(JalaliDate.ofPacked(keys[i]), values[i]);
+            }
+        }
+        return Collections.unmodifiableSortedMap(map);
+    }
+
+    @Override
+    public String toString() {
+        return unit + "=" + toMap();
+    }
+}
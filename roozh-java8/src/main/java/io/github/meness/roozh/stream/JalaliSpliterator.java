@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.stream;
+
+import java.util.Spliterator;
+import java.util.TimeZone;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import io.github.meness.roozh.Jalali;
+import io.github.meness.roozh.RoozhZone;
+
+/**
+ * Maps a spliterator of epoch milliseconds to packed Jalali dates without boxing.
+ * <p>
+ * Splitting is delegated to the source, so parallel streams split exactly as well as
+ * the source does. Consecutive instants of the same local day are converted once.
+ *
+ * @since 4.2
+ */
+public class JalaliSpliterator implements Spliterator.OfInt {
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private final Spliterator.OfLong source;
+    // null when offsets come from compiled zone
+    private final TimeZone zone;
+    private final RoozhZone compiledZone;
+    private long lastDay = Long.MIN_VALUE;
+    private int lastDate;
+
+    /**
+     * @param source epoch milliseconds
+     * @param zone   compiled time zone
+     */
+    public JalaliSpliterator(Spliterator.OfLong source, RoozhZone zone) {
+        this(source, null, zone);
+    }
+
+    /**
+     * @param source epoch milliseconds
+     * @param zone   time zone, must not be modified while in use; replaced by its
+     *               compiled zone if there is one
+     * @see RoozhZone#forTimeZone(TimeZone)
+     */
+    public JalaliSpliterator(Spliterator.OfLong source, TimeZone zone) {
+        this(source, zone, RoozhZone.forTimeZone(zone));
+    }
+
+    private JalaliSpliterator(Spliterator.OfLong source, TimeZone zone, RoozhZone compiledZone) {
+        if (source == null || zone == null && compiledZone == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        this.source = source;
+        this.zone = compiledZone != null ? null : zone;
+        this.compiledZone = compiledZone;
+    }
+
+    private int convert(long millis) {
+        long day = compiledZone != null ? compiledZone.toEpochDay(millis)
+                : Math.floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY);
+        if (day != lastDay) {
+            lastDate = Jalali.toJalali(day);
+            lastDay = day;
+        }
+        return lastDate;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        return source.tryAdvance((LongConsumer) millis -> action.accept(convert(millis)));
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        source.forEachRemaining((LongConsumer) millis -> action.accept(convert(millis)));
+    }
+
+    @Override
+    public JalaliSpliterator trySplit() {
+        Spliterator.OfLong prefix = source.trySplit();
+        return prefix == null ? null : new JalaliSpliterator(prefix, zone, compiledZone);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        // mapping keeps order and size, but equal dates break DISTINCT and SORTED
+        return source.characteristics() & ~(DISTINCT | SORTED);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.stream;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TimeZone;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import io.github.meness.roozh.Jalali;
+import io.github.meness.roozh.JalaliCursor;
+import io.github.meness.roozh.JalaliUnit;
+import io.github.meness.roozh.RoozhZone;
+
+/**
+ * Stream adapters for Jalali dates
+ *
+ * @since 4.2
+ */
+public final class JalaliStreams {
+    private JalaliStreams() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    /**
+     * Map epoch milliseconds to packed Jalali dates, keeping parallelism of the source
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone        compiled time zone
+     * @return packed Jalali dates
+     * @see io.github.meness.roozh.Jalali#pack(int, int, int)
+     */
+    public static IntStream toJalali(LongStream epochMillis, RoozhZone zone) {
+        if (zone == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        return StreamSupport.intStream(new JalaliSpliterator(epochMillis.spliterator(), zone), epochMillis.isParallel())
+                .onClose(epochMillis::close);
+    }
+
+    /**
+     * Map epoch milliseconds to packed Jalali dates, keeping parallelism of the source
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone        time zone, its compiled zone is used if there is one
+     * @return packed Jalali dates
+     * @see #toJalali(LongStream, RoozhZone)
+     */
+    public static IntStream toJalali(LongStream epochMillis, TimeZone zone) {
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            return toJalali(epochMillis, compiled);
+        }
+        TimeZone copy = (TimeZone) zone.clone();
+        return StreamSupport.intStream(new JalaliSpliterator(epochMillis.spliterator(), copy), epochMillis.isParallel())
+                .onClose(epochMillis::close);
+    }
+
+    /**
+     * Jalali dates from start, stepping by unit, while before end. Month and year steps
+     * keep the day of month of start, clamped to the length of each month.
+     *
+     * @param startInclusive packed Jalali date
+     * @param endExclusive   packed Jalali date
+     * @param unit           step
+     * @return packed Jalali dates in ascending order
+     * @throws IllegalArgumentException if start is not valid
+     * @see JalaliCursor
+     */
+    public static IntStream range(int startInclusive, int endExclusive, JalaliUnit unit) {
+        if (unit == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        return StreamSupport.intStream(new RangeSpliterator(new JalaliCursor(startInclusive), endExclusive, unit),
+                false);
+    }
+
+    private static final class RangeSpliterator extends Spliterators.AbstractIntSpliterator {
+        private final JalaliCursor cursor;
+        private final int end;
+        private final JalaliUnit unit;
+        private boolean done;
+
+        RangeSpliterator(JalaliCursor cursor, int end, JalaliUnit unit) {
+            super(estimate(cursor, end, unit), characteristics(unit));
+            this.cursor = cursor;
+            this.end = end;
+            this.unit = unit;
+            done = cursor.get() >= end;
+        }
+
+        private static long estimate(JalaliCursor cursor, int end, JalaliUnit unit) {
+            int start = cursor.get();
+            if (start >= end) {
+                return 0;
+            }
+            long days = toEpochDayExclusive(end) - cursor.getEpochDay();
+            switch (unit) {
+                case DAY:
+                    return days;
+                case WEEK:
+                    return (days + 6) / 7;
+                case MONTH:
+                    return days / 29 + 1;
+                default:
+                    return days / 365 + 1;
+            }
+        }
+
+        private static long toEpochDayExclusive(int end) {
+            // end need not be a valid date, use the first date at or after it
+            int year = Jalali.getYear(end);
+            int month = Jalali.getMonth(end);
+            int day = Jalali.getDayOfMonth(end);
+            if (month == 0 || day == 0) {
+                month = Math.max(month, 1);
+                day = 1;
+            } else if (month <= 12 && year <= Jalali.MAX_YEAR && day > Jalali.lengthOfMonth(year, month)) {
+                month++;
+                day = 1;
+            }
+            if (month > 12) {
+                year++;
+                month = 1;
+                day = 1;
+            }
+            return year > Jalali.MAX_YEAR ? Jalali.MAX_EPOCH_DAY + 1 : Jalali.toEpochDay(year, month, day);
+        }
+
+        private static int characteristics(JalaliUnit unit) {
+            int characteristics = ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE;
+            return unit == JalaliUnit.DAY || unit == JalaliUnit.WEEK ? characteristics | SIZED : characteristics;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (done) {
+                return false;
+            }
+            action.accept(cursor.get());
+            try {
+                cursor.next(unit);
+                done = cursor.get() >= end;
+            } catch (IllegalStateException e) {
+                // stepped past Jalali.MAX_YEAR
+                done = true;
+            }
+            return true;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.chrono;
+
+import org.junit.Test;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JalaliChronologyTest {
+    private static final JalaliChronology CHRONOLOGY = JalaliChronology.INSTANCE;
+
+    @Test
+    public void leapEsfandIsGregorianDate() {
+        JalaliChronoDate date = CHRONOLOGY.date(1403, 12, 30);
+        assertEquals(LocalDate.of(2025, 3, 20), LocalDate.from(date));
+        assertEquals(date, CHRONOLOGY.date(LocalDate.of(2025, 3, 20)));
+        assertEquals(CHRONOLOGY.date(1404, 1, 1), CHRONOLOGY.date(LocalDate.of(2025, 3, 21)));
+        assertTrue(date.isLeapYear());
+        assertEquals(366, date.lengthOfYear());
+    }
+
+    @Test
+    public void dayOfYear() {
+        assertEquals(CHRONOLOGY.date(1403, 12, 30), CHRONOLOGY.dateYearDay(1403, 366));
+        assertEquals(CHRONOLOGY.date(1403, 7, 1), CHRONOLOGY.dateYearDay(1403, 187));
+        assertEquals(366, CHRONOLOGY.date(1403, 12, 30).get(ChronoField.DAY_OF_YEAR));
+    }
+
+    @Test(expected = DateTimeException.class)
+    public void dayOfYearOfCommonYear() {
+        CHRONOLOGY.dateYearDay(1404, 366);
+    }
+
+    @Test
+    public void adjusters() {
+        JalaliChronoDate date = CHRONOLOGY.date(1403, 12, 10);
+        assertEquals(CHRONOLOGY.date(1403, 12, 30), date.with(TemporalAdjusters.lastDayOfMonth()));
+        assertEquals(CHRONOLOGY.date(1403, 12, 1), date.with(TemporalAdjusters.firstDayOfMonth()));
+        assertEquals(CHRONOLOGY.date(1404, 1, 1), date.with(TemporalAdjusters.firstDayOfNextYear()));
+        assertEquals(CHRONOLOGY.date(1403, 12, 30), date.with(TemporalAdjusters.lastDayOfYear()));
+        // 1403/12/30 is a Thursday
+        assertEquals(CHRONOLOGY.date(1404, 1, 1), date.with(TemporalAdjusters.lastDayOfMonth())
+                .with(TemporalAdjusters.next(DayOfWeek.FRIDAY)));
+    }
+
+    @Test
+    public void until() {
+        JalaliChronoDate start = CHRONOLOGY.date(1403, 6, 31);
+        // like 2024-01-31 until 2024-02-29 in ISO, a shorter month does not complete a month
+        assertEquals(0, start.until(CHRONOLOGY.date(1403, 7, 30), ChronoUnit.MONTHS));
+        assertEquals(1, start.until(CHRONOLOGY.date(1403, 8, 1), ChronoUnit.MONTHS));
+        assertEquals(366, CHRONOLOGY.date(1403, 1, 1).until(CHRONOLOGY.date(1404, 1, 1), ChronoUnit.DAYS));
+        // likewise for the last day of a leap Esfand
+        assertEquals(0, CHRONOLOGY.date(1403, 12, 30).until(CHRONOLOGY.date(1404, 12, 29), ChronoUnit.YEARS));
+        assertEquals(1, CHRONOLOGY.date(1403, 12, 30).until(CHRONOLOGY.date(1405, 1, 1), ChronoUnit.YEARS));
+        assertEquals(CHRONOLOGY.period(1, 5, 30), CHRONOLOGY.date(1402, 1, 1).until(start));
+    }
+
+    @Test
+    public void formatterWithChronology() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy/MM/dd").withChronology(CHRONOLOGY);
+        assertEquals("1403/12/30", formatter.format(LocalDate.of(2025, 3, 20)));
+        assertEquals(CHRONOLOGY.date(1403, 12, 30), CHRONOLOGY.date(formatter.parse("1403/12/30")));
+        assertEquals(LocalDate.of(2025, 3, 20), LocalDate.from(formatter.parse("1403/12/30")));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.stream;
+
+import io.github.meness.roozh.Jalali;
+import io.github.meness.roozh.JalaliUnit;
+import io.github.meness.roozh.RoozhZone;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JalaliCollectorsTest {
+    // more days, weeks and months than the initial sixteen slots of a histogram
+    static final long[] MILLIS = instants();
+    private static final TimeZone TEHRAN = TimeZone.getTimeZone("Asia/Tehran");
+    // not compiled, counted through TimeZone
+    private static final TimeZone BERLIN = TimeZone.getTimeZone("Europe/Berlin");
+
+    private static long[] instants() {
+        Random random = new Random(42);
+        long[] millis = new long[200000];
+        for (int i = 0; i < millis.length; i++) {
+            // runs of close instants, as in logs, spread over 1900 to 2100
+            millis[i] = i % 100 == 0 ? -2208988800000L + (long) (random.nextDouble() * 6.3e12)
+                    : millis[i - 1] + random.nextInt(3600000);
+        }
+        return millis;
+    }
+
+    /**
+     * Run in a pool of four threads so that parallel streams split on any machine
+     */
+    static <T> T inPool(Supplier<T> task) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            return pool.submit(task::get).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Map<Integer, Long> naive(JalaliUnit unit, TimeZone zone, boolean values) {
+        Map<Integer, Long> map = new HashMap<>();
+        for (long millis : MILLIS) {
+            map.merge(unit.truncate(Jalali.toJalaliFromMillis(millis, zone)), values ? millis & 0xff : 1, Long::sum);
+        }
+        return map;
+    }
+
+    private static void assertHistogram(Map<Integer, Long> expected, JalaliHistogram histogram) {
+        assertEquals(expected.size(), histogram.size());
+        int[] keys = expected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        assertArrayEquals(keys, histogram.keys());
+        for (int key : keys) {
+            assertEquals(expected.get(key).longValue(), histogram.get(key));
+        }
+        assertEquals(expected.size(), histogram.toMap().size());
+    }
+
+    @Test
+    public void countMatchesGrouping() throws Exception {
+        for (JalaliUnit unit : JalaliUnit.values()) {
+            for (TimeZone zone : new TimeZone[]{TEHRAN, BERLIN}) {
+                Map<Integer, Long> expected = naive(unit, zone, false);
+                assertTrue(unit + " " + expected.size(), expected.size() > 16);
+                assertHistogram(expected, JalaliCollectors.count(LongStream.of(MILLIS), unit, zone));
+                assertHistogram(expected, inPool(() -> JalaliCollectors.count(LongStream.of(MILLIS).parallel(),
+                        unit, zone)));
+            }
+            Map<Integer, Long> expected = naive(unit, TEHRAN, false);
+            assertHistogram(expected, JalaliCollectors.count(LongStream.of(MILLIS), unit, RoozhZone.TEHRAN));
+            assertHistogram(expected, inPool(() -> JalaliCollectors.count(LongStream.of(MILLIS).parallel(), unit,
+                    RoozhZone.TEHRAN)));
+        }
+    }
+
+    @Test
+    public void collectorsMatchGrouping() throws Exception {
+        Long[] boxed = LongStream.of(MILLIS).boxed().toArray(Long[]::new);
+        for (JalaliUnit unit : JalaliUnit.values()) {
+            for (TimeZone zone : new TimeZone[]{TEHRAN, BERLIN}) {
+                Map<Integer, Long> counts = naive(unit, zone, false);
+                Map<Integer, Long> sums = naive(unit, zone, true);
+                assertHistogram(counts, Arrays.stream(boxed)
+                        .collect(JalaliCollectors.counting(Long::longValue, unit, zone)));
+                assertHistogram(sums, inPool(() -> Arrays.stream(boxed).parallel()
+                        .collect(JalaliCollectors.summing(Long::longValue, millis -> millis & 0xff, unit, zone))));
+            }
+            Map<Integer, Long> counts = naive(unit, TEHRAN, false);
+            Map<Integer, Long> sums = naive(unit, TEHRAN, true);
+            assertHistogram(counts, inPool(() -> Arrays.stream(boxed).parallel()
+                    .collect(JalaliCollectors.counting(Long::longValue, unit, RoozhZone.TEHRAN))));
+            assertHistogram(sums, Arrays.stream(boxed)
+                    .collect(JalaliCollectors.summing(Long::longValue, millis -> millis & 0xff, unit,
+                            RoozhZone.TEHRAN)));
+            // also as a downstream collector
+            Map<Boolean, JalaliHistogram> parts = inPool(() -> Arrays.stream(boxed).parallel()
+                    .collect(Collectors.partitioningBy(millis -> millis < 0,
+                            JalaliCollectors.counting(Long::longValue, unit, RoozhZone.TEHRAN))));
+            assertHistogram(counts, parts.get(true).merge(parts.get(false)));
+        }
+    }
+
+    @Test
+    public void histogramOfDates() {
+        JalaliHistogram histogram = new JalaliHistogram(JalaliUnit.MONTH, RoozhZone.KABUL);
+        Map<Integer, Long> expected = new HashMap<>();
+        IntStream.range(0, 5000).forEach(day -> {
+            int packed = Jalali.toJalali(day * 3L);
+            histogram.addDate(packed, day);
+            expected.merge(JalaliUnit.MONTH.truncate(packed), (long) day, Long::sum);
+        });
+        assertHistogram(expected, histogram);
+        assertEquals(0, histogram.get(Jalali.pack(1300, 1, 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeOfOtherUnit() {
+        new JalaliHistogram(JalaliUnit.DAY, RoozhZone.TEHRAN).merge(new JalaliHistogram(JalaliUnit.WEEK, TEHRAN));
+    }
+}
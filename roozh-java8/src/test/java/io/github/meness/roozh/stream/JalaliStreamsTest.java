@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.stream;
+
+import io.github.meness.roozh.Jalali;
+import io.github.meness.roozh.JalaliCursor;
+import io.github.meness.roozh.JalaliUnit;
+import io.github.meness.roozh.RoozhZone;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.TimeZone;
+import java.util.stream.LongStream;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JalaliStreamsTest {
+    private static int[] walk(int start, int end, JalaliUnit unit) {
+        IntStream.Builder dates = IntStream.builder();
+        try {
+            for (JalaliCursor cursor = new JalaliCursor(start); cursor.get() < end; cursor.next(unit)) {
+                dates.add(cursor.get());
+            }
+        } catch (IllegalStateException e) {
+            // stepped past Jalali.MAX_YEAR
+        }
+        return dates.build().toArray();
+    }
+
+    private static void assertRange(int start, int end, JalaliUnit unit) {
+        int[] expected = walk(start, end, unit);
+        assertArrayEquals(unit + " " + start + " " + end, expected, JalaliStreams.range(start, end, unit).toArray());
+        Spliterator.OfInt spliterator = JalaliStreams.range(start, end, unit).spliterator();
+        if (spliterator.hasCharacteristics(Spliterator.SIZED)) {
+            assertEquals(unit + " " + start + " " + end, expected.length, spliterator.getExactSizeIfKnown());
+        }
+    }
+
+    @Test
+    public void rangeMatchesCursor() {
+        int[] starts = {Jalali.pack(1403, 1, 1), Jalali.pack(1403, 6, 31), Jalali.pack(1403, 12, 30),
+                Jalali.pack(1404, 11, 30), Jalali.toJalali(Jalali.MAX_EPOCH_DAY - 400)};
+        // ends that are not valid dates count from the first date after them
+        int[] ends = {Jalali.pack(1403, 1, 1), Jalali.pack(1404, 1, 1), Jalali.pack(1404, 12, 30),
+                Jalali.pack(1405, 0, 0), Jalali.pack(1410, 13, 0), Jalali.pack(Jalali.MAX_YEAR + 1, 1, 1)};
+        for (JalaliUnit unit : JalaliUnit.values()) {
+            for (int start : starts) {
+                for (int end : ends) {
+                    assertRange(start, end, unit);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void rangeStopsAtMaxYear() {
+        int last = Jalali.toJalali(Jalali.MAX_EPOCH_DAY);
+        assertArrayEquals(new int[]{last}, JalaliStreams.range(last, Integer.MAX_VALUE, JalaliUnit.DAY).toArray());
+        assertEquals(12, JalaliStreams.range(Jalali.pack(Jalali.MAX_YEAR, 1, 31), Integer.MAX_VALUE, JalaliUnit.MONTH)
+                .count());
+        assertEquals(Jalali.pack(Jalali.MAX_YEAR, 12, Jalali.lengthOfMonth(Jalali.MAX_YEAR, 12)),
+                JalaliStreams.range(Jalali.pack(Jalali.MAX_YEAR, 1, 31), Integer.MAX_VALUE, JalaliUnit.MONTH)
+                        .max().getAsInt());
+    }
+
+    private static int[] naive(TimeZone zone) {
+        return LongStream.of(JalaliCollectorsTest.MILLIS).mapToInt(millis -> Jalali.toJalaliFromMillis(millis, zone))
+                .toArray();
+    }
+
+    @Test
+    public void toJalaliKeepsOrder() throws Exception {
+        for (String id : new String[]{"Asia/Tehran", "Asia/Kabul", "Europe/Berlin"}) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            int[] expected = naive(zone);
+            assertArrayEquals(expected, JalaliStreams.toJalali(LongStream.of(JalaliCollectorsTest.MILLIS), zone)
+                    .toArray());
+            assertArrayEquals(expected, JalaliCollectorsTest.inPool(() -> JalaliStreams.toJalali(
+                    LongStream.of(JalaliCollectorsTest.MILLIS).parallel(), zone).toArray()));
+        }
+        int[] expected = naive(TimeZone.getTimeZone("Asia/Tehran"));
+        assertArrayEquals(expected, JalaliStreams.toJalali(LongStream.of(JalaliCollectorsTest.MILLIS),
+                RoozhZone.TEHRAN).toArray());
+        assertArrayEquals(expected, JalaliCollectorsTest.inPool(() -> JalaliStreams.toJalali(
+                LongStream.of(JalaliCollectorsTest.MILLIS).parallel(), RoozhZone.TEHRAN).toArray()));
+    }
+
+    @Test
+    public void splitsCoverSource() {
+        for (TimeZone zone : new TimeZone[]{TimeZone.getTimeZone("Asia/Tehran"), TimeZone.getTimeZone("Europe/Berlin")}) {
+            int[] expected = naive(zone);
+            int[] actual = new int[expected.length];
+            int end = drain(new JalaliSpliterator(Arrays.spliterator(JalaliCollectorsTest.MILLIS), zone), actual, 0);
+            assertEquals(expected.length, end);
+            assertArrayEquals(expected, actual);
+        }
+        JalaliSpliterator spliterator = new JalaliSpliterator(Arrays.spliterator(JalaliCollectorsTest.MILLIS),
+                RoozhZone.TEHRAN);
+        assertEquals(JalaliCollectorsTest.MILLIS.length, spliterator.getExactSizeIfKnown());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals(0, spliterator.characteristics() & (Spliterator.SORTED | Spliterator.DISTINCT));
+    }
+
+    /**
+     * Split down to small leaves, writing prefixes before suffixes
+     *
+     * @return index after the last written date
+     */
+    private static int drain(JalaliSpliterator spliterator, int[] out, int offset) {
+        if (spliterator.estimateSize() > 1000) {
+            JalaliSpliterator prefix = spliterator.trySplit();
+            if (prefix != null) {
+                offset = drain(prefix, out, offset);
+                return drain(spliterator, out, offset);
+            }
+        }
+        int[] n = {offset};
+        // mix single steps with bulk traversal
+        spliterator.tryAdvance((int date) -> out[n[0]++] = date);
+        spliterator.forEachRemaining((int date) -> out[n[0]++] = date);
+        return n[0];
+    }
+}
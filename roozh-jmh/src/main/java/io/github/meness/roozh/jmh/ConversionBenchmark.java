@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.jmh;
+
+import java.time.LocalDate;
+import java.time.chrono.HijrahChronology;
+import java.time.chrono.HijrahDate;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.meness.roozh.Jalali;
+import io.github.meness.roozh.Roozh;
+import io.github.meness.roozh.RoozhZone;
+import io.github.meness.roozh.chrono.JalaliChronoDate;
+import io.github.meness.roozh.chrono.JalaliChronology;
+
+/**
+ * Gregorian to Jalali conversions through the legacy {@link Roozh} API, the Calendar
+ * free {@link Jalali} API and <code>java.time</code>, with {@link HijrahChronology} as
+ * a reference of the JDK's own non-ISO calendar. Conversions do not depend on locale,
+ * see {@link FormatBenchmark} for per locale costs.
+ *
+ * @since 4.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+    private long[] millis;
+    private long[] epochDays;
+    private LocalDate[] dates;
+    private Calendar[] jalaliCalendars;
+    private Roozh roozh;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        millis = Inputs.millis();
+        epochDays = new long[Inputs.SIZE];
+        dates = new LocalDate[Inputs.SIZE];
+        jalaliCalendars = new Calendar[Inputs.SIZE];
+        roozh = Roozh.getInstance();
+        for (int i = 0; i < Inputs.SIZE; i++) {
+            epochDays[i] = RoozhZone.TEHRAN.toEpochDay(millis[i]);
+            dates[i] = LocalDate.ofEpochDay(epochDays[i]);
+            int packed = Jalali.toJalali(epochDays[i]);
+            Calendar calendar = Calendar.getInstance();
+            calendar.clear();
+            // persianToGregorian reads the Jalali date from Calendar fields, months from 0
+            calendar.set(Jalali.getYear(packed), Jalali.getMonth(packed) - 1, Jalali.getDayOfMonth(packed));
+            jalaliCalendars[i] = calendar;
+        }
+    }
+
+    private int next() {
+        return index++ & Inputs.MASK;
+    }
+
+    @Benchmark
+    public int gregorianToPersian() {
+        return roozh.gregorianToPersian(millis[next()]).getDayOfMonth();
+    }
+
+    @Benchmark
+    public int persianToGregorian() {
+        return roozh.persianToGregorian(jalaliCalendars[next()]).getDayOfMonth();
+    }
+
+    @Benchmark
+    public int toJalaliFromMillis() {
+        return Jalali.toJalaliFromMillis(millis[next()], RoozhZone.TEHRAN);
+    }
+
+    @Benchmark
+    public int toJalaliArithmetic() {
+        return Jalali.ARITHMETIC.toJalali(epochDays[next()]);
+    }
+
+    @Benchmark
+    public int toJalaliTable() {
+        return Jalali.TABLE.toJalali(epochDays[next()]);
+    }
+
+    @Benchmark
+    public long toEpochDay() {
+        return Jalali.toEpochDay(Jalali.toJalali(epochDays[next()]));
+    }
+
+    @Benchmark
+    public JalaliChronoDate jalaliChronology() {
+        return JalaliChronology.INSTANCE.date(dates[next()]);
+    }
+
+    @Benchmark
+    public HijrahDate hijrahChronology() {
+        return HijrahChronology.INSTANCE.date(dates[next()]);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.jmh;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.meness.roozh.Roozh;
+import io.github.meness.roozh.RoozhBulk;
+import io.github.meness.roozh.RoozhFormatter;
+import io.github.meness.roozh.RoozhLocale;
+import io.github.meness.roozh.RoozhPrinter;
+
+/**
+ * Formatting and locale lookups for every locale. {@link #build()} is the full
+ * pattern of the README, the other benchmarks print the same fields through a
+ * compiled printer. {@link #formatColumn()} formats all {@link Inputs#SIZE} inputs per
+ * operation.
+ *
+ * @since 4.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+    @Param({"PERSIAN", "KURDISH", "PASHTO", "DARI", "ENGLISH"})
+    public RoozhLocale locale;
+
+    private long[] millis;
+    private Roozh roozh;
+    private RoozhPrinter printer;
+    private char[] chars;
+    private byte[] bytes;
+    private char[] column;
+    private int[] offsets;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        millis = Inputs.millis();
+        roozh = Roozh.getInstance(locale);
+        printer = RoozhFormatter.ofPattern("EEEE d MMMM yyyy\nhh:mm:ss.S a", locale);
+        chars = new char[printer.getMaxLength()];
+        bytes = new byte[printer.getMaxUtf8Length()];
+        column = new char[Inputs.SIZE * printer.getMaxLength()];
+        offsets = new int[Inputs.SIZE + 1];
+    }
+
+    private int next() {
+        return index++ & Inputs.MASK;
+    }
+
+    @Benchmark
+    public String build() {
+        return new RoozhFormatter(roozh.gregorianToPersian(millis[next()]))
+                .appendDayOfWeekText()
+                .appendSpace()
+                .appendDayOfMonth(false)
+                .appendSpace()
+                .appendMonthName()
+                .appendSpace()
+                .appendYear(false)
+                .appendNewLine()
+                .appendHour(true)
+                .appendColon()
+                .appendMinute(true)
+                .appendColon()
+                .appendSecond(true)
+                .appendDot()
+                .appendMillisecond()
+                .appendSpace()
+                .appendAmPm()
+                .build();
+    }
+
+    @Benchmark
+    public String format() {
+        return printer.format(millis[next()]);
+    }
+
+    @Benchmark
+    public int printChars() {
+        return printer.print(millis[next()], chars, 0);
+    }
+
+    @Benchmark
+    public int printUtf8() {
+        return printer.print(millis[next()], bytes, 0);
+    }
+
+    @Benchmark
+    public int formatColumn() {
+        return RoozhBulk.format(printer, millis, column, offsets);
+    }
+
+    @Benchmark
+    public String monthName() {
+        return roozh.getMonthName((next() % 12) + 1);
+    }
+
+    @Benchmark
+    public String dayOfWeekText() {
+        return roozh.getDayOfWeekText((next() % 7) + Calendar.SUNDAY);
+    }
+
+    @Benchmark
+    public Roozh getInstance() {
+        return Roozh.getInstance(locale);
+    }
+}
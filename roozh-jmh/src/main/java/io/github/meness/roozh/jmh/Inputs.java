@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.jmh;
+
+import java.util.Random;
+
+/**
+ * Benchmark inputs. Instants rotate through a fixed random set, so results can not be
+ * constant folded and the same inputs are used by every benchmark.
+ *
+ * @since 4.2
+ */
+final class Inputs {
+    static final int SIZE = 1024;
+    static final int MASK = SIZE - 1;
+    // 1921-03-21 to 2031-03-21, roughly Jalali 1300 to 1410
+    private static final long FROM = -1539216000000L;
+    private static final long TO = 1931990400000L;
+
+    private Inputs() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    static long[] millis() {
+        Random random = new Random(1300);
+        long[] millis = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            millis[i] = FROM + (long) (random.nextDouble() * (TO - FROM));
+        }
+        return millis;
+    }
+}
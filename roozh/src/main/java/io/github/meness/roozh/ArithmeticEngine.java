@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Runs Borkowski's arithmetic on every call
+ *
+ * @since 4.2
+ */
+class ArithmeticEngine implements RoozhEngine {
+    @Override
+    public int toJalali(long epochDay) {
+        Jalali.checkEpochDay(epochDay);
+        return Borkowski.jdnToJalali((int) epochDay + Borkowski.EPOCH_JDN);
+    }
+
+    @Override
+    public long toEpochDay(int packed) {
+        int year = Jalali.getYear(packed);
+        int month = Jalali.getMonth(packed);
+        int day = Jalali.getDayOfMonth(packed);
+        Jalali.checkYear(year);
+        Jalali.checkDate(year, month, day, (Borkowski.jalCal(year) & 7) == 0);
+        return Borkowski.jalaliToJdn(year, month, day) - Borkowski.EPOCH_JDN;
+    }
+
+    @Override
+    public String toString() {
+        return "ArithmeticEngine";
+    }
+}
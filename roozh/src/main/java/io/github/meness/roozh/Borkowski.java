@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Static, allocation free port of Kazimierz M. Borkowski's arithmetic which is also used
+ * by {@link Roozh}. Results are returned as packed primitives instead of being kept in fields.
+ *
+ * @see Jalali
+ * @since 4.2
+ */
+final class Borkowski {
+    /**
+     * Julian Day number of 1970-01-01
+     */
+    static final int EPOCH_JDN = 2440588;
+    static final int MIN_YEAR = -61;
+    static final int MAX_YEAR = 3177;
+    private static final int[] BREAKS = {-61, 9, 38, 199, 426, 686, 756, 818, 1111, 1181, 1210,
+            1635, 2060, 2097, 2192, 2262, 2324, 2394, 2456, 3178};
+
+    private Borkowski() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    /**
+     * Calculates the Julian Day number from Gregorian calendar date
+     *
+     * @param year  Gregorian year
+     * @param month Gregorian month
+     * @param day   Gregorian day
+     * @return Julian Day number
+     */
+    static int gregorianToJdn(int year, int month, int day) {
+        // Roozh#JG2JD applied an extra Julian correction for J1G0 = 0. It mostly cancelled
+        // out there, but not against epoch days, and it was one day ahead from mid January
+        // to the end of February of century years that are not leap years (1900-01-13).
+        return (1461 * (year + 4800 + (month - 14) / 12)) / 4
+                + (367 * (month - 2 - 12 * ((month - 14) / 12))) / 12
+                - (3 * ((year + 4900 + (month - 14) / 12) / 100)) / 4 + day
+                - 32075;
+    }
+
+    /**
+     * Calculates Gregorian calendar date from the Julian Day number
+     *
+     * @param jdn Julian Day number
+     * @return Gregorian date packed as {@link Jalali#pack(int, int, int)} does
+     */
+    static int jdnToGregorian(int jdn) {
+        int j = 4 * jdn + 139361631;
+        j = j + (4 * jdn + 183187720) / 146097 * 3 / 4 * 4 - 3908;
+
+        int i = (j % 1461) / 4 * 5 + 308;
+        int day = (i % 153) / 5 + 1;
+        int month = ((i / 153) % 12) + 1;
+        int year = j / 1461 - 100100 + (8 - month) / 6;
+
+        return Jalali.pack(year, month, day);
+    }
+
+    /**
+     * Determines if the Jalali year is leap and finds the day in March (Gregorian calendar)
+     * of the first day of the Jalali year
+     *
+     * @param jY Jalali calendar year (-61 to 3177)
+     * @return day in March shifted left by 3, or-ed with the number of years since the last
+     * leap year (0 means {@code jY} is leap)
+     */
+    static int jalCal(int jY) {
+        int gY = jY + 621;
+        int leapJ = -14;
+        int jp = BREAKS[0];
+
+        for (int j = 1; j < BREAKS.length; j++) {
+            int jm = BREAKS[j];
+            int jump = jm - jp;
+            if (jY < jm) {
+                int n = jY - jp;
+                leapJ = leapJ + n / 33 * 8 + (n % 33 + 3) / 4;
+
+                if ((jump % 33) == 4 && (jump - n) == 4)
+                    leapJ = leapJ + 1;
+
+                int leapG = (gY / 4) - (gY / 100 + 1) * 3 / 4 - 150;
+                int march = 20 + leapJ - leapG;
+
+                if ((jump - n) < 6)
+                    n = n - jump + (jump + 4) / 33 * 33;
+
+                int leap = (((n + 1) % 33) - 1) % 4;
+                if (leap == -1)
+                    leap = 4;
+
+                return march << 3 | leap;
+            }
+
+            leapJ = leapJ + jump / 33 * 8 + (jump % 33) / 4;
+            jp = jm;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Converts the Julian Day number to a date in the Jalali calendar
+     *
+     * @param jdn the Julian Day number
+     * @return Jalali date packed as {@link Jalali#pack(int, int, int)} does
+     */
+    static int jdnToJalali(int jdn) {
+        int jY = Jalali.getYear(jdnToGregorian(jdn)) - 621;
+        // Esfand of the last supported year falls into the next Gregorian year
+        if (jY > MAX_YEAR) {
+            jY = MAX_YEAR;
+        }
+        int cal = jalCal(jY);
+
+        int k = jdn - gregorianToJdn(jY + 621, 3, cal >> 3);
+        if (k >= 0) {
+            if (k <= 185) {
+                return Jalali.pack(jY, 1 + k / 31, (k % 31) + 1);
+            }
+            k = k - 186;
+        } else {
+            jY = jY - 1;
+            k = k + 179;
+            if ((cal & 7) == 1)
+                k = k + 1;
+        }
+
+        return Jalali.pack(jY, 7 + k / 30, (k % 30) + 1);
+    }
+
+    /**
+     * Converts a date of the Jalali calendar to the Julian Day number
+     *
+     * @param jY Jalali year
+     * @param jM Jalali month
+     * @param jD Jalali day
+     * @return Julian Day number
+     */
+    static int jalaliToJdn(int jY, int jM, int jD) {
+        return gregorianToJdn(jY + 621, 3, jalCal(jY) >> 3) + (jM - 1) * 31 - jM / 7 * (jM - 7)
+                + jD - 1;
+    }
+}
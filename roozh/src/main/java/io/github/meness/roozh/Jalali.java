@@ -0,0 +1,361 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.util.TimeZone;
+
+/**
+ * Calendar free Jalali conversions on epoch days.
+ * <p>
+ * Dates are passed around as packed <code>int</code>s holding year, month and day, so no
+ * method of this class allocates. Packed dates keep chronological order when compared as
+ * plain integers.
+ *
+ * @see #pack(int, int, int)
+ * @since 4.2
+ */
+public final class Jalali {
+    /**
+     * First supported Jalali year
+     */
+    public static final int MIN_YEAR = Borkowski.MIN_YEAR;
+    /**
+     * Last supported Jalali year
+     */
+    public static final int MAX_YEAR = Borkowski.MAX_YEAR;
+    /**
+     * Epoch day of 1 Farvardin {@link #MIN_YEAR}
+     */
+    public static final long MIN_EPOCH_DAY = -514913;
+    /**
+     * Epoch day of the last day of {@link #MAX_YEAR}
+     */
+    public static final long MAX_EPOCH_DAY = 668106;
+    /**
+     * Engine running Borkowski's arithmetic on every call
+     */
+    public static final RoozhEngine ARITHMETIC = new ArithmeticEngine();
+    /**
+     * Engine backed by the year-start table, used by the static methods of this class
+     */
+    public static final RoozhEngine TABLE = new TableEngine();
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    private Jalali() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    /**
+     * Pack date into one <code>int</code>
+     *
+     * @param year  year
+     * @param month month, 1 to 12
+     * @param day   day of month, 1 to 31
+     * @return packed date
+     */
+    public static int pack(int year, int month, int day) {
+        return year << 9 | month << 5 | day;
+    }
+
+    /**
+     * Get year of packed date
+     *
+     * @param packed packed date
+     * @return year
+     */
+    public static int getYear(int packed) {
+        return packed >> 9;
+    }
+
+    /**
+     * Get month of packed date
+     *
+     * @param packed packed date
+     * @return month, 1 to 12
+     */
+    public static int getMonth(int packed) {
+        return (packed >> 5) & 0xF;
+    }
+
+    /**
+     * Get day of month of packed date
+     *
+     * @param packed packed date
+     * @return day of month, 1 to 31
+     */
+    public static int getDayOfMonth(int packed) {
+        return packed & 0x1F;
+    }
+
+    /**
+     * Convert epoch day to Jalali date
+     *
+     * @param epochDay days since 1970-01-01
+     * @return packed Jalali date
+     * @throws IllegalArgumentException if day is out of {@link #MIN_EPOCH_DAY} and {@link #MAX_EPOCH_DAY}
+     */
+    public static int toJalali(long epochDay) {
+        checkEpochDay(epochDay);
+        return YearTable.toJalali((int) epochDay);
+    }
+
+    /**
+     * Convert epoch milliseconds to Jalali date in provided time zone
+     *
+     * @param millis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone   time zone
+     * @return packed Jalali date
+     */
+    public static int toJalaliFromMillis(long millis, TimeZone zone) {
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            return toJalaliFromMillis(millis, compiled);
+        }
+        return toJalali(floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY));
+    }
+
+    /**
+     * @param millis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone   compiled time zone
+     * @return packed Jalali date
+     */
+    public static int toJalaliFromMillis(long millis, RoozhZone zone) {
+        return toJalali(zone.toEpochDay(millis));
+    }
+
+    /**
+     * Convert Jalali date to epoch day
+     *
+     * @param year  Jalali year
+     * @param month Jalali month, 1 to 12
+     * @param day   Jalali day of month
+     * @return days since 1970-01-01
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public static long toEpochDay(int year, int month, int day) {
+        checkYear(year);
+        checkDate(year, month, day, LeapYears.isLeap(year));
+        return YearTable.toEpochDay(year, month, day);
+    }
+
+    /**
+     * Convert packed Jalali date to epoch day
+     *
+     * @param packed packed Jalali date
+     * @return days since 1970-01-01
+     * @see #toEpochDay(int, int, int)
+     */
+    public static long toEpochDay(int packed) {
+        return toEpochDay(getYear(packed), getMonth(packed), getDayOfMonth(packed));
+    }
+
+    /**
+     * Check if Jalali year has 366 days
+     *
+     * @param year Jalali year
+     * @return <code>true</code> if year is leap
+     * @throws IllegalArgumentException if year is out of range
+     */
+    public static boolean isLeapYear(int year) {
+        checkYear(year);
+        return LeapYears.isLeap(year);
+    }
+
+    /**
+     * Get number of days in month
+     *
+     * @param year  Jalali year
+     * @param month Jalali month, 1 to 12
+     * @return 31 for the first six months, 30 for the next five, 29 or 30 for Esfand
+     * @throws IllegalArgumentException if year or month is out of range
+     */
+    public static int lengthOfMonth(int year, int month) {
+        checkYear(year);
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month is out of range: " + month);
+        }
+        return monthLength(year, month);
+    }
+
+    /**
+     * Get number of days in year
+     *
+     * @param year Jalali year
+     * @return 365 or 366
+     * @throws IllegalArgumentException if year is out of range
+     */
+    public static int lengthOfYear(int year) {
+        return isLeapYear(year) ? 366 : 365;
+    }
+
+    /**
+     * Add days to date
+     *
+     * @param packed packed Jalali date
+     * @param days   days to add, may be negative
+     * @return packed Jalali date
+     * @throws IllegalArgumentException if date is not valid or result is out of range
+     */
+    public static int plusDays(int packed, long days) {
+        return toJalali(toEpochDay(packed) + days);
+    }
+
+    /**
+     * Add months to date. Day of month is clamped to the length of the resulting month,
+     * e.g. 31 Shahrivar plus one month is 30 Mehr and 30 Esfand of a leap year plus one
+     * year is 29 Esfand.
+     *
+     * @param packed packed Jalali date
+     * @param months months to add, may be negative
+     * @return packed Jalali date
+     * @throws IllegalArgumentException if date is not valid or result is out of range
+     */
+    public static int plusMonths(int packed, long months) {
+        int year = getYear(packed);
+        int month = getMonth(packed);
+        int day = getDayOfMonth(packed);
+        checkYear(year);
+        checkDate(year, month, day, LeapYears.isLeap(year));
+        if (months > (MAX_YEAR - MIN_YEAR + 1) * 12L || months < -(MAX_YEAR - MIN_YEAR + 1) * 12L) {
+            throw new IllegalArgumentException("Months are out of range: " + months);
+        }
+        long index = year * 12L + month - 1 + months;
+        int newYear = (int) floorDiv(index, 12);
+        checkYear(newYear);
+        int newMonth = (int) (index - newYear * 12L) + 1;
+        return pack(newYear, newMonth, Math.min(day, monthLength(newYear, newMonth)));
+    }
+
+    /**
+     * Add years to date, clamping 30 Esfand to 29 Esfand in common years
+     *
+     * @param packed packed Jalali date
+     * @param years  years to add, may be negative
+     * @return packed Jalali date
+     * @throws IllegalArgumentException if date is not valid or result is out of range
+     * @see #plusMonths(int, long)
+     */
+    public static int plusYears(int packed, long years) {
+        if (years > MAX_YEAR - MIN_YEAR || years < MIN_YEAR - MAX_YEAR) {
+            throw new IllegalArgumentException("Years are out of range: " + years);
+        }
+        return plusMonths(packed, years * 12);
+    }
+
+    /**
+     * @param from packed Jalali date
+     * @param to   packed Jalali date
+     * @return days from first to second date, negative if second is earlier
+     * @throws IllegalArgumentException if a date is not valid
+     */
+    public static long daysBetween(int from, int to) {
+        return toEpochDay(to) - toEpochDay(from);
+    }
+
+    /**
+     * Get number of complete months between dates, the largest count of months which
+     * {@link #plusMonths(int, long)} can add to first date without passing second date
+     *
+     * @param from packed Jalali date
+     * @param to   packed Jalali date
+     * @return complete months, negative if second is earlier
+     * @throws IllegalArgumentException if a date is not valid
+     */
+    public static long monthsBetween(int from, int to) {
+        toEpochDay(to);
+        long months = getYear(to) * 12L + getMonth(to) - (getYear(from) * 12L + getMonth(from));
+        // packed dates compare chronologically
+        if (months > 0 && plusMonths(from, months) > to) {
+            months--;
+        } else if (months < 0 && plusMonths(from, months) < to) {
+            months++;
+        }
+        return months;
+    }
+
+    /**
+     * @param from packed Jalali date
+     * @param to   packed Jalali date
+     * @return complete years, negative if second is earlier
+     * @throws IllegalArgumentException if a date is not valid
+     * @see #monthsBetween(int, int)
+     */
+    public static long yearsBetween(int from, int to) {
+        return monthsBetween(from, to) / 12;
+    }
+
+    /**
+     * Get age in complete Jalali years. Those born on 30 Esfand have birthdays on
+     * 29 Esfand of common years.
+     *
+     * @param birthDate packed Jalali date of birth
+     * @param date      packed Jalali date to get age at
+     * @return age in years
+     * @throws IllegalArgumentException if a date is not valid or birth is after date
+     */
+    public static int age(int birthDate, int date) {
+        if (birthDate > date) {
+            throw new IllegalArgumentException("Birth date is after date.");
+        }
+        return (int) yearsBetween(birthDate, date);
+    }
+
+    /**
+     * Get day of week of epoch day
+     *
+     * @param epochDay days since 1970-01-01
+     * @return day of week as {@link java.util.Calendar#DAY_OF_WEEK}
+     */
+    public static int getDayOfWeek(long epochDay) {
+        // 1970-01-01 is Thursday
+        return (int) (epochDay + 4 - floorDiv(epochDay + 4, 7) * 7) + 1;
+    }
+
+    static int monthLength(int year, int month) {
+        return month <= 6 ? 31 : month <= 11 || LeapYears.isLeap(year) ? 30 : 29;
+    }
+
+    static void checkYear(int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new IllegalArgumentException("Year is out of range: " + year);
+        }
+    }
+
+    static void checkDate(int year, int month, int day, boolean leap) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month is out of range: " + month);
+        }
+        int length = month <= 6 ? 31 : month <= 11 || leap ? 30 : 29;
+        if (day < 1 || day > length) {
+            throw new IllegalArgumentException("Day is out of range: " + day);
+        }
+    }
+
+    static void checkEpochDay(long epochDay) {
+        if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            throw new IllegalArgumentException("Epoch day is out of range: " + epochDay);
+        }
+    }
+
+    static long floorDiv(long x, long y) {
+        long r = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            r--;
+        }
+        return r;
+    }
+}
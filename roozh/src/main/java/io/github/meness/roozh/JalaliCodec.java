@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary forms of Jalali dates whose unsigned byte order is chronological, for sorted
+ * keys and columnar files. Fields are byte aligned where possible, so a year or month
+ * is a plain byte prefix:
+ * <ul>
+ * <li>{@link #THREE_BYTES}: 12-bit year biased by 64, 4-bit month, day byte</li>
+ * <li>{@link #FOUR_BYTES}: 16-bit year biased by 32768, month byte, day byte</li>
+ * </ul>
+ * Both are big-endian, and every date of a month shares the leading <code>getSize() - 1</code>
+ * bytes, see {@link #monthPrefix(int, int)}. In memory the packed <code>int</code> of {@link Jalali#pack(int, int, int)}
+ * is already ordered as a signed value.
+ *
+ * @since 4.2
+ */
+public enum JalaliCodec {
+    THREE_BYTES(3, 64) {
+        @Override
+        int toBits(int year, int month, int day) {
+            return (year + bias) << 12 | month << 8 | day;
+        }
+
+        @Override
+        int getYear(int bits) {
+            return (bits >>> 12) - bias;
+        }
+
+        @Override
+        int getMonth(int bits) {
+            return bits >>> 8 & 0xF;
+        }
+
+        @Override
+        int prefixBits(int year, int month) {
+            return (year + bias) << 4 | month;
+        }
+    },
+    FOUR_BYTES(4, 32768) {
+        @Override
+        int toBits(int year, int month, int day) {
+            return (year + bias) << 16 | month << 8 | day;
+        }
+
+        @Override
+        int getYear(int bits) {
+            return (bits >>> 16) - bias;
+        }
+
+        @Override
+        int getMonth(int bits) {
+            return bits >>> 8 & 0xFF;
+        }
+
+        @Override
+        int prefixBits(int year, int month) {
+            return (year + bias) << 8 | month;
+        }
+    };
+
+    final int bias;
+    private final int size;
+
+    JalaliCodec(int size, int bias) {
+        this.size = size;
+        this.bias = bias;
+    }
+
+    /**
+     * @return bytes per date
+     */
+    public int getSize() {
+        return size;
+    }
+
+    abstract int toBits(int year, int month, int day);
+
+    abstract int getYear(int bits);
+
+    abstract int getMonth(int bits);
+
+    /**
+     * @return year and month bits, <code>size - 1</code> bytes
+     */
+    abstract int prefixBits(int year, int month);
+
+    private int encode(int packed) {
+        int year = Jalali.getYear(packed);
+        int month = Jalali.getMonth(packed);
+        int day = Jalali.getDayOfMonth(packed);
+        Jalali.checkYear(year);
+        Jalali.checkDate(year, month, day, LeapYears.isLeap(year));
+        return toBits(year, month, day);
+    }
+
+    private int decode(int bits) {
+        int year = getYear(bits);
+        int month = getMonth(bits);
+        int day = bits & 0xFF;
+        Jalali.checkYear(year);
+        Jalali.checkDate(year, month, day, LeapYears.isLeap(year));
+        return Jalali.pack(year, month, day);
+    }
+
+    /**
+     * Write date into array
+     *
+     * @param packed packed Jalali date
+     * @param dst    target
+     * @param offset first index to write
+     * @return index after the last written byte
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public int encode(int packed, byte[] dst, int offset) {
+        int bits = encode(packed);
+        for (int shift = (size - 1) * 8; shift >= 0; shift -= 8) {
+            dst[offset++] = (byte) (bits >>> shift);
+        }
+        return offset;
+    }
+
+    /**
+     * Read date from array
+     *
+     * @param src    source
+     * @param offset first index to read
+     * @return packed Jalali date
+     * @throws IllegalArgumentException if bytes are not a valid date
+     */
+    public int decode(byte[] src, int offset) {
+        int bits = 0;
+        for (int i = 0; i < size; i++) {
+            bits = bits << 8 | src[offset + i] & 0xFF;
+        }
+        return decode(bits);
+    }
+
+    /**
+     * Write date at the position of buffer, advancing it
+     *
+     * @param dst    target
+     * @param packed packed Jalali date
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public void put(ByteBuffer dst, int packed) {
+        int bits = encode(packed);
+        if (size == 4) {
+            dst.putInt(bits);
+        } else {
+            dst.put((byte) (bits >>> 16)).putShort((short) bits);
+        }
+    }
+
+    /**
+     * Read date at the position of buffer, advancing it
+     *
+     * @param src source
+     * @return packed Jalali date
+     * @throws IllegalArgumentException if bytes are not a valid date
+     */
+    public int get(ByteBuffer src) {
+        if (size == 4) {
+            return decode(src.getInt());
+        }
+        int high = src.get() & 0xFF;
+        return decode(high << 16 | src.getShort() & 0xFFFF);
+    }
+
+    /**
+     * Write dates at the position of buffer, advancing it
+     *
+     * @param packed packed Jalali dates
+     * @param offset first index to read
+     * @param length number of dates
+     * @param dst    target with at least <code>length * getSize()</code> bytes remaining
+     * @throws IllegalArgumentException if a date is not valid
+     */
+    public void encode(int[] packed, int offset, int length, ByteBuffer dst) {
+        if (dst.hasArray()) {
+            int start = dst.arrayOffset() + dst.position();
+            if (dst.remaining() < length * size) {
+                throw new BufferOverflowException();
+            }
+            int end = start;
+            for (int i = offset; i < offset + length; i++) {
+                end = encode(packed[i], dst.array(), end);
+            }
+            dst.position(dst.position() + end - start);
+            return;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            put(dst, packed[i]);
+        }
+    }
+
+    /**
+     * Read dates at the position of buffer, advancing it
+     *
+     * @param src    source with at least <code>length * getSize()</code> bytes remaining
+     * @param packed target
+     * @param offset first index to write
+     * @param length number of dates
+     * @throws IllegalArgumentException if bytes are not valid dates
+     */
+    public void decode(ByteBuffer src, int[] packed, int offset, int length) {
+        if (src.hasArray()) {
+            if (src.remaining() < length * size) {
+                throw new BufferUnderflowException();
+            }
+            int index = src.arrayOffset() + src.position();
+            for (int i = offset; i < offset + length; i++) {
+                packed[i] = decode(src.array(), index);
+                index += size;
+            }
+            src.position(src.position() + length * size);
+            return;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            packed[i] = get(src);
+        }
+    }
+
+    /**
+     * Get key prefix of all dates of a month, for range scans
+     *
+     * @param year  Jalali year
+     * @param month Jalali month, 1 to 12
+     * @return leading <code>getSize() - 1</code> bytes of every date of month
+     * @throws IllegalArgumentException if year or month is out of range
+     */
+    public byte[] monthPrefix(int year, int month) {
+        Jalali.checkYear(year);
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month is out of range: " + month);
+        }
+        return toBytes(prefixBits(year, month), size - 1);
+    }
+
+    private static byte[] toBytes(int bits, int count) {
+        byte[] bytes = new byte[count];
+        for (int i = count - 1; i >= 0; i--) {
+            bytes[i] = (byte) bits;
+            bits >>>= 8;
+        }
+        return bytes;
+    }
+}
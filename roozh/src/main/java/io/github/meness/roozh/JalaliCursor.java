@@ -0,0 +1,203 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Mutable cursor moving over Jalali dates by days, weeks, months or years. Steps only
+ * increment the year, month and day counters; leap years are looked up when entering
+ * Esfand.
+ * <p>
+ * Not thread-safe. A cursor is meant to be reused, e.g. to walk a report axis:
+ * <pre>
+ * for (JalaliCursor c = new JalaliCursor(start); c.get() &lt; end; c.next(JalaliUnit.DAY)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @see Jalali#pack(int, int, int)
+ * @since 4.2
+ */
+public final class JalaliCursor {
+    private int year;
+    private int month;
+    private int day;
+    // day of month requested by the last set, restored by month and year steps
+    private int anchorDay;
+    private int length;
+    private long epochDay;
+
+    /**
+     * @param packed packed Jalali date to start at
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public JalaliCursor(int packed) {
+        set(packed);
+    }
+
+    /**
+     * Move to date
+     *
+     * @param packed packed Jalali date
+     * @return this cursor
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public JalaliCursor set(int packed) {
+        epochDay = Jalali.toEpochDay(packed);
+        year = Jalali.getYear(packed);
+        month = Jalali.getMonth(packed);
+        day = Jalali.getDayOfMonth(packed);
+        anchorDay = day;
+        length = Jalali.monthLength(year, month);
+        return this;
+    }
+
+    /**
+     * @return packed Jalali date
+     */
+    public int get() {
+        return Jalali.pack(year, month, day);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public int getDayOfMonth() {
+        return day;
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * @return day of week as {@link java.util.Calendar#DAY_OF_WEEK}
+     */
+    public int getDayOfWeek() {
+        return Jalali.getDayOfWeek(epochDay);
+    }
+
+    public JalaliDate toDate() {
+        return new JalaliDate(get());
+    }
+
+    /**
+     * Move one unit forward. Month and year steps keep the day of month, clamped to
+     * the length of the month.
+     *
+     * @param unit step
+     * @return this cursor
+     * @throws IllegalStateException if the result is after {@link Jalali#MAX_YEAR}
+     */
+    public JalaliCursor next(JalaliUnit unit) {
+        switch (unit) {
+            case DAY:
+                return nextDay();
+            case WEEK:
+                return nextWeek();
+            case MONTH:
+                return nextMonth();
+            case YEAR:
+                return nextYear();
+            default:
+                throw new AssertionError(unit);
+        }
+    }
+
+    /**
+     * @return this cursor
+     * @throws IllegalStateException if the result is after {@link Jalali#MAX_YEAR}
+     */
+    public JalaliCursor nextDay() {
+        if (day < length) {
+            day++;
+        } else {
+            nextMonthStart();
+            day = 1;
+        }
+        anchorDay = day;
+        epochDay++;
+        return this;
+    }
+
+    /**
+     * @return this cursor
+     * @throws IllegalStateException if the result is after {@link Jalali#MAX_YEAR}
+     */
+    public JalaliCursor nextWeek() {
+        int next = day + 7;
+        if (next > length) {
+            next -= length;
+            nextMonthStart();
+        }
+        day = next;
+        anchorDay = day;
+        epochDay += 7;
+        return this;
+    }
+
+    /**
+     * @return this cursor
+     * @throws IllegalStateException if the result is after {@link Jalali#MAX_YEAR}
+     */
+    public JalaliCursor nextMonth() {
+        // days left in this month, taken before the counters move
+        int rest = length - day;
+        nextMonthStart();
+        day = anchorDay < length ? anchorDay : length;
+        epochDay += rest + day;
+        return this;
+    }
+
+    /**
+     * @return this cursor
+     * @throws IllegalStateException if the result is after {@link Jalali#MAX_YEAR}
+     */
+    public JalaliCursor nextYear() {
+        if (year == Jalali.MAX_YEAR) {
+            throw new IllegalStateException("Year is out of range: " + (year + 1));
+        }
+        for (int i = 0; i < 12; i++) {
+            nextMonth();
+        }
+        return this;
+    }
+
+    private void nextMonthStart() {
+        if (month < 12) {
+            month++;
+        } else if (year < Jalali.MAX_YEAR) {
+            year++;
+            month = 1;
+        } else {
+            throw new IllegalStateException("Year is out of range: " + (year + 1));
+        }
+        length = Jalali.monthLength(year, month);
+    }
+
+    /**
+     * @return date as yyyy/MM/dd
+     */
+    @Override
+    public String toString() {
+        return toDate().toString();
+    }
+}
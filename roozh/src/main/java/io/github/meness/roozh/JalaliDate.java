@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.util.TimeZone;
+
+/**
+ * Immutable Jalali date packed into one <code>int</code>. Instances are thread-safe and
+ * can be cached, shared and used as map keys.
+ *
+ * @see Jalali#pack(int, int, int)
+ * @since 4.2
+ */
+public final class JalaliDate implements Comparable<JalaliDate> {
+    private final int packed;
+
+    JalaliDate(int packed) {
+        this.packed = packed;
+    }
+
+    /**
+     * @param year  Jalali year
+     * @param month Jalali month, 1 to 12
+     * @param day   Jalali day of month
+     * @return date
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public static JalaliDate of(int year, int month, int day) {
+        Jalali.toEpochDay(year, month, day);
+        return new JalaliDate(Jalali.pack(year, month, day));
+    }
+
+    /**
+     * @param packed packed Jalali date
+     * @return date
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public static JalaliDate ofPacked(int packed) {
+        Jalali.toEpochDay(packed);
+        return new JalaliDate(packed);
+    }
+
+    /**
+     * @param epochDay days since 1970-01-01
+     * @return date
+     */
+    public static JalaliDate ofEpochDay(long epochDay) {
+        return new JalaliDate(Jalali.toJalali(epochDay));
+    }
+
+    /**
+     * @param millis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone   time zone
+     * @return date
+     */
+    public static JalaliDate ofEpochMillis(long millis, TimeZone zone) {
+        return new JalaliDate(Jalali.toJalaliFromMillis(millis, zone));
+    }
+
+    /**
+     * @param millis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone   compiled time zone
+     * @return date
+     */
+    public static JalaliDate ofEpochMillis(long millis, RoozhZone zone) {
+        return new JalaliDate(Jalali.toJalaliFromMillis(millis, zone));
+    }
+
+    public int getYear() {
+        return Jalali.getYear(packed);
+    }
+
+    public int getMonth() {
+        return Jalali.getMonth(packed);
+    }
+
+    public int getDayOfMonth() {
+        return Jalali.getDayOfMonth(packed);
+    }
+
+    /**
+     * @return day of week as {@link java.util.Calendar#DAY_OF_WEEK}
+     */
+    public int getDayOfWeek() {
+        return Jalali.getDayOfWeek(toEpochDay());
+    }
+
+    /**
+     * @param days days to add, may be negative
+     * @return date
+     * @see Jalali#plusDays(int, long)
+     */
+    public JalaliDate plusDays(long days) {
+        return new JalaliDate(Jalali.plusDays(packed, days));
+    }
+
+    /**
+     * @param months months to add, may be negative
+     * @return date, day of month clamped to the length of the resulting month
+     * @see Jalali#plusMonths(int, long)
+     */
+    public JalaliDate plusMonths(long months) {
+        return new JalaliDate(Jalali.plusMonths(packed, months));
+    }
+
+    /**
+     * @param years years to add, may be negative
+     * @return date, 30 Esfand clamped to 29 Esfand in common years
+     * @see Jalali#plusYears(int, long)
+     */
+    public JalaliDate plusYears(long years) {
+        return new JalaliDate(Jalali.plusYears(packed, years));
+    }
+
+    public long toEpochDay() {
+        return Jalali.toEpochDay(packed);
+    }
+
+    /**
+     * @return packed Jalali date
+     * @see Jalali#pack(int, int, int)
+     */
+    public int toPacked() {
+        return packed;
+    }
+
+    @Override
+    public int compareTo(JalaliDate o) {
+        return packed < o.packed ? -1 : packed == o.packed ? 0 : 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof JalaliDate && packed == ((JalaliDate) o).packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return packed;
+    }
+
+    /**
+     * @return date as yyyy/MM/dd
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(10);
+        sb.append(getYear()).append('/');
+        if (getMonth() < 10) {
+            sb.append('0');
+        }
+        sb.append(getMonth()).append('/');
+        if (getDayOfMonth() < 10) {
+            sb.append('0');
+        }
+        return sb.append(getDayOfMonth()).toString();
+    }
+}
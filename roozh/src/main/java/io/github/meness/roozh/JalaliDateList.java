@@ -0,0 +1,434 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of packed Jalali dates backed by an <code>int[]</code>, four bytes per
+ * date. Dates are added, sorted, searched and printed without creating an object per
+ * element.
+ * <p>
+ * Searching and {@link #view(int, int) views} of years and months need a
+ * {@link #sort() sorted} list; packed dates sort chronologically. Views share the
+ * array of their list and are read-only. Like {@link java.util.List#subList(int, int)},
+ * a view is undefined once its list is changed.
+ * <p>
+ * Not thread-safe.
+ *
+ * @see Jalali#pack(int, int, int)
+ * @since 4.2
+ */
+public final class JalaliDateList {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    // smallest packed date minus one, so keys of valid dates are positive and fit 21 bits
+    private static final int KEY_BASE = Jalali.pack(Jalali.MIN_YEAR, 0, 0);
+    private static final int HIGH_BITS = 11;
+    private static final int LOW_BITS = 10;
+
+    private int[] dates;
+    private final int offset;
+    private int size;
+    private final boolean view;
+
+    public JalaliDateList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial capacity
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public JalaliDateList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity is negative: " + capacity);
+        }
+        dates = new int[capacity];
+        offset = 0;
+        view = false;
+    }
+
+    private JalaliDateList(int[] dates, int offset, int size) {
+        this.dates = dates;
+        this.offset = offset;
+        this.size = size;
+        this.view = true;
+    }
+
+    /**
+     * @return number of dates
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index index of date
+     * @return packed Jalali date
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return dates[offset + index];
+    }
+
+    /**
+     * @param index index of date
+     * @return date
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public JalaliDate getDate(int index) {
+        return JalaliDate.ofPacked(get(index));
+    }
+
+    /**
+     * Replace date
+     *
+     * @param index  index of date
+     * @param packed packed Jalali date
+     * @throws IndexOutOfBoundsException if index is out of range
+     * @throws IllegalArgumentException  if date is not valid
+     */
+    public void set(int index, int packed) {
+        checkWritable();
+        checkIndex(index);
+        dates[offset + index] = check(packed);
+    }
+
+    /**
+     * Append date
+     *
+     * @param packed packed Jalali date
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public void add(int packed) {
+        checkWritable();
+        check(packed);
+        ensureCapacity(size + 1);
+        dates[size++] = packed;
+    }
+
+    /**
+     * Append dates of instants in Asia/Tehran time zone
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @throws IllegalArgumentException if an instant is out of range
+     * @see #addEpochMillis(long[], RoozhZone)
+     */
+    public void addEpochMillis(long[] epochMillis) {
+        addEpochMillis(epochMillis, RoozhZone.TEHRAN);
+    }
+
+    /**
+     * Append dates of instants, converted by {@link RoozhBulk}
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone        time zone
+     * @throws IllegalArgumentException if an instant is out of range
+     */
+    public void addEpochMillis(long[] epochMillis, RoozhZone zone) {
+        checkWritable();
+        if (size == 0 && dates.length >= epochMillis.length) {
+            RoozhBulk.convert(epochMillis, dates, zone);
+        } else {
+            int[] converted = new int[epochMillis.length];
+            RoozhBulk.convert(epochMillis, converted, zone);
+            ensureCapacity(size + converted.length);
+            System.arraycopy(converted, 0, dates, size, converted.length);
+        }
+        size += epochMillis.length;
+    }
+
+    /**
+     * Remove all dates, keeping capacity
+     */
+    public void clear() {
+        checkWritable();
+        size = 0;
+    }
+
+    /**
+     * @param capacity minimum capacity
+     */
+    public void ensureCapacity(int capacity) {
+        checkWritable();
+        if (capacity > dates.length) {
+            dates = Arrays.copyOf(dates, Math.max(capacity, dates.length + (dates.length >> 1)));
+        }
+    }
+
+    /**
+     * Shrink capacity to size
+     */
+    public void trimToSize() {
+        checkWritable();
+        if (size < dates.length) {
+            dates = Arrays.copyOf(dates, size);
+        }
+    }
+
+    /**
+     * @return copy of packed Jalali dates
+     */
+    public int[] toArray() {
+        return Arrays.copyOfRange(dates, offset, offset + size);
+    }
+
+    /**
+     * Sort chronologically in place. Dates are keyed by 21 bits and sorted by two
+     * in-place radix passes, 11 and then 10 bits, without allocating a second array.
+     */
+    public void sort() {
+        checkWritable();
+        if (size <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dates, 0, size);
+            return;
+        }
+        int[] highEnd = new int[1 << HIGH_BITS];
+        int[] next = new int[(1 << HIGH_BITS) + 1];
+        int[] lowEnd = new int[1 << LOW_BITS];
+        partition(dates, 0, size, LOW_BITS, HIGH_BITS, next, highEnd);
+        int start = 0;
+        for (int end : highEnd) {
+            if (end - start > INSERTION_SORT_THRESHOLD) {
+                partition(dates, start, end, 0, LOW_BITS, next, lowEnd);
+            } else {
+                insertionSort(dates, start, end);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Permute range in place by bucket of <code>bits</code> key bits above <code>shift</code>
+     * (American flag sort)
+     *
+     * @param next scratch, at least <code>(1 &lt;&lt; bits) + 1</code> long
+     * @param end  filled with index after the last element of each bucket
+     */
+    private static void partition(int[] a, int from, int to, int shift, int bits, int[] next, int[] end) {
+        int buckets = 1 << bits;
+        int mask = buckets - 1;
+        Arrays.fill(next, 0, buckets + 1, 0);
+        for (int i = from; i < to; i++) {
+            next[((a[i] - KEY_BASE) >>> shift & mask) + 1]++;
+        }
+        next[0] = from;
+        for (int b = 1; b <= buckets; b++) {
+            next[b] += next[b - 1];
+        }
+        // next[b] walks bucket b, whose end is the start of bucket b + 1
+        System.arraycopy(next, 1, end, 0, buckets);
+        for (int b = 0; b < buckets; b++) {
+            while (next[b] < end[b]) {
+                int value = a[next[b]];
+                int target = (value - KEY_BASE) >>> shift & mask;
+                while (target != b) {
+                    int swapped = a[next[target]];
+                    a[next[target]++] = value;
+                    value = swapped;
+                    target = (value - KEY_BASE) >>> shift & mask;
+                }
+                a[next[b]++] = value;
+            }
+        }
+    }
+
+    private static void insertionSort(int[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int value = a[i];
+            int j = i - 1;
+            while (j >= from && a[j] > value) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = value;
+        }
+    }
+
+    /**
+     * Search sorted list for date
+     *
+     * @param packed packed Jalali date
+     * @return index of date, or <code>-(insertion point) - 1</code> like
+     * {@link Arrays#binarySearch(int[], int)}
+     */
+    public int binarySearch(int packed) {
+        int index = Arrays.binarySearch(dates, offset, offset + size, packed);
+        return index >= 0 ? index - offset : index + offset;
+    }
+
+    /**
+     * Get index of first date not before date in sorted list
+     *
+     * @param packed packed Jalali date
+     * @return index, {@link #size()} if all dates are before
+     */
+    public int lowerBound(int packed) {
+        int lo = offset;
+        int hi = offset + size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dates[mid] < packed) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo - offset;
+    }
+
+    /**
+     * Get index after the group of date at index in sorted list, e.g. first date of the
+     * next month for {@link JalaliUnit#MONTH}. Walks groups without creating views:
+     * <pre>
+     * for (int i = 0; i &lt; list.size(); ) {
+     *     int end = list.groupEnd(i, JalaliUnit.MONTH);
+     *     ...
+     *     i = end;
+     * }
+     * </pre>
+     *
+     * @param index index of first date of group
+     * @param unit  unit of groups
+     * @return index after the last date of group
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public int groupEnd(int index, JalaliUnit unit) {
+        int first = unit.truncate(get(index));
+        int end = index + 1;
+        // dates of a group are usually few, so gallop before searching
+        int step = 1;
+        while (end + step <= size && unit.truncate(dates[offset + end + step - 1]) == first) {
+            end += step;
+            step <<= 1;
+        }
+        while (end < size && unit.truncate(dates[offset + end]) == first) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Get read-only view of range
+     *
+     * @param from first index, inclusive
+     * @param to   last index, exclusive
+     * @return view
+     * @throws IndexOutOfBoundsException if range is out of bounds
+     */
+    public JalaliDateList view(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") of size " + size);
+        }
+        return new JalaliDateList(dates, offset + from, to - from);
+    }
+
+    /**
+     * Get read-only view of the dates of a year in sorted list
+     *
+     * @param year Jalali year
+     * @return view, empty if no date is in year
+     */
+    public JalaliDateList viewYear(int year) {
+        return view(lowerBound(Jalali.pack(year, 1, 1)), lowerBound(Jalali.pack(year + 1, 1, 1)));
+    }
+
+    /**
+     * Get read-only view of the dates of a month in sorted list
+     *
+     * @param year  Jalali year
+     * @param month Jalali month, 1 to 12
+     * @return view, empty if no date is in month
+     * @throws IllegalArgumentException if month is out of range
+     */
+    public JalaliDateList viewMonth(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month is out of range: " + month);
+        }
+        return view(lowerBound(Jalali.pack(year, month, 1)), lowerBound(Jalali.pack(year, month + 1, 1)));
+    }
+
+    /**
+     * Append formatted date
+     *
+     * @param index   index of date
+     * @param printer printer, time fields print as midnight
+     * @param sb      target
+     * @return target
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public StringBuilder print(int index, RoozhPrinter printer, StringBuilder sb) {
+        return printer.printDate(get(index), sb);
+    }
+
+    /**
+     * Write formatted date into char array
+     *
+     * @param index   index of date
+     * @param printer printer, time fields print as midnight
+     * @param buf     target with at least {@link RoozhPrinter#getMaxLength()} chars after offset
+     * @param offset  first index to write
+     * @return index after the last written char
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public int print(int index, RoozhPrinter printer, char[] buf, int offset) {
+        return printer.printDate(get(index), buf, offset);
+    }
+
+    /**
+     * Append all formatted dates
+     *
+     * @param printer   printer, time fields print as midnight
+     * @param separator text between dates
+     * @param sb        target
+     * @return target
+     */
+    public StringBuilder printAll(RoozhPrinter printer, CharSequence separator, StringBuilder sb) {
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            printer.printDate(dates[offset + i], sb);
+        }
+        return sb;
+    }
+
+    private static int check(int packed) {
+        int year = Jalali.getYear(packed);
+        Jalali.checkYear(year);
+        Jalali.checkDate(year, Jalali.getMonth(packed), Jalali.getDayOfMonth(packed), LeapYears.isLeap(year));
+        return packed;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    private void checkWritable() {
+        if (view) {
+            throw new UnsupportedOperationException("View is read-only");
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Immutable local Jalali date and time packed into two <code>int</code>s. Instances are
+ * thread-safe and can be cached, shared and used as map keys.
+ *
+ * @since 4.2
+ */
+public final class JalaliDateTime implements Comparable<JalaliDateTime> {
+    static final int MILLIS_PER_DAY = 86400000;
+    private final int date;
+    private final int millisOfDay;
+
+    private JalaliDateTime(int date, int millisOfDay) {
+        this.date = date;
+        this.millisOfDay = millisOfDay;
+    }
+
+    /**
+     * @param date        date
+     * @param hourOfDay   hour, 0 to 23
+     * @param minute      minute, 0 to 59
+     * @param second      second, 0 to 59
+     * @param millisecond millisecond, 0 to 999
+     * @return date and time
+     * @throws IllegalArgumentException if time is not valid
+     */
+    public static JalaliDateTime of(JalaliDate date, int hourOfDay, int minute, int second, int millisecond) {
+        if (hourOfDay < 0 || hourOfDay > 23 || minute < 0 || minute > 59
+                || second < 0 || second > 59 || millisecond < 0 || millisecond > 999) {
+            throw new IllegalArgumentException("Time is out of range.");
+        }
+        return new JalaliDateTime(date.toPacked(),
+                ((hourOfDay * 60 + minute) * 60 + second) * 1000 + millisecond);
+    }
+
+    /**
+     * @param millis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone   time zone
+     * @return local date and time in zone
+     */
+    public static JalaliDateTime ofEpochMillis(long millis, TimeZone zone) {
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            return ofEpochMillis(millis, compiled);
+        }
+        return ofLocalEpochMillis(millis + zone.getOffset(millis));
+    }
+
+    /**
+     * @param millis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone   compiled time zone
+     * @return local date and time in zone
+     */
+    public static JalaliDateTime ofEpochMillis(long millis, RoozhZone zone) {
+        return ofLocalEpochMillis(zone.toLocalMillis(millis));
+    }
+
+    /**
+     * @param localMillis local milliseconds since 1970-01-01T00:00
+     * @return date and time
+     */
+    public static JalaliDateTime ofLocalEpochMillis(long localMillis) {
+        long epochDay = Jalali.floorDiv(localMillis, MILLIS_PER_DAY);
+        return new JalaliDateTime(Jalali.toJalali(epochDay), (int) (localMillis - epochDay * MILLIS_PER_DAY));
+    }
+
+    public JalaliDate getDate() {
+        return new JalaliDate(date);
+    }
+
+    public int getYear() {
+        return Jalali.getYear(date);
+    }
+
+    public int getMonth() {
+        return Jalali.getMonth(date);
+    }
+
+    public int getDayOfMonth() {
+        return Jalali.getDayOfMonth(date);
+    }
+
+    /**
+     * @return day of week as {@link Calendar#DAY_OF_WEEK}
+     */
+    public int getDayOfWeek() {
+        return Jalali.getDayOfWeek(Jalali.toEpochDay(date));
+    }
+
+    /**
+     * @return hour as {@link Calendar#HOUR}
+     */
+    public int getHour() {
+        return getHourOfDay() % 12;
+    }
+
+    /**
+     * @return hour as {@link Calendar#HOUR_OF_DAY}
+     */
+    public int getHourOfDay() {
+        return millisOfDay / 3600000;
+    }
+
+    public int getMinute() {
+        return millisOfDay / 60000 % 60;
+    }
+
+    public int getSecond() {
+        return millisOfDay / 1000 % 60;
+    }
+
+    public int getMillisecond() {
+        return millisOfDay % 1000;
+    }
+
+    /**
+     * @return {@link Calendar#AM} or {@link Calendar#PM}
+     */
+    public int getAmPm() {
+        return getHourOfDay() < 12 ? Calendar.AM : Calendar.PM;
+    }
+
+    public int getMillisOfDay() {
+        return millisOfDay;
+    }
+
+    /**
+     * @return local milliseconds since 1970-01-01T00:00
+     */
+    public long toLocalEpochMillis() {
+        return Jalali.toEpochDay(date) * MILLIS_PER_DAY + millisOfDay;
+    }
+
+    @Override
+    public int compareTo(JalaliDateTime o) {
+        if (date != o.date) {
+            return date < o.date ? -1 : 1;
+        }
+        return millisOfDay < o.millisOfDay ? -1 : millisOfDay == o.millisOfDay ? 0 : 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JalaliDateTime)) {
+            return false;
+        }
+        JalaliDateTime that = (JalaliDateTime) o;
+        return date == that.date && millisOfDay == that.millisOfDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * date + millisOfDay;
+    }
+
+    /**
+     * @return date and time as yyyy/MM/dd HH:mm:ss.SSS
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(23);
+        sb.append(new JalaliDate(date)).append(' ');
+        appendTwoDigits(sb, getHourOfDay()).append(':');
+        appendTwoDigits(sb, getMinute()).append(':');
+        appendTwoDigits(sb, getSecond()).append('.');
+        int millis = getMillisecond();
+        if (millis < 100) {
+            sb.append('0');
+        }
+        return appendTwoDigits(sb, millis).toString();
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int i) {
+        if (i < 10) {
+            sb.append('0');
+        }
+        return sb.append(i);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Calendar units of the Jalali calendar, working on packed dates.
+ * Weeks start on Saturday.
+ *
+ * @see Jalali#pack(int, int, int)
+ * @since 4.2
+ */
+public enum JalaliUnit {
+    DAY, WEEK, MONTH, YEAR;
+
+    /**
+     * Get first day of the unit containing date, e.g. 1 Farvardin of its year for
+     * {@link #YEAR}
+     *
+     * @param packed packed Jalali date
+     * @return packed Jalali date
+     */
+    public int truncate(int packed) {
+        switch (this) {
+            default:
+            case DAY:
+                return packed;
+            case WEEK:
+                long epochDay = Jalali.toEpochDay(packed);
+                // Saturday is 7 in Calendar numbering
+                return Jalali.toJalali(epochDay - Jalali.getDayOfWeek(epochDay) % 7);
+            case MONTH:
+                return Jalali.pack(Jalali.getYear(packed), Jalali.getMonth(packed), 1);
+            case YEAR:
+                return Jalali.pack(Jalali.getYear(packed), 1, 1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Leap years from {@link Jalali#MIN_YEAR} to {@link Jalali#MAX_YEAR} as a bitset of 51
+ * longs, precomputed with Borkowski's arithmetic. Bit <code>year - MIN_YEAR</code> is set
+ * for leap years.
+ *
+ * @since 4.2
+ */
+final class LeapYears {
+    private static final long[] BITS = {
+            0x2222222211111111L, 0x8888888844444442L, 0x2222222111111110L, 0x8888888444444442L,
+            0x2222222111111110L, 0x8888888444444442L, 0x2222221111111108L, 0x8888888444444422L,
+            0x2222221111111108L, 0x8888884444444422L, 0x2222211111111088L, 0x8888884444444222L,
+            0x2222111111111088L, 0x8888844444442222L, 0x2222111111110888L, 0x8888444444442222L,
+            0x2221111111108888L, 0x8884444444422222L, 0x2221111111108888L, 0x8884444444222222L,
+            0x2211111111088888L, 0x8844444444222222L, 0x2111111110888888L, 0x8444444442222222L,
+            0x1111111108888888L, 0x4444444422222222L, 0x1111111108888888L, 0x4444444422222222L,
+            0x1111111088888888L, 0x4444444222222221L, 0x1111110888888884L, 0x4444442222222211L,
+            0x1111108888888844L, 0x4444422222222211L, 0x1111088888888444L, 0x4444422222222111L,
+            0x1110888888884444L, 0x4444222222221111L, 0x1108888888844444L, 0x4442222222211111L,
+            0x1108888888844444L, 0x4422222222111111L, 0x1088888888444444L, 0x4222222221111111L,
+            0x0888888884444444L, 0x2222222211111111L, 0x8888888844444444L, 0x2222222111111110L,
+            0x8888888444444442L, 0x2222221111111108L, 0x0000000444444422L
+    };
+
+    private LeapYears() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    /**
+     * @param year Jalali year in range
+     * @return <code>true</code> if year is leap
+     */
+    static boolean isLeap(int year) {
+        int bit = year - Jalali.MIN_YEAR;
+        // shifts of long use the low six bits
+        return (BITS[bit >>> 6] >>> bit & 1) != 0;
+    }
+}
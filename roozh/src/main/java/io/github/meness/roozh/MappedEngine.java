@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Looks up every supported epoch day in a precomputed file mapped with
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)}.
+ * <p>
+ * The mapping lives outside of the heap and is shared through the page cache by every
+ * process opening the same file. Generate the file once with {@link #generate(File)}, or
+ * with the <code>generateDayTable</code> task of the roozh module.
+ * <p>
+ * File layout, all <code>int</code>s big-endian: magic, version, first epoch day, day count,
+ * first year, year count, one packed Jalali date per day and then the epoch day of
+ * 1 Farvardin per year.
+ *
+ * @since 4.2
+ */
+public class MappedEngine implements RoozhEngine {
+    private static final int MAGIC = 0x524F5A48;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private final MappedByteBuffer buffer;
+    private final int dayCount;
+    private final int yearsOffset;
+
+    private MappedEngine(MappedByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != Jalali.MIN_EPOCH_DAY || buffer.getInt(16) != Jalali.MIN_YEAR) {
+            throw new IOException("Not a Roozh day table.");
+        }
+        dayCount = buffer.getInt(12);
+        int yearCount = buffer.getInt(20);
+        yearsOffset = HEADER_SIZE + dayCount * 4;
+        if (dayCount != Jalali.MAX_EPOCH_DAY - Jalali.MIN_EPOCH_DAY + 1
+                || yearCount != Jalali.MAX_YEAR - Jalali.MIN_YEAR + 1
+                || buffer.capacity() != yearsOffset + yearCount * 4) {
+            throw new IOException("Roozh day table is truncated.");
+        }
+        this.buffer = buffer;
+    }
+
+    /**
+     * Map day table file
+     *
+     * @param file file written by {@link #generate(File)}
+     * @return engine
+     * @throws IOException if file cannot be read or is not a day table
+     */
+    public static MappedEngine open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // mapping stays valid after the channel is closed
+            return new MappedEngine(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write day table file using Borkowski's arithmetic
+     *
+     * @param file target file, will be overwritten
+     * @throws IOException if file cannot be written
+     */
+    public static void generate(File file) throws IOException {
+        int dayCount = (int) (Jalali.MAX_EPOCH_DAY - Jalali.MIN_EPOCH_DAY + 1);
+        int yearCount = Jalali.MAX_YEAR - Jalali.MIN_YEAR + 1;
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + (dayCount + yearCount) * 4);
+        out.putInt(MAGIC).putInt(VERSION)
+                .putInt((int) Jalali.MIN_EPOCH_DAY).putInt(dayCount)
+                .putInt(Jalali.MIN_YEAR).putInt(yearCount);
+        for (long day = Jalali.MIN_EPOCH_DAY; day <= Jalali.MAX_EPOCH_DAY; day++) {
+            out.putInt(Jalali.ARITHMETIC.toJalali(day));
+        }
+        for (int year = Jalali.MIN_YEAR; year <= Jalali.MAX_YEAR; year++) {
+            out.putInt((int) Jalali.ARITHMETIC.toEpochDay(Jalali.pack(year, 1, 1)));
+        }
+        out.flip();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            channel.truncate(0);
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    /**
+     * Generate day table from the command line
+     *
+     * @param args target file path
+     * @throws IOException if file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: MappedEngine <file>");
+            System.exit(1);
+        }
+        generate(new File(args[0]));
+    }
+
+    @Override
+    public int toJalali(long epochDay) {
+        Jalali.checkEpochDay(epochDay);
+        return buffer.getInt(HEADER_SIZE + (int) (epochDay - Jalali.MIN_EPOCH_DAY) * 4);
+    }
+
+    @Override
+    public long toEpochDay(int packed) {
+        int year = Jalali.getYear(packed);
+        int month = Jalali.getMonth(packed);
+        int day = Jalali.getDayOfMonth(packed);
+        Jalali.checkYear(year);
+        int index = yearsOffset + (year - Jalali.MIN_YEAR) * 4;
+        int farvardin = buffer.getInt(index);
+        int next = year == Jalali.MAX_YEAR ? (int) Jalali.MAX_EPOCH_DAY + 1 : buffer.getInt(index + 4);
+        Jalali.checkDate(year, month, day, next - farvardin == 366);
+        return farvardin + (month - 1) * 31 - month / 7 * (month - 7) + day - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "MappedEngine{" +
+                "days=" + dayCount +
+                '}';
+    }
+}
@@ -17,7 +17,6 @@
 package io.github.meness.roozh;
 
 import java.util.Calendar;
-import java.util.TimeZone;
 
 import io.github.meness.roozh.locales.DariLocale;
 import io.github.meness.roozh.locales.EnglishLocale;
@@ -42,7 +41,6 @@ public abstract class Roozh implements Comparable<Roozh> {
     private Calendar calendar;
     private int iJY, iJM, iJD;
     private int iGY, iGM, iGD;
-    private int iLeap, iMarch;
 
     /**
      * create Roozh instance with default Persian locale
@@ -100,10 +98,20 @@ public abstract class Roozh implements Comparable<Roozh> {
 
     @Override
     public int compareTo(Roozh o) {
-        return calendar.getTimeInMillis() == o.calendar.getTimeInMillis() ? 1 : 0;
+        long time = calendar.getTimeInMillis();
+        long otherTime = o.calendar.getTimeInMillis();
+        return time < otherTime ? -1 : time == otherTime ? 0 : 1;
     }
 
-    public abstract String getDayOfWeekText(int dow);
+    /**
+     * get day of week name
+     *
+     * @param dow day of week as {@link Calendar#DAY_OF_WEEK}
+     * @return day of week name
+     */
+    public String getDayOfWeekText(int dow) {
+        return RoozhLocaleData.of(locale).getDayOfWeekText(dow);
+    }
 
     /**
      * Get manipulated day
@@ -174,7 +182,9 @@ public abstract class Roozh implements Comparable<Roozh> {
         return calendar.get(Calendar.HOUR_OF_DAY);
     }
 
-    public abstract String getAmPmText(int am_pm);
+    public String getAmPmText(int am_pm) {
+        return RoozhLocaleData.of(locale).getAmPmText(am_pm);
+    }
 
     /**
      * Get manipulated AM/PM
@@ -221,8 +231,11 @@ public abstract class Roozh implements Comparable<Roozh> {
     public Roozh gregorianToPersian(Calendar cal) {
         updateCalendarForTehran(cal);
         // months start from 0
-        int jd = JG2JD(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH), 0);
-        JD2Jal(jd);
+        int jd = Borkowski.gregorianToJdn(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH));
+        int date = Jalali.toJalali(jd - Borkowski.EPOCH_JDN);
+        iJY = Jalali.getYear(date);
+        iJM = Jalali.getMonth(date);
+        iJD = Jalali.getDayOfMonth(date);
         calendar = cal;
 
         return this;
@@ -234,173 +247,34 @@ public abstract class Roozh implements Comparable<Roozh> {
     private void updateCalendarForTehran(Calendar cal) {
         // set first day of week in Iran
         cal.setFirstDayOfWeek(Calendar.SATURDAY);
-        // set Asia/Tehran as timezone but doesn't work!
-        cal.setTimeZone(TimeZone.getTimeZone("Asia/Tehran"));
-    }
-
-    /**
-     * Calculates the Julian Day number (JG2JD) from Gregorian or Julian
-     * calendar dates. This integer number corresponds to the noon of the date
-     * (i.e. 12 hours of Universal Time). The procedure was tested to be good
-     * since 1 March, -100100 (of both the calendars) up to a few millions
-     * (10**6) years into the future. The algorithm is based on D.A. Hatcher,
-     * Q.Jl.R.Astron.Soc. 25(1984), 53-55 slightly modified by me (K.M.
-     * Borkowski, Post.Astron. 25(1987), 275-279).
-     *
-     * @param year  <code>int</code>
-     * @param month <code>int</code>
-     * @param day   <code>int</code>
-     * @param J1G0  to be set to 1 for Julian and to 0 for Gregorian calendar
-     * @return Julian Day number
-     */
-    private int JG2JD(int year, int month, int day, int J1G0) {
-        int jd = (1461 * (year + 4800 + (month - 14) / 12)) / 4
-                + (367 * (month - 2 - 12 * ((month - 14) / 12))) / 12
-                - (3 * ((year + 4900 + (month - 14) / 12) / 100)) / 4 + day
-                - 32075;
-
-        if (J1G0 == 0)
-            jd = jd - (year + 100100 + (month - 8) / 6) / 100 * 3 / 4 + 752;
-
-        return jd;
-    }
-
-    /**
-     * Converts the Julian Day number to a date in the Jalali calendar
-     *
-     * @param JDN the Julian Day number
-     */
-    private void JD2Jal(int JDN) {
-        JD2JG(JDN, 0);
-
-        iJY = iGY - 621;
-        JalCal(iJY);
-
-        int JDN1F = JG2JD(iGY, 3, iMarch, 0);
-        int k = JDN - JDN1F;
-        if (k >= 0) {
-            if (k <= 185) {
-                iJM = 1 + k / 31;
-                iJD = (k % 31) + 1;
-                return;
-            } else {
-                k = k - 186;
-            }
-        } else {
-            iJY = iJY - 1;
-            k = k + 179;
-            if (iLeap == 1)
-                k = k + 1;
-        }
-
-        iJM = 7 + k / 30;
-        iJD = (k % 30) + 1;
-    }
-
-    /**
-     * Calculates Gregorian and Julian calendar dates from the Julian Day number
-     * (JD) for the period since JD=-34839655 (i.e. the year -100100 of both the
-     * calendars) to some millions (10**6) years ahead of the present. The
-     * algorithm is based on D.A. Hatcher, Q.Jl.R.Astron.Soc. 25(1984), 53-55
-     * slightly modified by me (K.M. Borkowski, Post.Astron. 25(1987), 275-279).
-     *
-     * @param JD   Julian day number as <code>int</code>
-     * @param J1G0 to be set to 1 for Julian and to 0 for Gregorian calendar
-     */
-    private void JD2JG(int JD, int J1G0) {
-        int i, j;
-
-        j = 4 * JD + 139361631;
-
-        if (J1G0 == 0) {
-            j = j + (4 * JD + 183187720) / 146097 * 3 / 4 * 4 - 3908;
-        }
-
-        i = (j % 1461) / 4 * 5 + 308;
-        iGD = (i % 153) / 5 + 1;
-        iGM = ((i / 153) % 12) + 1;
-        iGY = j / 1461 - 100100 + (8 - iGM) / 6;
-    }
-
-    /**
-     * This procedure determines if the Jalali (Persian) year is leap (366-day
-     * long) or is the common year (365 days), and finds the day in March
-     * (Gregorian calendar) of the first day of the Jalali year (jY)
-     *
-     * @param jY Jalali calendar year (-61 to 3177)
-     */
-    private void JalCal(int jY) {
-        iMarch = 0;
-        iLeap = 0;
-
-        int[] breaks = {-61, 9, 38, 199, 426, 686, 756, 818, 1111, 1181, 1210,
-                1635, 2060, 2097, 2192, 2262, 2324, 2394, 2456, 3178};
-
-        iGY = jY + 621;
-        int leapJ = -14;
-        int jp = breaks[0];
-
-        int jump;
-        for (int j = 1; j <= 19; j++) {
-            int jm = breaks[j];
-            jump = jm - jp;
-            if (jY < jm) {
-                int N = jY - jp;
-                leapJ = leapJ + N / 33 * 8 + (N % 33 + 3) / 4;
-
-                if ((jump % 33) == 4 && (jump - N) == 4)
-                    leapJ = leapJ + 1;
-
-                int leapG = (iGY / 4) - (iGY / 100 + 1) * 3 / 4 - 150;
-
-                iMarch = 20 + leapJ - leapG;
-
-                if ((jump - N) < 6)
-                    N = N - jump + (jump + 4) / 33 * 33;
-
-                iLeap = ((((N + 1) % 33) - 1) % 4);
-
-                if (iLeap == -1)
-                    iLeap = 4;
-                break;
-            }
-
-            leapJ = leapJ + jump / 33 * 8 + (jump % 33) / 4;
-            jp = jm;
-        }
+        // copy of a cached zone, Asia/Kabul for Dari and Pashto
+        cal.setTimeZone(RoozhZone.forLocale(locale).toTimeZone());
     }
 
     /**
      * Converts Persian(Jalali) date to Gregorian date
+     *
+     * @throws IllegalArgumentException if the fields of cal are not a valid Jalali date
      */
     public Roozh persianToGregorian(Calendar cal) {
         updateCalendarForTehran(cal);
-        int jd = Jal2JD(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH));
-        JD2JG(jd, 0);
+        long epochDay = Jalali.toEpochDay(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH));
+        int date = Borkowski.jdnToGregorian((int) epochDay + Borkowski.EPOCH_JDN);
+        iGY = Jalali.getYear(date);
+        iGM = Jalali.getMonth(date);
+        iGD = Jalali.getDayOfMonth(date);
         calendar = cal;
 
         return this;
     }
 
-    /**
-     * Converts a date of the Jalali calendar to the Julian Day Number
-     *
-     * @param jY Jalali year as <code>int</code>
-     * @param jM Jalali month as <code>int</code>
-     * @param jD Jalali day as <code>int</code>
-     * @return Julian day number
-     */
-    private int Jal2JD(int jY, int jM, int jD) {
-        JalCal(jY);
-        return JG2JD(iGY, 3, iMarch, 1) + (jM - 1) * 31 - jM / 7 * (jM - 7)
-                + jD - 1;
-    }
-
     /**
      * get month name
      *
      * @param month month number
      * @return month name
      */
-    public abstract String getMonthName(int month);
+    public String getMonthName(int month) {
+        return RoozhLocaleData.of(locale).getMonthName(month);
+    }
 }
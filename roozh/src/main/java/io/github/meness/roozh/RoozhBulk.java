@@ -0,0 +1,338 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts and formats whole arrays with the same arithmetic as {@link Jalali}.
+ * <p>
+ * Small arrays are converted on the calling thread. Arrays of at least
+ * {@link #PARALLEL_THRESHOLD} elements are split across a shared {@link ForkJoinPool}
+ * with one worker per core.
+ *
+ * @since 4.2
+ */
+public final class RoozhBulk {
+    /**
+     * Minimum number of elements converted in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 15;
+    /**
+     * Number of elements converted by one fork/join task
+     */
+    private static final int LEAF_SIZE = 1 << 13;
+    private static final int MILLIS_TO_JALALI = 0;
+    private static final int EPOCH_DAY_TO_JALALI = 1;
+    private static final int JALALI_TO_EPOCH_DAY = 2;
+    private static final long MILLIS_PER_DAY = JalaliDateTime.MILLIS_PER_DAY;
+
+    private RoozhBulk() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    /**
+     * Convert epoch milliseconds to packed Jalali dates in Asia/Tehran time zone
+     *
+     * @param epochMillis      milliseconds since 1970-01-01T00:00:00Z
+     * @param outPackedJalali target, at least as long as source
+     * @see #convert(long[], int[], RoozhZone)
+     */
+    public static void convert(long[] epochMillis, int[] outPackedJalali) {
+        convert(epochMillis, outPackedJalali, RoozhZone.TEHRAN);
+    }
+
+    /**
+     * Convert epoch milliseconds to packed Jalali dates
+     *
+     * @param epochMillis      milliseconds since 1970-01-01T00:00:00Z
+     * @param outPackedJalali target, at least as long as source
+     * @param zone             time zone
+     * @throws IllegalArgumentException if target is too short or an instant is out of range
+     */
+    public static void convert(long[] epochMillis, int[] outPackedJalali, TimeZone zone) {
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            convert(epochMillis, outPackedJalali, compiled);
+            return;
+        }
+        checkLength(epochMillis.length, outPackedJalali.length);
+        run(new Task(MILLIS_TO_JALALI, epochMillis, null, outPackedJalali, zone, null, 0, epochMillis.length));
+    }
+
+    /**
+     * Convert epoch milliseconds to packed Jalali dates in compiled time zone
+     *
+     * @param epochMillis      milliseconds since 1970-01-01T00:00:00Z
+     * @param outPackedJalali target, at least as long as source
+     * @param zone             time zone
+     * @throws IllegalArgumentException if target is too short or an instant is out of range
+     */
+    public static void convert(long[] epochMillis, int[] outPackedJalali, RoozhZone zone) {
+        checkLength(epochMillis.length, outPackedJalali.length);
+        run(new Task(MILLIS_TO_JALALI, epochMillis, null, outPackedJalali, null, zone, 0, epochMillis.length));
+    }
+
+    /**
+     * Convert epoch days to packed Jalali dates
+     *
+     * @param epochDays        days since 1970-01-01
+     * @param outPackedJalali target, at least as long as source
+     * @throws IllegalArgumentException if target is too short or a day is out of range
+     */
+    public static void toJalali(int[] epochDays, int[] outPackedJalali) {
+        checkLength(epochDays.length, outPackedJalali.length);
+        run(new Task(EPOCH_DAY_TO_JALALI, null, epochDays, outPackedJalali, null, null, 0, epochDays.length));
+    }
+
+    /**
+     * Convert packed Jalali dates to epoch days
+     *
+     * @param packedJalali packed Jalali dates
+     * @param outEpochDays target, at least as long as source
+     * @throws IllegalArgumentException if target is too short or a date is not valid
+     */
+    public static void toEpochDays(int[] packedJalali, int[] outEpochDays) {
+        checkLength(packedJalali.length, outEpochDays.length);
+        run(new Task(JALALI_TO_EPOCH_DAY, null, packedJalali, outEpochDays, null, null, 0, packedJalali.length));
+    }
+
+    /**
+     * Format a column of instants into one char array. Row <code>i</code> is
+     * <code>out[offsets[i]]</code> to <code>out[offsets[i + 1]]</code>, without separators.
+     * <p>
+     * Large columns are formatted in chunks on all cores and then moved together.
+     *
+     * @param printer     compiled pattern
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param out         target, at least <code>epochMillis.length * printer.getMaxLength()</code> long
+     * @param offsets     receives the start of each row and the end, at least one longer than source
+     * @return number of chars written
+     * @throws IllegalArgumentException if a target is too short or an instant is out of range
+     */
+    public static int format(RoozhPrinter printer, long[] epochMillis, char[] out, int[] offsets) {
+        return format(printer, epochMillis, null, epochMillis.length, out, null, printer.getMaxLength(), offsets);
+    }
+
+    /**
+     * Format a column of instants as UTF-8 into one byte array
+     *
+     * @param printer     compiled pattern
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param out         target, at least <code>epochMillis.length * printer.getMaxUtf8Length()</code> long
+     * @param offsets     receives the start of each row and the end, at least one longer than source
+     * @return number of bytes written
+     * @throws IllegalArgumentException if a target is too short or an instant is out of range
+     * @see #format(RoozhPrinter, long[], char[], int[])
+     */
+    public static int format(RoozhPrinter printer, long[] epochMillis, byte[] out, int[] offsets) {
+        return format(printer, epochMillis, null, epochMillis.length, null, out, printer.getMaxUtf8Length(), offsets);
+    }
+
+    /**
+     * Format a column of packed Jalali dates into one char array, time fields print as midnight
+     *
+     * @param printer      compiled pattern
+     * @param packedJalali packed Jalali dates
+     * @param out          target, at least <code>packedJalali.length * printer.getMaxLength()</code> long
+     * @param offsets      receives the start of each row and the end, at least one longer than source
+     * @return number of chars written
+     * @throws IllegalArgumentException if a target is too short or a date is not valid
+     * @see #format(RoozhPrinter, long[], char[], int[])
+     */
+    public static int formatDates(RoozhPrinter printer, int[] packedJalali, char[] out, int[] offsets) {
+        return format(printer, null, packedJalali, packedJalali.length, out, null, printer.getMaxLength(), offsets);
+    }
+
+    /**
+     * Format a column of packed Jalali dates as UTF-8 into one byte array, time fields print
+     * as midnight
+     *
+     * @param printer      compiled pattern
+     * @param packedJalali packed Jalali dates
+     * @param out          target, at least <code>packedJalali.length * printer.getMaxUtf8Length()</code> long
+     * @param offsets      receives the start of each row and the end, at least one longer than source
+     * @return number of bytes written
+     * @throws IllegalArgumentException if a target is too short or a date is not valid
+     * @see #format(RoozhPrinter, long[], char[], int[])
+     */
+    public static int formatDates(RoozhPrinter printer, int[] packedJalali, byte[] out, int[] offsets) {
+        return format(printer, null, packedJalali, packedJalali.length, null, out, printer.getMaxUtf8Length(), offsets);
+    }
+
+    private static int format(RoozhPrinter printer, long[] epochMillis, int[] packed, int length, char[] chars,
+                              byte[] bytes, int stride, int[] offsets) {
+        checkLength(length + 1, offsets.length);
+        checkLength((int) Math.min(Integer.MAX_VALUE, (long) length * stride), chars != null ? chars.length : bytes.length);
+        if (length < PARALLEL_THRESHOLD) {
+            int end = printer.printRows(epochMillis, packed, 0, length, chars, bytes, 0, offsets);
+            offsets[length] = end;
+            return end;
+        }
+        // every chunk writes at its worst case start, then chunks are moved together
+        int chunks = (length + LEAF_SIZE - 1) / LEAF_SIZE;
+        int[] ends = new int[chunks];
+        PoolHolder.POOL.invoke(new FormatTask(printer, epochMillis, packed, length, chars, bytes, stride, offsets,
+                ends, 0, chunks));
+        Object target = chars != null ? chars : bytes;
+        int end = ends[0];
+        for (int c = 1; c < chunks; c++) {
+            int lo = c * LEAF_SIZE;
+            int start = lo * stride;
+            int count = ends[c] - start;
+            System.arraycopy(target, start, target, end, count);
+            int shift = end - start;
+            for (int i = lo, hi = Math.min(length, lo + LEAF_SIZE); i < hi; i++) {
+                offsets[i] += shift;
+            }
+            end += count;
+        }
+        offsets[length] = end;
+        return end;
+    }
+
+    private static void checkLength(int source, int target) {
+        if (target < source) {
+            throw new IllegalArgumentException("Target is shorter than source: " + target + " < " + source);
+        }
+    }
+
+    private static void run(Task task) {
+        if (task.hi - task.lo < PARALLEL_THRESHOLD) {
+            task.convert();
+        } else {
+            PoolHolder.POOL.invoke(task);
+        }
+    }
+
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    private static class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int mode;
+        private final long[] longs;
+        private final int[] ints;
+        private final int[] out;
+        private final TimeZone zone;
+        private final RoozhZone compiledZone;
+        private final int lo;
+        private final int hi;
+
+        Task(int mode, long[] longs, int[] ints, int[] out, TimeZone zone, RoozhZone compiledZone, int lo, int hi) {
+            this.mode = mode;
+            this.longs = longs;
+            this.ints = ints;
+            this.out = out;
+            this.zone = zone;
+            this.compiledZone = compiledZone;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= LEAF_SIZE) {
+                convert();
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Task(mode, longs, ints, out, zone, compiledZone, lo, mid),
+                    new Task(mode, longs, ints, out, zone, compiledZone, mid, hi));
+        }
+
+        void convert() {
+            switch (mode) {
+                case MILLIS_TO_JALALI:
+                    // neighbouring instants usually share the day
+                    long lastDay = Long.MIN_VALUE;
+                    int lastDate = 0;
+                    for (int i = lo; i < hi; i++) {
+                        long millis = longs[i];
+                        long day = compiledZone != null ? compiledZone.toEpochDay(millis)
+                                : Jalali.floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY);
+                        if (day != lastDay) {
+                            lastDate = Jalali.toJalali(day);
+                            lastDay = day;
+                        }
+                        out[i] = lastDate;
+                    }
+                    break;
+                case EPOCH_DAY_TO_JALALI:
+                    for (int i = lo; i < hi; i++) {
+                        out[i] = Jalali.toJalali(ints[i]);
+                    }
+                    break;
+                case JALALI_TO_EPOCH_DAY:
+                    for (int i = lo; i < hi; i++) {
+                        out[i] = (int) Jalali.toEpochDay(ints[i]);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown mode: " + mode);
+            }
+        }
+    }
+
+    private static class FormatTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final RoozhPrinter printer;
+        private final long[] epochMillis;
+        private final int[] packed;
+        private final int length;
+        private final char[] chars;
+        private final byte[] bytes;
+        private final int stride;
+        private final int[] offsets;
+        private final int[] ends;
+        private final int fromChunk;
+        private final int toChunk;
+
+        FormatTask(RoozhPrinter printer, long[] epochMillis, int[] packed, int length, char[] chars, byte[] bytes,
+                   int stride, int[] offsets, int[] ends, int fromChunk, int toChunk) {
+            this.printer = printer;
+            this.epochMillis = epochMillis;
+            this.packed = packed;
+            this.length = length;
+            this.chars = chars;
+            this.bytes = bytes;
+            this.stride = stride;
+            this.offsets = offsets;
+            this.ends = ends;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                int lo = fromChunk * LEAF_SIZE;
+                int hi = Math.min(length, lo + LEAF_SIZE);
+                ends[fromChunk] = printer.printRows(epochMillis, packed, lo, hi, chars, bytes, lo * stride, offsets);
+                return;
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            invokeAll(new FormatTask(printer, epochMillis, packed, length, chars, bytes, stride, offsets, ends,
+                            fromChunk, mid),
+                    new FormatTask(printer, epochMillis, packed, length, chars, bytes, stride, offsets, ends,
+                            mid, toChunk));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Clock publishing today's Jalali date and a formatted prefix of the current second.
+ * <p>
+ * The date is recomputed only when local midnight passes, and the prefix once per
+ * second, so stamping the current time is a volatile read and a millisecond append.
+ * Snapshots are immutable and replaced with a plain volatile write, which makes a
+ * clock safe to read from any number of threads without locks. Racing threads may
+ * compute the same snapshot twice, which is harmless.
+ *
+ * @since 4.2
+ */
+public final class RoozhClock {
+    /**
+     * Clock in Asia/Tehran stamping <code>yyyy/MM/dd HH:mm:ss.SSS</code>
+     */
+    public static final RoozhClock TEHRAN = new RoozhClock(RoozhZone.TEHRAN);
+    private static final long MILLIS_PER_DAY = JalaliDateTime.MILLIS_PER_DAY;
+    private final RoozhZone zone;
+    private final RoozhPrinter prefix;
+    private final char[] digits;
+    private volatile Day day = new Day(Long.MIN_VALUE, Long.MIN_VALUE, 0);
+    private volatile Second second = new Second(Long.MIN_VALUE, "");
+
+    /**
+     * Clock stamping <code>yyyy/MM/dd HH:mm:ss.SSS</code> with Latin digits
+     *
+     * @param zone time zone
+     */
+    public RoozhClock(RoozhZone zone) {
+        this(zone, RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm:ss", RoozhLocale.PERSIAN));
+    }
+
+    /**
+     * @param zone   time zone
+     * @param prefix printer of the second, followed by <code>.SSS</code> in its digits
+     *               when stamping
+     */
+    public RoozhClock(RoozhZone zone, RoozhPrinter prefix) {
+        if (zone == null || prefix == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        this.zone = zone;
+        this.prefix = prefix.withZone(zone);
+        digits = new char[10];
+        for (int i = 0; i < 10; i++) {
+            digits[i] = prefix.getDigits().getDigit(i);
+        }
+    }
+
+    public RoozhZone getZone() {
+        return zone;
+    }
+
+    /**
+     * @return today's packed Jalali date
+     */
+    public int today() {
+        return today(System.currentTimeMillis());
+    }
+
+    /**
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @return packed Jalali date of instant, cached if it is in the last seen day
+     */
+    public int today(long epochMillis) {
+        Day current = day;
+        if (epochMillis < current.start || epochMillis >= current.end) {
+            long epochDay = zone.toEpochDay(epochMillis);
+            current = new Day(zone.toEpochMillis(epochDay * MILLIS_PER_DAY),
+                    zone.toEpochMillis((epochDay + 1) * MILLIS_PER_DAY), Jalali.toJalali(epochDay));
+            day = current;
+        }
+        return current.date;
+    }
+
+    public JalaliDate getToday() {
+        return new JalaliDate(today());
+    }
+
+    /**
+     * Append current time
+     *
+     * @param sb target
+     * @return target
+     */
+    public StringBuilder stamp(StringBuilder sb) {
+        return stamp(System.currentTimeMillis(), sb);
+    }
+
+    /**
+     * Append instant, reusing the formatted second of the last stamp
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param sb          target
+     * @return target
+     */
+    public StringBuilder stamp(long epochMillis, StringBuilder sb) {
+        long epochSecond = Jalali.floorDiv(epochMillis, 1000);
+        Second current = second;
+        if (current.epochSecond != epochSecond) {
+            current = new Second(epochSecond, prefix.format(epochSecond * 1000));
+            second = current;
+        }
+        int millis = (int) (epochMillis - epochSecond * 1000);
+        return sb.append(current.prefix).append('.')
+                .append(digits[millis / 100]).append(digits[millis / 10 % 10]).append(digits[millis % 10]);
+    }
+
+    /**
+     * @return current time as a new string
+     */
+    public String stamp() {
+        return stamp(new StringBuilder(prefix.getMaxLength() + 4)).toString();
+    }
+
+    private static final class Day {
+        // local midnights as instants
+        final long start;
+        final long end;
+        final int date;
+
+        Day(long start, long end, int date) {
+            this.start = start;
+            this.end = end;
+            this.date = date;
+        }
+    }
+
+    private static final class Second {
+        final long epochSecond;
+        final String prefix;
+
+        Second(long epochSecond, String prefix) {
+            this.epochSecond = epochSecond;
+            this.prefix = prefix;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.nio.charset.Charset;
+
+/**
+ * Digit sets used for formatted numbers
+ *
+ * @see RoozhLocale#getDigits()
+ * @since 4.2
+ */
+public enum RoozhDigits {
+    /**
+     * 0123456789
+     */
+    LATIN('0'),
+    /**
+     * Extended Arabic-Indic digits used in Persian, Dari and Pashto
+     */
+    PERSIAN('\u06f0'),
+    /**
+     * Arabic-Indic digits
+     */
+    ARABIC_INDIC('\u0660');
+
+    private final char[] digits = new char[10];
+    private final byte[][] utf8 = new byte[10][];
+
+    RoozhDigits(char zero) {
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = (char) (zero + i);
+            utf8[i] = String.valueOf(digits[i]).getBytes(Charset.forName("UTF-8"));
+        }
+    }
+
+    /**
+     * @param digit digit value, 0 to 9
+     * @return digit character
+     */
+    public char getDigit(int digit) {
+        return digits[digit];
+    }
+
+    /**
+     * @param digit digit value, 0 to 9
+     * @return shared UTF-8 bytes of digit, must not be modified
+     */
+    byte[] getUtf8Digit(int digit) {
+        return utf8[digit];
+    }
+
+    /**
+     * Replace Latin digits of a text with this digit set
+     *
+     * @param c character
+     * @return shaped character
+     */
+    public char shape(char c) {
+        return c >= '0' && c <= '9' ? digits[c - '0'] : c;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Converts between epoch days and packed Jalali dates.
+ * <p>
+ * Every implementation gives the same results, so engines can be swapped or compared
+ * against each other freely.
+ *
+ * @see Jalali#ARITHMETIC
+ * @see Jalali#TABLE
+ * @see MappedEngine
+ * @since 4.2
+ */
+public interface RoozhEngine {
+    /**
+     * Convert epoch day to Jalali date
+     *
+     * @param epochDay days since 1970-01-01
+     * @return packed Jalali date
+     * @throws IllegalArgumentException if day is out of supported range
+     * @see Jalali#pack(int, int, int)
+     */
+    int toJalali(long epochDay);
+
+    /**
+     * Convert packed Jalali date to epoch day
+     *
+     * @param packed packed Jalali date
+     * @return days since 1970-01-01
+     * @throws IllegalArgumentException if date is not valid
+     */
+    long toEpochDay(int packed);
+}
@@ -17,6 +17,10 @@
 package io.github.meness.roozh;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.github.meness.roozh.components.AbstractComponent;
 import io.github.meness.roozh.components.AmPm;
@@ -28,6 +32,7 @@ import io.github.meness.roozh.components.Minute;
 import io.github.meness.roozh.components.Month;
 import io.github.meness.roozh.components.Second;
 import io.github.meness.roozh.components.Year;
+import io.github.meness.roozh.utils.FormatUtils;
 
 /**
  * format Roozh and make desired output
@@ -35,9 +40,21 @@ import io.github.meness.roozh.components.Year;
  * @since 2.0
  */
 public class RoozhFormatter {
+    /**
+     * Maximum number of compiled patterns cached per locale
+     */
+    private static final int PATTERN_CACHE_SIZE = 64;
+    private static final EnumMap<RoozhLocale, EnumMap<RoozhDigits, ConcurrentHashMap<String, RoozhPrinter>>> PATTERN_CACHE = createPatternCache();
     private ArrayList<Object> elements = new ArrayList<>();
     private StringBuilder stringBuilder = new StringBuilder();
     private Roozh roozh;
+    private RoozhDigits digits = RoozhDigits.LATIN;
+
+    /**
+     * Formatter used for compiling patterns only
+     */
+    private RoozhFormatter() {
+    }
 
     /**
      * New string builder will be used
@@ -59,6 +76,7 @@ public class RoozhFormatter {
         elements = formatter.elements;
         stringBuilder = formatter.stringBuilder;
         roozh = formatter.roozh;
+        digits = formatter.digits;
     }
 
     /**
@@ -93,6 +111,33 @@ public class RoozhFormatter {
         return this;
     }
 
+    /**
+     * Write numbers of components in provided digits. Appended text and characters are not
+     * changed.
+     *
+     * @param digits digits of numbers
+     * @return this
+     * @since 4.2
+     */
+    public RoozhFormatter setDigits(RoozhDigits digits) {
+        if (digits == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        this.digits = digits;
+        return this;
+    }
+
+    /**
+     * Write numbers of components in native digits of the Roozh locale
+     *
+     * @return this
+     * @see RoozhLocale#getDigits()
+     * @since 4.2
+     */
+    public RoozhFormatter useNativeDigits() {
+        return setDigits(roozh.locale.getDigits());
+    }
+
     /**
      * Append space character
      *
@@ -341,6 +386,288 @@ public class RoozhFormatter {
         return buildFormatter(roozh);
     }
 
+    /**
+     * Compile elements into an immutable printer using locale of the Roozh instance and
+     * its time zone
+     *
+     * @return printer
+     * @see #compile(RoozhLocale, RoozhZone)
+     * @see RoozhZone#forLocale(RoozhLocale)
+     * @since 4.2
+     */
+    public RoozhPrinter compile() {
+        return compile(roozh.locale, RoozhZone.forLocale(roozh.locale));
+    }
+
+    /**
+     * Compile elements into an immutable printer which can be reused from any thread.
+     * Later changes to this formatter do not affect the printer.
+     *
+     * @param locale locale of month and day names
+     * @param zone   time zone of printed instants
+     * @return printer
+     * @since 4.2
+     */
+    public RoozhPrinter compile(RoozhLocale locale, TimeZone zone) {
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            return compile(locale, compiled);
+        }
+        return compile(locale, (TimeZone) zone.clone(), null);
+    }
+
+    /**
+     * Compile elements into an immutable printer looking up offsets in a compiled zone
+     *
+     * @param locale locale of month and day names
+     * @param zone   time zone of printed instants
+     * @return printer
+     * @since 4.2
+     */
+    public RoozhPrinter compile(RoozhLocale locale, RoozhZone zone) {
+        return compile(locale, zone.toTimeZone(), zone);
+    }
+
+    private RoozhPrinter compile(RoozhLocale locale, TimeZone zone, RoozhZone compiledZone) {
+        if (elements.isEmpty()) {
+            throw new RuntimeException("You have to put some elements first.");
+        }
+
+        int[] ops = new int[elements.size()];
+        String[] literals = new String[elements.size()];
+        for (int i = 0; i < ops.length; i++) {
+            Object element = elements.get(i);
+            if (element instanceof AbstractComponent) {
+                ops[i] = compileComponent((AbstractComponent) element);
+            } else {
+                ops[i] = RoozhPrinter.LITERAL;
+                literals[i] = element.toString();
+            }
+        }
+
+        return new RoozhPrinter(ops, literals, RoozhLocaleData.of(locale), digits, zone, compiledZone);
+    }
+
+    /**
+     * Get compiled printer of pattern in the time zone of locale, Asia/Kabul for Dari and
+     * Pashto and Asia/Tehran otherwise. Printers are cached, so
+     * repeated calls with the same pattern do not parse it again.
+     * <p>
+     * Pattern letters:
+     * <ul>
+     * <li><code>yyyy</code> year, <code>yy</code> year without first two digits</li>
+     * <li><code>M</code> month, <code>MM</code> with leading zero, <code>MMM</code> or longer month name</li>
+     * <li><code>d</code> day of month, <code>dd</code> with leading zero</li>
+     * <li><code>E</code> or longer day of week name, <code>u</code> day of week, <code>uu</code> with leading zero</li>
+     * <li><code>H</code> 24-clock hour, <code>h</code> 12-clock hour, doubled for leading zero</li>
+     * <li><code>m</code> minute, <code>s</code> second, doubled for leading zero</li>
+     * <li><code>S</code> millisecond, <code>a</code> AM/PM</li>
+     * <li><code>'text'</code> quoted text, <code>''</code> single quote</li>
+     * </ul>
+     * Any other character except ASCII letters is copied as is.
+     *
+     * @param pattern pattern, e.g. <code>yyyy/MM/dd HH:mm:ss</code>
+     * @param locale  locale of month and day names
+     * @return printer
+     * @throws IllegalArgumentException if pattern is not valid
+     * @since 4.2
+     */
+    public static RoozhPrinter ofPattern(String pattern, RoozhLocale locale) {
+        return ofPattern(pattern, locale, RoozhDigits.LATIN);
+    }
+
+    /**
+     * Get compiled printer of pattern writing numbers in provided digits
+     *
+     * @param pattern pattern
+     * @param locale  locale of month and day names
+     * @param digits  digits of numbers
+     * @return printer
+     * @throws IllegalArgumentException if pattern is not valid
+     * @see #ofPattern(String, RoozhLocale) for pattern letters
+     * @since 4.2
+     */
+    public static RoozhPrinter ofPattern(String pattern, RoozhLocale locale, RoozhDigits digits) {
+        if (pattern == null || locale == null || digits == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        ConcurrentHashMap<String, RoozhPrinter> cache = PATTERN_CACHE.get(locale).get(digits);
+        RoozhPrinter printer = cache.get(pattern);
+        if (printer != null) {
+            return printer;
+        }
+
+        printer = new RoozhFormatter().appendPattern(pattern).setDigits(digits)
+                .compile(locale, RoozhZone.forLocale(locale));
+        if (cache.size() >= PATTERN_CACHE_SIZE) {
+            // evict an arbitrary entry, patterns usually come from a handful of settings
+            Iterator<String> iterator = cache.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        RoozhPrinter existing = cache.putIfAbsent(pattern, printer);
+        return existing != null ? existing : printer;
+    }
+
+    private static EnumMap<RoozhLocale, EnumMap<RoozhDigits, ConcurrentHashMap<String, RoozhPrinter>>> createPatternCache() {
+        EnumMap<RoozhLocale, EnumMap<RoozhDigits, ConcurrentHashMap<String, RoozhPrinter>>> cache = new EnumMap<>(RoozhLocale.class);
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            EnumMap<RoozhDigits, ConcurrentHashMap<String, RoozhPrinter>> byDigits = new EnumMap<>(RoozhDigits.class);
+            for (RoozhDigits digits : RoozhDigits.values()) {
+                byDigits.put(digits, new ConcurrentHashMap<String, RoozhPrinter>());
+            }
+            cache.put(locale, byDigits);
+        }
+        return cache;
+    }
+
+    /**
+     * Append elements of pattern
+     *
+     * @param pattern pattern
+     * @return this
+     * @throws IllegalArgumentException if pattern is not valid
+     * @see #ofPattern(String, RoozhLocale) for pattern letters
+     * @since 4.2
+     */
+    public RoozhFormatter appendPattern(String pattern) {
+        if (pattern == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+
+        int length = pattern.length();
+        for (int i = 0; i < length; ) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                i = appendQuoted(pattern, i + 1);
+                continue;
+            }
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                appendCharacter(c);
+                i++;
+                continue;
+            }
+
+            int count = 1;
+            while (i + count < length && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            appendLetter(c, count);
+            i += count;
+        }
+        return this;
+    }
+
+    /**
+     * @return index after closing quote
+     */
+    private int appendQuoted(String pattern, int i) {
+        if (i < pattern.length() && pattern.charAt(i) == '\'') {
+            appendCharacter('\'');
+            return i + 1;
+        }
+
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            if (i >= pattern.length()) {
+                throw new IllegalArgumentException("Pattern ends within quoted text: " + pattern);
+            }
+            char c = pattern.charAt(i++);
+            if (c == '\'') {
+                if (i < pattern.length() && pattern.charAt(i) == '\'') {
+                    text.append('\'');
+                    i++;
+                    continue;
+                }
+                break;
+            }
+            text.append(c);
+        }
+        if (text.length() > 0) {
+            appendText(text.toString());
+        }
+        return i;
+    }
+
+    private void appendLetter(char letter, int count) {
+        switch (letter) {
+            case 'y':
+                appendYear(count == 2);
+                break;
+            case 'M':
+                if (count == 1) {
+                    appendMonth();
+                } else if (count == 2) {
+                    appendMonthLeadingZero();
+                } else {
+                    appendMonthName();
+                }
+                break;
+            case 'd':
+                appendDayOfMonth(count > 1);
+                break;
+            case 'E':
+                appendDayOfWeekText();
+                break;
+            case 'u':
+                if (count == 1) {
+                    appendDayOfWeek();
+                } else {
+                    appendDayOfWeekLeadingZero();
+                }
+                break;
+            case 'H':
+                appendHourOfDay(count > 1);
+                break;
+            case 'h':
+                appendHour(count > 1);
+                break;
+            case 'm':
+                appendMinute(count > 1);
+                break;
+            case 's':
+                appendSecond(count > 1);
+                break;
+            case 'S':
+                appendMillisecond();
+                break;
+            case 'a':
+                appendAmPm();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pattern letter: " + letter);
+        }
+    }
+
+    private static int compileComponent(AbstractComponent component) {
+        int length = component.getMinimumLength();
+        if (component instanceof Year) {
+            return length == 2 ? RoozhPrinter.YEAR_SHORT : RoozhPrinter.YEAR;
+        } else if (component instanceof Month) {
+            return length == 1 ? RoozhPrinter.MONTH : length == 2 ? RoozhPrinter.MONTH_2 : RoozhPrinter.MONTH_NAME;
+        } else if (component instanceof DayOfMonth) {
+            return length == 1 ? RoozhPrinter.DAY_OF_MONTH : RoozhPrinter.DAY_OF_MONTH_2;
+        } else if (component instanceof DayOfWeek) {
+            return length == 1 ? RoozhPrinter.DAY_OF_WEEK : length == 2 ? RoozhPrinter.DAY_OF_WEEK_2 : RoozhPrinter.DAY_OF_WEEK_TEXT;
+        } else if (component instanceof Hour) {
+            if (((Hour) component).getClock() == Hour.Clock.CLOCK_12) {
+                return length == 1 ? RoozhPrinter.HOUR : RoozhPrinter.HOUR_2;
+            }
+            return length == 1 ? RoozhPrinter.HOUR_OF_DAY : RoozhPrinter.HOUR_OF_DAY_2;
+        } else if (component instanceof Minute) {
+            return length == 1 ? RoozhPrinter.MINUTE : RoozhPrinter.MINUTE_2;
+        } else if (component instanceof Second) {
+            return length == 1 ? RoozhPrinter.SECOND : RoozhPrinter.SECOND_2;
+        } else if (component instanceof Millisecond) {
+            return RoozhPrinter.MILLISECOND;
+        } else if (component instanceof AmPm) {
+            return RoozhPrinter.AM_PM;
+        }
+        throw new AssertionError(component);
+    }
+
     /**
      * Build with provided Roozh
      *
@@ -354,7 +681,12 @@ public class RoozhFormatter {
 
         for (Object element : elements) {
             if (element instanceof AbstractComponent) {
-                stringBuilder.append(((AbstractComponent) element).process(roozh));
+                Object value = ((AbstractComponent) element).process(roozh);
+                if (digits == RoozhDigits.LATIN) {
+                    stringBuilder.append(value);
+                } else {
+                    FormatUtils.appendShaped(stringBuilder, value.toString(), digits);
+                }
             } else {
                 stringBuilder.append(element);
             }
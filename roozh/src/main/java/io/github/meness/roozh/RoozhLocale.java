@@ -16,9 +16,76 @@
 
 package io.github.meness.roozh;
 
+import java.util.Calendar;
+
 /**
+ * Supported locales. Constants are stateless and can be shared between threads.
+ *
  * @since 3.0
  */
 public enum RoozhLocale {
-    PERSIAN, KURDISH, PASHTO, DARI, ENGLISH
+    PERSIAN, KURDISH, PASHTO, DARI, ENGLISH;
+
+    /**
+     * get native digits of locale
+     *
+     * @return digit set
+     * @since 4.2
+     */
+    public RoozhDigits getDigits() {
+        switch (this) {
+            default:
+            case PERSIAN:
+            case PASHTO:
+            case DARI:
+                return RoozhDigits.PERSIAN;
+            case KURDISH:
+                return RoozhDigits.ARABIC_INDIC;
+            case ENGLISH:
+                return RoozhDigits.LATIN;
+        }
+    }
+
+    /**
+     * get month name
+     *
+     * @param month month number, 1 to 12
+     * @return month name
+     * @since 4.2
+     */
+    public String getMonthName(int month) {
+        return RoozhLocaleData.of(this).getMonthName(month);
+    }
+
+    /**
+     * get day of week name
+     *
+     * @param dow day of week as {@link Calendar#DAY_OF_WEEK}
+     * @return day of week name
+     * @since 4.2
+     */
+    public String getDayOfWeekText(int dow) {
+        return RoozhLocaleData.of(this).getDayOfWeekText(dow);
+    }
+
+    /**
+     * get AM/PM text
+     *
+     * @param amPm {@link Calendar#AM} or {@link Calendar#PM}
+     * @return AM/PM text
+     * @since 4.2
+     */
+    public String getAmPmText(int amPm) {
+        return RoozhLocaleData.of(this).getAmPmText(amPm);
+    }
+
+    /**
+     * get shared text tables of locale
+     *
+     * @return locale data
+     * @since 4.2
+     */
+    public RoozhLocaleData getData() {
+        return RoozhLocaleData.of(this);
+    }
 }
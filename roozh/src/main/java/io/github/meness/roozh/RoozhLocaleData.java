@@ -0,0 +1,353 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.github.meness.roozh.locales.DariLocale;
+import io.github.meness.roozh.locales.EnglishLocale;
+import io.github.meness.roozh.locales.KurdishLocale;
+import io.github.meness.roozh.locales.PashtoLocale;
+import io.github.meness.roozh.locales.PersianLocale;
+
+/**
+ * Registry of locale texts. Each locale has one immutable, shared instance holding its
+ * names in arrays, so a lookup is an array index. UTF-8 forms are encoded once for
+ * byte output.
+ * <p>
+ * Besides {@link RoozhLocale} constants, extension locales are read from every
+ * <code>roozh-locales.properties</code> resource on the class path, encoded in UTF-8:
+ * <pre>
+ * balochi.months=12 comma separated names, Farvardin first
+ * balochi.days=7 comma separated names, Saturday first
+ * balochi.am=AM text
+ * balochi.pm=PM text
+ * balochi.digits=PERSIAN
+ * </pre>
+ *
+ * @since 4.2
+ */
+public final class RoozhLocaleData {
+    /**
+     * Name of extension resources
+     */
+    public static final String RESOURCE = "roozh-locales.properties";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final RoozhLocaleData[] BUILT_IN = new RoozhLocaleData[RoozhLocale.values().length];
+
+    static {
+        String[] months = new String[12];
+        String[] days = new String[7];
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            String am;
+            String pm;
+            for (int i = 0; i < 12; i++) {
+                months[i] = builtInMonth(locale, i + 1);
+            }
+            for (int i = 0; i < 7; i++) {
+                // Saturday is 7 in Calendar numbering
+                days[i] = builtInDay(locale, i == 0 ? Calendar.SATURDAY : i);
+            }
+            switch (locale) {
+                default:
+                case PERSIAN:
+                    am = PersianLocale.AM;
+                    pm = PersianLocale.PM;
+                    break;
+                case KURDISH:
+                    am = KurdishLocale.AM;
+                    pm = KurdishLocale.PM;
+                    break;
+                case PASHTO:
+                    am = PashtoLocale.AM;
+                    pm = PashtoLocale.PM;
+                    break;
+                case DARI:
+                    am = DariLocale.AM;
+                    pm = DariLocale.PM;
+                    break;
+                case ENGLISH:
+                    am = EnglishLocale.AM;
+                    pm = EnglishLocale.PM;
+                    break;
+            }
+            BUILT_IN[locale.ordinal()] = new RoozhLocaleData(locale.name().toLowerCase(Locale.ROOT), locale, months, days, am, pm,
+                    locale.getDigits());
+        }
+    }
+
+    private final String id;
+    private final RoozhLocale locale;
+    private final RoozhDigits digits;
+    private final String[] months;
+    // Saturday first, indexed by Calendar day of week modulo 7
+    private final String[] daysOfWeek;
+    private final String[] amPm;
+    private final byte[][] utf8Months;
+    private final byte[][] utf8DaysOfWeek;
+    private final byte[][] utf8AmPm;
+
+    private RoozhLocaleData(String id, RoozhLocale locale, String[] months, String[] daysOfWeek, String am, String pm,
+                            RoozhDigits digits) {
+        this.id = id;
+        this.locale = locale;
+        this.digits = digits;
+        this.months = months.clone();
+        this.daysOfWeek = daysOfWeek.clone();
+        this.amPm = new String[2];
+        amPm[Calendar.AM] = am;
+        amPm[Calendar.PM] = pm;
+        utf8Months = encode(this.months);
+        utf8DaysOfWeek = encode(this.daysOfWeek);
+        utf8AmPm = encode(amPm);
+    }
+
+    private static String builtInMonth(RoozhLocale locale, int month) {
+        switch (locale) {
+            default:
+            case PERSIAN:
+                return PersianLocale.Month.getS(month);
+            case KURDISH:
+                return KurdishLocale.Month.getS(month);
+            case PASHTO:
+                return PashtoLocale.Month.getS(month);
+            case DARI:
+                return DariLocale.Month.getS(month);
+            case ENGLISH:
+                return EnglishLocale.Month.getS(month);
+        }
+    }
+
+    private static String builtInDay(RoozhLocale locale, int dow) {
+        switch (locale) {
+            default:
+            case PERSIAN:
+                return PersianLocale.DayOfWeek.getS(dow);
+            case KURDISH:
+                return KurdishLocale.DayOfWeek.getS(dow);
+            case PASHTO:
+                return PashtoLocale.DayOfWeek.getS(dow);
+            case DARI:
+                return DariLocale.DayOfWeek.getS(dow);
+            case ENGLISH:
+                return EnglishLocale.DayOfWeek.getS(dow);
+        }
+    }
+
+    private static byte[][] encode(String[] texts) {
+        byte[][] result = new byte[texts.length][];
+        for (int i = 0; i < texts.length; i++) {
+            result[i] = encode(texts[i]);
+        }
+        return result;
+    }
+
+    static byte[] encode(String text) {
+        return text.getBytes(UTF_8);
+    }
+
+    /**
+     * @param locale built-in locale
+     * @return shared data of locale
+     */
+    public static RoozhLocaleData of(RoozhLocale locale) {
+        return BUILT_IN[locale.ordinal()];
+    }
+
+    /**
+     * Get built-in or extension locale by id, e.g. <code>persian</code>
+     *
+     * @param id locale id, lower case name of a {@link RoozhLocale} or an extension key
+     * @return shared data of locale
+     * @throws IllegalArgumentException if no locale has id
+     */
+    public static RoozhLocaleData forId(String id) {
+        if (id == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        for (RoozhLocaleData data : BUILT_IN) {
+            if (data.id.equals(id)) {
+                return data;
+            }
+        }
+        RoozhLocaleData data = ExtensionHolder.EXTENSIONS.get(id);
+        if (data == null) {
+            throw new IllegalArgumentException("Unknown locale: " + id);
+        }
+        return data;
+    }
+
+    /**
+     * @return ids of built-in and extension locales
+     */
+    public static Set<String> getAvailableIds() {
+        Set<String> ids = new TreeSet<>(ExtensionHolder.EXTENSIONS.keySet());
+        for (RoozhLocaleData data : BUILT_IN) {
+            ids.add(data.id);
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Read locales from properties in the format of {@link #RESOURCE}
+     *
+     * @param properties locale entries
+     * @return locales by id
+     * @throws IllegalArgumentException if an entry is missing or malformed
+     */
+    public static Map<String, RoozhLocaleData> parse(Properties properties) {
+        Map<String, RoozhLocaleData> result = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.endsWith(".months")) {
+                continue;
+            }
+            String id = key.substring(0, key.length() - ".months".length());
+            String[] months = split(properties, id + ".months", 12);
+            String[] days = split(properties, id + ".days", 7);
+            String digits = properties.getProperty(id + ".digits", RoozhDigits.LATIN.name()).trim();
+            result.put(id, new RoozhLocaleData(id, null, months, days, require(properties, id + ".am"),
+                    require(properties, id + ".pm"), RoozhDigits.valueOf(digits)));
+        }
+        return result;
+    }
+
+    private static String require(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing locale entry: " + key);
+        }
+        return value.trim();
+    }
+
+    private static String[] split(Properties properties, String key, int count) {
+        String[] values = require(properties, key).split(",");
+        if (values.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " names in " + key + ": " + values.length);
+        }
+        for (int i = 0; i < count; i++) {
+            values[i] = values[i].trim();
+        }
+        return values;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return built-in locale or <code>null</code> for extension locales
+     */
+    public RoozhLocale getLocale() {
+        return locale;
+    }
+
+    /**
+     * @return native digits of locale
+     */
+    public RoozhDigits getDigits() {
+        return digits;
+    }
+
+    /**
+     * @param month month number, 1 to 12
+     * @return month name
+     */
+    public String getMonthName(int month) {
+        return months[month - 1];
+    }
+
+    /**
+     * @param dow day of week as {@link Calendar#DAY_OF_WEEK}
+     * @return day of week name
+     */
+    public String getDayOfWeekText(int dow) {
+        return daysOfWeek[dow % 7];
+    }
+
+    /**
+     * @param amPm {@link Calendar#AM} or {@link Calendar#PM}
+     * @return AM/PM text
+     */
+    public String getAmPmText(int amPm) {
+        return this.amPm[amPm];
+    }
+
+    /**
+     * @return shared UTF-8 bytes of month name, must not be modified
+     */
+    byte[] getUtf8MonthName(int month) {
+        return utf8Months[month - 1];
+    }
+
+    /**
+     * @return shared UTF-8 bytes of day of week name, must not be modified
+     */
+    byte[] getUtf8DayOfWeekText(int dow) {
+        return utf8DaysOfWeek[dow % 7];
+    }
+
+    /**
+     * @return shared UTF-8 bytes of AM/PM text, must not be modified
+     */
+    byte[] getUtf8AmPmText(int amPm) {
+        return utf8AmPm[amPm];
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    private static class ExtensionHolder {
+        static final Map<String, RoozhLocaleData> EXTENSIONS = load();
+
+        private static Map<String, RoozhLocaleData> load() {
+            Map<String, RoozhLocaleData> extensions = new HashMap<>();
+            ClassLoader loader = RoozhLocaleData.class.getClassLoader();
+            try {
+                Enumeration<URL> resources = loader == null ? ClassLoader.getSystemResources(RESOURCE)
+                        : loader.getResources(RESOURCE);
+                while (resources.hasMoreElements()) {
+                    Properties properties = new Properties();
+                    try (InputStream in = resources.nextElement().openStream()) {
+                        properties.load(new InputStreamReader(in, UTF_8));
+                    }
+                    extensions.putAll(parse(properties));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read " + RESOURCE, e);
+            }
+            for (RoozhLocaleData data : BUILT_IN) {
+                extensions.remove(data.id);
+            }
+            return Collections.unmodifiableMap(extensions);
+        }
+    }
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.util.TimeZone;
+
+/**
+ * Allocation free parser of Jalali dates such as <code>1403/07/25</code>,
+ * <code>1403-7-25 13:05</code> in Persian digits or <code>25 Mehr 1403</code>.
+ * <p>
+ * Accepted input is a date, optionally followed by <code>HH:mm[:ss[.SSS]]</code> after a
+ * space or <code>T</code>. The date is either year first (<code>yyyy/M/d</code>) or day first
+ * (<code>d/M/yyyy</code>), decided by the number of digits of the first number. Fields are
+ * separated by <code>/</code>, <code>-</code>, <code>.</code> or spaces. Digits may be Latin,
+ * Persian or Arabic-Indic and the month may be given by its name in any {@link RoozhLocale}.
+ * <p>
+ * Methods never throw for bad input. Instead a result for which {@link #isError(long)} is
+ * <code>true</code> is returned and {@link #getStatus(long)} tells why.
+ *
+ * @since 4.2
+ */
+public final class RoozhParser {
+    public static final int OK = 0;
+    /**
+     * Input is empty or blank
+     */
+    public static final int EMPTY = 1;
+    /**
+     * Unexpected character or missing field
+     */
+    public static final int SYNTAX = 2;
+    /**
+     * Fields are well formed but do not make a supported date or time
+     */
+    public static final int RANGE = 3;
+    private static final long ERROR = Long.MIN_VALUE;
+    private static final long DATE_ONLY = -1;
+    private static final int MILLIS_PER_DAY = JalaliDateTime.MILLIS_PER_DAY;
+    private static final char ZWNJ = '\u200c';
+    private static final int[] TIME_LIMITS = {23, 59, 59, 999};
+    private static final int[] TIME_MULTIPLIERS = {3600000, 60000, 1000, 1};
+    /**
+     * normalized month names of all locales, index % 12 is month - 1
+     */
+    private static final char[][] MONTH_NAMES = monthNames();
+
+    private RoozhParser() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    /**
+     * @param result result of a parse method
+     * @return <code>true</code> if result is an error status instead of a value
+     */
+    public static boolean isError(long result) {
+        return result <= ERROR + RANGE;
+    }
+
+    /**
+     * @param result result of a parse method
+     * @return {@link #OK}, {@link #EMPTY}, {@link #SYNTAX} or {@link #RANGE}
+     */
+    public static int getStatus(long result) {
+        return isError(result) ? (int) (result - ERROR) : OK;
+    }
+
+    /**
+     * Parse date, time part is validated but ignored
+     *
+     * @param text text
+     * @return days since 1970-01-01 or error status
+     */
+    public static long parseEpochDay(CharSequence text) {
+        return toEpochDay(parse(text, null, null, 0, text.length()));
+    }
+
+    public static long parseEpochDay(CharSequence text, int start, int end) {
+        return toEpochDay(parse(text, null, null, start, end));
+    }
+
+    public static long parseEpochDay(char[] text, int start, int end) {
+        return toEpochDay(parse(null, text, null, start, end));
+    }
+
+    /**
+     * @param utf8  UTF-8 encoded text
+     * @param start first byte
+     * @param end   index after last byte
+     * @return days since 1970-01-01 or error status
+     */
+    public static long parseEpochDay(byte[] utf8, int start, int end) {
+        return toEpochDay(parse(null, null, utf8, start, end));
+    }
+
+    /**
+     * Parse date and optional time without time zone
+     *
+     * @param text text
+     * @return local milliseconds since 1970-01-01T00:00 or error status
+     */
+    public static long parseLocalMillis(CharSequence text) {
+        return toLocalMillis(parse(text, null, null, 0, text.length()));
+    }
+
+    public static long parseLocalMillis(CharSequence text, int start, int end) {
+        return toLocalMillis(parse(text, null, null, start, end));
+    }
+
+    public static long parseLocalMillis(char[] text, int start, int end) {
+        return toLocalMillis(parse(null, text, null, start, end));
+    }
+
+    public static long parseLocalMillis(byte[] utf8, int start, int end) {
+        return toLocalMillis(parse(null, null, utf8, start, end));
+    }
+
+    /**
+     * Parse date and optional time in time zone
+     *
+     * @param text text
+     * @param zone time zone of text
+     * @return milliseconds since 1970-01-01T00:00:00Z or error status
+     */
+    public static long parseEpochMillis(CharSequence text, TimeZone zone) {
+        return toEpochMillis(parse(text, null, null, 0, text.length()), zone);
+    }
+
+    public static long parseEpochMillis(CharSequence text, int start, int end, TimeZone zone) {
+        return toEpochMillis(parse(text, null, null, start, end), zone);
+    }
+
+    public static long parseEpochMillis(char[] text, int start, int end, TimeZone zone) {
+        return toEpochMillis(parse(null, text, null, start, end), zone);
+    }
+
+    public static long parseEpochMillis(byte[] utf8, int start, int end, TimeZone zone) {
+        return toEpochMillis(parse(null, null, utf8, start, end), zone);
+    }
+
+    /**
+     * Parse date and optional time in compiled time zone
+     *
+     * @param text text
+     * @param zone time zone of text
+     * @return milliseconds since 1970-01-01T00:00:00Z or error status
+     * @see RoozhZone#toEpochMillis(long)
+     */
+    public static long parseEpochMillis(CharSequence text, RoozhZone zone) {
+        return toEpochMillis(parse(text, null, null, 0, text.length()), zone);
+    }
+
+    public static long parseEpochMillis(CharSequence text, int start, int end, RoozhZone zone) {
+        return toEpochMillis(parse(text, null, null, start, end), zone);
+    }
+
+    public static long parseEpochMillis(char[] text, int start, int end, RoozhZone zone) {
+        return toEpochMillis(parse(null, text, null, start, end), zone);
+    }
+
+    public static long parseEpochMillis(byte[] utf8, int start, int end, RoozhZone zone) {
+        return toEpochMillis(parse(null, null, utf8, start, end), zone);
+    }
+
+    private static long toEpochDay(long local) {
+        return isError(local) ? local : Jalali.floorDiv(local, MILLIS_PER_DAY);
+    }
+
+    private static long toLocalMillis(long local) {
+        return local;
+    }
+
+    private static long toEpochMillis(long local, TimeZone zone) {
+        if (isError(local)) {
+            return local;
+        }
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            return compiled.toEpochMillis(local);
+        }
+        return local - zone.getOffset(local - zone.getRawOffset());
+    }
+
+    private static long toEpochMillis(long local, RoozhZone zone) {
+        return isError(local) ? local : zone.toEpochMillis(local);
+    }
+
+    /**
+     * @return local epoch millis or error status
+     */
+    private static long parse(CharSequence cs, char[] ca, byte[] ba, int start, int end) {
+        int i = skipSpaces(cs, ca, ba, start, end);
+        if (i >= end) {
+            return ERROR + EMPTY;
+        }
+
+        // first number, its length decides the order of fields
+        long token = readNumber(cs, ca, ba, i, end);
+        if (token < 0) {
+            return ERROR + SYNTAX;
+        }
+        int first = (int) token;
+        boolean yearFirst = digitCount(token) > 2;
+        i = nextIndex(token);
+
+        i = skipSeparators(cs, ca, ba, i, end);
+        token = readNumber(cs, ca, ba, i, end);
+        if (token < 0) {
+            token = readMonthName(cs, ca, ba, i, end);
+            if (token < 0) {
+                return ERROR + SYNTAX;
+            }
+        }
+        int month = (int) token;
+        i = nextIndex(token);
+
+        i = skipSeparators(cs, ca, ba, i, end);
+        token = readNumber(cs, ca, ba, i, end);
+        if (token < 0) {
+            return ERROR + SYNTAX;
+        }
+        int third = (int) token;
+        i = nextIndex(token);
+
+        int year = yearFirst ? first : third;
+        int day = yearFirst ? third : first;
+        if (year < Jalali.MIN_YEAR || year > Jalali.MAX_YEAR || month < 1 || month > 12 || day < 1
+                || day > (month <= 6 ? 31 : month <= 11 || LeapYears.isLeap(year) ? 30 : 29)) {
+            return ERROR + RANGE;
+        }
+        long local = (long) YearTable.toEpochDay(year, month, day) * MILLIS_PER_DAY;
+
+        long time = parseTime(cs, ca, ba, i, end);
+        if (isError(time)) {
+            return time;
+        }
+        return time == DATE_ONLY ? local : local + time;
+    }
+
+    /**
+     * @return millis of day, {@link #DATE_ONLY} or error status
+     */
+    private static long parseTime(CharSequence cs, char[] ca, byte[] ba, int i, int end) {
+        int next = skipSpaces(cs, ca, ba, i, end);
+        if (next >= end) {
+            return DATE_ONLY;
+        }
+        if (next == i) {
+            if ((char) read(cs, ca, ba, i, end) != 'T') {
+                return ERROR + SYNTAX;
+            }
+            next = i + (read(cs, ca, ba, i, end) >>> 16);
+        }
+        i = next;
+
+        long millis = 0;
+        for (int field = 0; field < TIME_LIMITS.length; field++) {
+            long token = readNumber(cs, ca, ba, i, end);
+            if (token < 0) {
+                return ERROR + SYNTAX;
+            }
+            int value = (int) token;
+            if (field == TIME_LIMITS.length - 1) {
+                // fraction of second, .5 is 500 milliseconds
+                for (int count = digitCount(token); count != 3; count += count < 3 ? 1 : -1) {
+                    value = count < 3 ? value * 10 : value / 10;
+                }
+            }
+            if (value > TIME_LIMITS[field]) {
+                return ERROR + RANGE;
+            }
+            millis += value * TIME_MULTIPLIERS[field];
+            i = nextIndex(token);
+            if (field == TIME_LIMITS.length - 1) {
+                break;
+            }
+            int c = i < end ? read(cs, ca, ba, i, end) : -1;
+            char expected = field < 2 ? ':' : '.';
+            if (c < 0 || (char) c != expected) {
+                // minutes are required
+                if (field == 0) {
+                    return ERROR + SYNTAX;
+                }
+                break;
+            }
+            i += c >>> 16;
+        }
+        if (skipSpaces(cs, ca, ba, i, end) < end) {
+            return ERROR + SYNTAX;
+        }
+        return millis;
+    }
+
+    /**
+     * Read char at index, a UTF-8 sequence cut by end is malformed
+     *
+     * @return char in low 16 bits, its length in source in high bits
+     */
+    private static int read(CharSequence cs, char[] ca, byte[] ba, int i, int end) {
+        if (ca != null) {
+            return 1 << 16 | ca[i];
+        }
+        if (cs != null) {
+            return 1 << 16 | cs.charAt(i);
+        }
+        int b = ba[i] & 0xFF;
+        if (b < 0x80) {
+            return 1 << 16 | b;
+        }
+        if ((b & 0xE0) == 0xC0 && i + 1 < end) {
+            return 2 << 16 | (b & 0x1F) << 6 | (ba[i + 1] & 0x3F);
+        }
+        if ((b & 0xF0) == 0xE0 && i + 2 < end) {
+            return 3 << 16 | (b & 0x0F) << 12 | (ba[i + 1] & 0x3F) << 6 | (ba[i + 2] & 0x3F);
+        }
+        return 1 << 16 | 0xFFFD;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= '\u06f0' && c <= '\u06f9') {
+            return c - '\u06f0';
+        }
+        if (c >= '\u0660' && c <= '\u0669') {
+            return c - '\u0660';
+        }
+        return -1;
+    }
+
+    /**
+     * Read up to 9 digits
+     *
+     * @return value in low 32 bits, digit count in bits 32 to 39, next index in bits 40 and
+     * above, or -1 if there is no digit
+     */
+    private static long readNumber(CharSequence cs, char[] ca, byte[] ba, int i, int end) {
+        int value = 0;
+        int count = 0;
+        while (i < end) {
+            int c = read(cs, ca, ba, i, end);
+            int d = digit((char) c);
+            if (d < 0) {
+                break;
+            }
+            if (++count > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+            i += c >>> 16;
+        }
+        return count == 0 ? -1 : (long) i << 40 | (long) count << 32 | value;
+    }
+
+    /**
+     * Read longest month name of any locale
+     *
+     * @return same format as {@link #readNumber}
+     */
+    private static long readMonthName(CharSequence cs, char[] ca, byte[] ba, int start, int end) {
+        int best = -1;
+        int bestEnd = start;
+        for (int n = 0; n < MONTH_NAMES.length; n++) {
+            char[] name = MONTH_NAMES[n];
+            int i = start;
+            int k = 0;
+            while (k < name.length && i < end) {
+                int c = read(cs, ca, ba, i, end);
+                char ch = normalize((char) c);
+                i += c >>> 16;
+                if (ch == ZWNJ) {
+                    continue;
+                }
+                if (ch != name[k]) {
+                    break;
+                }
+                k++;
+            }
+            if (k == name.length && i > bestEnd && (i >= end || !isLetter((char) read(cs, ca, ba, i, end)))) {
+                best = n % 12 + 1;
+                bestEnd = i;
+            }
+        }
+        return best < 0 ? -1 : (long) bestEnd << 40 | best;
+    }
+
+    private static int nextIndex(long token) {
+        return (int) (token >>> 40);
+    }
+
+    private static int digitCount(long token) {
+        return (int) (token >>> 32) & 0xFF;
+    }
+
+    private static int skipSpaces(CharSequence cs, char[] ca, byte[] ba, int i, int end) {
+        while (i < end) {
+            int c = read(cs, ca, ba, i, end);
+            if (!isSpace((char) c)) {
+                break;
+            }
+            i += c >>> 16;
+        }
+        return i;
+    }
+
+    private static int skipSeparators(CharSequence cs, char[] ca, byte[] ba, int i, int end) {
+        while (i < end) {
+            int c = read(cs, ca, ba, i, end);
+            char ch = (char) c;
+            if (!isSpace(ch) && ch != '/' && ch != '-' && ch != '.' && ch != ',' && ch != '\u060c') {
+                break;
+            }
+            i += c >>> 16;
+        }
+        return i;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\u00a0' || c == ZWNJ;
+    }
+
+    private static boolean isLetter(char c) {
+        return digit(c) < 0 && Character.isLetter(c);
+    }
+
+    /**
+     * Fold case of Latin letters and Arabic forms of Persian letters
+     */
+    private static char normalize(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        switch (c) {
+            case '\u064a':
+            case '\u0649':
+                return '\u06cc';
+            case '\u0643':
+                return '\u06a9';
+            default:
+                return c;
+        }
+    }
+
+    private static char[][] monthNames() {
+        RoozhLocale[] locales = RoozhLocale.values();
+        char[][] names = new char[locales.length * 12][];
+        for (int l = 0; l < locales.length; l++) {
+            for (int m = 1; m <= 12; m++) {
+                StringBuilder sb = new StringBuilder();
+                String name = locales[l].getMonthName(m);
+                for (int i = 0; i < name.length(); i++) {
+                    char c = normalize(name.charAt(i));
+                    if (c != ZWNJ) {
+                        sb.append(c);
+                    }
+                }
+                names[l * 12 + m - 1] = sb.toString().toCharArray();
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,736 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Immutable, compiled form of a {@link RoozhFormatter}.
+ * <p>
+ * A printer is thread-safe and can format any number of instants concurrently. Fields are
+ * written straight into the target, no <code>String</code> is created per field. Byte
+ * targets receive UTF-8 from names and digits encoded in advance.
+ *
+ * @see RoozhFormatter#compile()
+ * @since 4.2
+ */
+public final class RoozhPrinter {
+    static final int LITERAL = 0;
+    static final int YEAR = 1;
+    static final int YEAR_SHORT = 2;
+    static final int MONTH = 3;
+    static final int MONTH_2 = 4;
+    static final int MONTH_NAME = 5;
+    static final int DAY_OF_MONTH = 6;
+    static final int DAY_OF_MONTH_2 = 7;
+    static final int DAY_OF_WEEK = 8;
+    static final int DAY_OF_WEEK_2 = 9;
+    static final int DAY_OF_WEEK_TEXT = 10;
+    static final int HOUR = 11;
+    static final int HOUR_2 = 12;
+    static final int HOUR_OF_DAY = 13;
+    static final int HOUR_OF_DAY_2 = 14;
+    static final int MINUTE = 15;
+    static final int MINUTE_2 = 16;
+    static final int SECOND = 17;
+    static final int SECOND_2 = 18;
+    static final int MILLISECOND = 19;
+    static final int AM_PM = 20;
+    private static final int MILLIS_PER_DAY = JalaliDateTime.MILLIS_PER_DAY;
+
+    private final int[] ops;
+    private final String[] literals;
+    private final RoozhLocaleData locale;
+    private final RoozhDigits digits;
+    private final TimeZone zone;
+    // null when offsets come from zone
+    private final RoozhZone compiledZone;
+    private final int maxLength;
+    private final byte[][] utf8Literals;
+    private final int maxUtf8Length;
+
+    /**
+     * @param ops      operations
+     * @param literals text of {@link #LITERAL} operations, <code>null</code> for others
+     * @param locale   locale of texts
+     * @param digits   digits of numbers
+     * @param zone         zone of instants
+     * @param compiledZone compiled form of zone, <code>null</code> to use zone
+     */
+    RoozhPrinter(int[] ops, String[] literals, RoozhLocaleData locale, RoozhDigits digits, TimeZone zone,
+                 RoozhZone compiledZone) {
+        this.ops = ops;
+        this.literals = literals;
+        this.locale = locale;
+        this.digits = digits;
+        this.zone = zone;
+        this.compiledZone = compiledZone;
+        this.maxLength = computeMaxLength();
+        utf8Literals = new byte[literals.length][];
+        for (int i = 0; i < literals.length; i++) {
+            if (literals[i] != null) {
+                utf8Literals[i] = RoozhLocaleData.encode(literals[i]);
+            }
+        }
+        this.maxUtf8Length = computeMaxUtf8Length();
+    }
+
+    /**
+     * @return locale of texts, <code>null</code> for extension locales
+     */
+    public RoozhLocale getLocale() {
+        return locale.getLocale();
+    }
+
+    public RoozhLocaleData getLocaleData() {
+        return locale;
+    }
+
+    public RoozhDigits getDigits() {
+        return digits;
+    }
+
+    public TimeZone getZone() {
+        return (TimeZone) zone.clone();
+    }
+
+    /**
+     * @return compiled zone, <code>null</code> if printer uses a {@link TimeZone}
+     */
+    public RoozhZone getCompiledZone() {
+        return compiledZone;
+    }
+
+    /**
+     * @param locale locale of month and day names
+     * @return printer with provided locale
+     */
+    public RoozhPrinter withLocale(RoozhLocale locale) {
+        return withLocale(RoozhLocaleData.of(locale));
+    }
+
+    /**
+     * @param locale built-in or extension locale of month and day names
+     * @return printer with provided locale
+     */
+    public RoozhPrinter withLocale(RoozhLocaleData locale) {
+        return locale == this.locale ? this : new RoozhPrinter(ops, literals, locale, digits, zone, compiledZone);
+    }
+
+    /**
+     * @param digits digits of numbers
+     * @return printer with provided digits
+     */
+    public RoozhPrinter withDigits(RoozhDigits digits) {
+        return digits == this.digits ? this : new RoozhPrinter(ops, literals, locale, digits, zone, compiledZone);
+    }
+
+    /**
+     * @return printer writing numbers in native digits of its locale
+     * @see RoozhLocale#getDigits()
+     */
+    public RoozhPrinter withNativeDigits() {
+        return withDigits(locale.getDigits());
+    }
+
+    /**
+     * @param zone time zone of printed instants
+     * @return printer with provided zone
+     */
+    public RoozhPrinter withZone(TimeZone zone) {
+        RoozhZone compiled = RoozhZone.forTimeZone(zone);
+        if (compiled != null) {
+            return withZone(compiled);
+        }
+        return new RoozhPrinter(ops, literals, locale, digits, (TimeZone) zone.clone(), null);
+    }
+
+    /**
+     * @param zone compiled time zone of printed instants
+     * @return printer with provided zone
+     */
+    public RoozhPrinter withZone(RoozhZone zone) {
+        return zone == compiledZone ? this : new RoozhPrinter(ops, literals, locale, digits, zone.toTimeZone(), zone);
+    }
+
+    private int getOffset(long epochMillis) {
+        return compiledZone != null ? compiledZone.getOffset(epochMillis) : zone.getOffset(epochMillis);
+    }
+
+    /**
+     * Get length of the longest possible output, useful for sizing <code>char[]</code> targets
+     *
+     * @return maximum number of chars written by one print call
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Get length of the longest possible UTF-8 output, useful for sizing byte targets
+     *
+     * @return maximum number of bytes written by one print
+     */
+    public int getMaxUtf8Length() {
+        return maxUtf8Length;
+    }
+
+    /**
+     * Check if output depends on the millisecond of second. If not, output printed for
+     * one instant can be reused for its whole second.
+     *
+     * @return <code>true</code> if pattern has a millisecond field
+     */
+    public boolean printsMilliseconds() {
+        for (int op : ops) {
+            if (op == MILLISECOND) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Format instant into a new string
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @return formatted string
+     */
+    public String format(long epochMillis) {
+        return print(epochMillis, new StringBuilder(maxLength)).toString();
+    }
+
+    /**
+     * Format date and time into a new string
+     *
+     * @param dateTime date and time
+     * @return formatted string
+     */
+    public String format(JalaliDateTime dateTime) {
+        return print(dateTime, new StringBuilder(maxLength)).toString();
+    }
+
+    /**
+     * Append formatted instant
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param sb          target
+     * @return target
+     */
+    public StringBuilder print(long epochMillis, StringBuilder sb) {
+        long local = epochMillis + getOffset(epochMillis);
+        long epochDay = Jalali.floorDiv(local, MILLIS_PER_DAY);
+        return printLocal(epochDay, (int) (local - epochDay * MILLIS_PER_DAY), sb);
+    }
+
+    /**
+     * Append formatted date and time
+     *
+     * @param dateTime date and time
+     * @param sb       target
+     * @return target
+     */
+    public StringBuilder print(JalaliDateTime dateTime, StringBuilder sb) {
+        return printLocal(Jalali.floorDiv(dateTime.toLocalEpochMillis(), MILLIS_PER_DAY), dateTime.getMillisOfDay(), sb);
+    }
+
+    /**
+     * Append formatted instant
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param out         target
+     * @throws IOException if target fails
+     */
+    public void print(long epochMillis, Appendable out) throws IOException {
+        long local = epochMillis + getOffset(epochMillis);
+        long epochDay = Jalali.floorDiv(local, MILLIS_PER_DAY);
+        printTo(Jalali.toJalali(epochDay), (int) (local - epochDay * MILLIS_PER_DAY), Jalali.getDayOfWeek(epochDay), out);
+    }
+
+    /**
+     * Write formatted instant into char array
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param buf         target with at least {@link #getMaxLength()} chars after offset
+     * @param offset      first index to write
+     * @return index after the last written char
+     */
+    public int print(long epochMillis, char[] buf, int offset) {
+        long local = epochMillis + getOffset(epochMillis);
+        long epochDay = Jalali.floorDiv(local, MILLIS_PER_DAY);
+        return printTo(Jalali.toJalali(epochDay), (int) (local - epochDay * MILLIS_PER_DAY), Jalali.getDayOfWeek(epochDay), buf, offset);
+    }
+
+    /**
+     * Write formatted date and time into char array
+     *
+     * @param dateTime date and time
+     * @param buf      target with at least {@link #getMaxLength()} chars after offset
+     * @param offset   first index to write
+     * @return index after the last written char
+     */
+    public int print(JalaliDateTime dateTime, char[] buf, int offset) {
+        long epochDay = Jalali.floorDiv(dateTime.toLocalEpochMillis(), MILLIS_PER_DAY);
+        return printTo(Jalali.toJalali(epochDay), dateTime.getMillisOfDay(), Jalali.getDayOfWeek(epochDay), buf, offset);
+    }
+
+    /**
+     * Write formatted instant as UTF-8 into byte array
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param buf         target with at least {@link #getMaxUtf8Length()} bytes after offset
+     * @param offset      first index to write
+     * @return index after the last written byte
+     */
+    public int print(long epochMillis, byte[] buf, int offset) {
+        long local = epochMillis + getOffset(epochMillis);
+        long epochDay = Jalali.floorDiv(local, MILLIS_PER_DAY);
+        return printTo(Jalali.toJalali(epochDay), (int) (local - epochDay * MILLIS_PER_DAY), Jalali.getDayOfWeek(epochDay), buf, offset);
+    }
+
+    /**
+     * Write formatted date and time as UTF-8 into byte array
+     *
+     * @param dateTime date and time
+     * @param buf      target with at least {@link #getMaxUtf8Length()} bytes after offset
+     * @param offset   first index to write
+     * @return index after the last written byte
+     */
+    public int print(JalaliDateTime dateTime, byte[] buf, int offset) {
+        long epochDay = Jalali.floorDiv(dateTime.toLocalEpochMillis(), MILLIS_PER_DAY);
+        return printTo(Jalali.toJalali(epochDay), dateTime.getMillisOfDay(), Jalali.getDayOfWeek(epochDay), buf, offset);
+    }
+
+    /**
+     * Write formatted instant as UTF-8 at the position of buffer, advancing it
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param out         target
+     * @throws BufferOverflowException if less than {@link #getMaxUtf8Length()} bytes remain,
+     *                                 nothing is written then
+     */
+    public void print(long epochMillis, ByteBuffer out) {
+        long local = epochMillis + getOffset(epochMillis);
+        long epochDay = Jalali.floorDiv(local, MILLIS_PER_DAY);
+        printTo(Jalali.toJalali(epochDay), (int) (local - epochDay * MILLIS_PER_DAY), Jalali.getDayOfWeek(epochDay), out);
+    }
+
+    /**
+     * Write formatted date and time as UTF-8 at the position of buffer, advancing it
+     *
+     * @param dateTime date and time
+     * @param out      target
+     * @throws BufferOverflowException if less than {@link #getMaxUtf8Length()} bytes remain,
+     *                                 nothing is written then
+     */
+    public void print(JalaliDateTime dateTime, ByteBuffer out) {
+        long epochDay = Jalali.floorDiv(dateTime.toLocalEpochMillis(), MILLIS_PER_DAY);
+        printTo(Jalali.toJalali(epochDay), dateTime.getMillisOfDay(), Jalali.getDayOfWeek(epochDay), out);
+    }
+
+    /**
+     * Append formatted date at midnight
+     *
+     * @param packed packed Jalali date
+     * @param sb     target
+     * @return target
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public StringBuilder printDate(int packed, StringBuilder sb) {
+        return printLocal(Jalali.toEpochDay(packed), 0, sb);
+    }
+
+    /**
+     * Write formatted date at midnight into char array
+     *
+     * @param packed packed Jalali date
+     * @param buf    target with at least {@link #getMaxLength()} chars after offset
+     * @param offset first index to write
+     * @return index after the last written char
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public int printDate(int packed, char[] buf, int offset) {
+        return printTo(packed, 0, Jalali.getDayOfWeek(Jalali.toEpochDay(packed)), buf, offset);
+    }
+
+    /**
+     * Write formatted date at midnight as UTF-8 into byte array
+     *
+     * @param packed packed Jalali date
+     * @param buf    target with at least {@link #getMaxUtf8Length()} bytes after offset
+     * @param offset first index to write
+     * @return index after the last written byte
+     * @throws IllegalArgumentException if date is not valid
+     */
+    public int printDate(int packed, byte[] buf, int offset) {
+        return printTo(packed, 0, Jalali.getDayOfWeek(Jalali.toEpochDay(packed)), buf, offset);
+    }
+
+    /**
+     * Write rows back to back, recording the start of each row
+     *
+     * @param epochMillis instants, <code>null</code> to print packed dates
+     * @param packed      packed Jalali dates printed at midnight, used if instants are <code>null</code>
+     * @param chars       char target, <code>null</code> to write UTF-8 into bytes
+     * @param offsets     receives the first index of each row
+     * @return index after the last written char or byte
+     */
+    int printRows(long[] epochMillis, int[] packed, int lo, int hi, char[] chars, byte[] bytes, int offset,
+                  int[] offsets) {
+        // neighbouring rows usually share the day
+        long lastKey = Long.MIN_VALUE;
+        int date = 0;
+        int dow = 0;
+        for (int i = lo; i < hi; i++) {
+            int millisOfDay = 0;
+            if (epochMillis != null) {
+                long local = epochMillis[i] + getOffset(epochMillis[i]);
+                long epochDay = Jalali.floorDiv(local, MILLIS_PER_DAY);
+                millisOfDay = (int) (local - epochDay * MILLIS_PER_DAY);
+                if (epochDay != lastKey) {
+                    date = Jalali.toJalali(epochDay);
+                    dow = Jalali.getDayOfWeek(epochDay);
+                    lastKey = epochDay;
+                }
+            } else if (packed[i] != lastKey) {
+                date = packed[i];
+                dow = Jalali.getDayOfWeek(Jalali.toEpochDay(date));
+                lastKey = date;
+            }
+            offsets[i] = offset;
+            offset = chars != null ? printTo(date, millisOfDay, dow, chars, offset)
+                    : printTo(date, millisOfDay, dow, bytes, offset);
+        }
+        return offset;
+    }
+
+    private StringBuilder printLocal(long epochDay, int millisOfDay, StringBuilder sb) {
+        try {
+            printTo(Jalali.toJalali(epochDay), millisOfDay, Jalali.getDayOfWeek(epochDay), sb);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new IllegalStateException(e);
+        }
+        return sb;
+    }
+
+    private void printTo(int date, int millisOfDay, int dow, Appendable out) throws IOException {
+        for (int i = 0; i < ops.length; i++) {
+            int op = ops[i];
+            String text = text(i, op, millisOfDay, date, dow);
+            if (text != null) {
+                out.append(text);
+                continue;
+            }
+            int value = value(op, date, millisOfDay, dow);
+            if (value < 0) {
+                out.append('-');
+                value = -value;
+            }
+            int count = digits(value);
+            for (int w = width(op, date); w > count; w--) {
+                out.append(digits.getDigit(0));
+            }
+            for (int divisor = pow10(count - 1); divisor > 0; divisor /= 10) {
+                out.append(digits.getDigit(value / divisor % 10));
+            }
+        }
+    }
+
+    private int printTo(int date, int millisOfDay, int dow, char[] buf, int offset) {
+        for (int i = 0; i < ops.length; i++) {
+            int op = ops[i];
+            String text = text(i, op, millisOfDay, date, dow);
+            if (text != null) {
+                text.getChars(0, text.length(), buf, offset);
+                offset += text.length();
+                continue;
+            }
+            int value = value(op, date, millisOfDay, dow);
+            if (value < 0) {
+                buf[offset++] = '-';
+                value = -value;
+            }
+            int count = digits(value);
+            for (int w = width(op, date); w > count; w--) {
+                buf[offset++] = digits.getDigit(0);
+            }
+            for (int divisor = pow10(count - 1); divisor > 0; divisor /= 10) {
+                buf[offset++] = digits.getDigit(value / divisor % 10);
+            }
+        }
+        return offset;
+    }
+
+    private void printTo(int date, int millisOfDay, int dow, ByteBuffer out) {
+        if (out.remaining() < maxUtf8Length) {
+            throw new BufferOverflowException();
+        }
+        if (out.hasArray()) {
+            int start = out.arrayOffset();
+            out.position(printTo(date, millisOfDay, dow, out.array(), start + out.position()) - start);
+            return;
+        }
+        for (int i = 0; i < ops.length; i++) {
+            int op = ops[i];
+            byte[] text = utf8Text(i, op, millisOfDay, date, dow);
+            if (text != null) {
+                out.put(text);
+                continue;
+            }
+            int value = value(op, date, millisOfDay, dow);
+            if (value < 0) {
+                out.put((byte) '-');
+                value = -value;
+            }
+            int count = digits(value);
+            for (int w = width(op, date); w > count; w--) {
+                out.put(digits.getUtf8Digit(0));
+            }
+            for (int divisor = pow10(count - 1); divisor > 0; divisor /= 10) {
+                out.put(digits.getUtf8Digit(value / divisor % 10));
+            }
+        }
+    }
+
+    private int printTo(int date, int millisOfDay, int dow, byte[] buf, int offset) {
+        for (int i = 0; i < ops.length; i++) {
+            int op = ops[i];
+            byte[] text = utf8Text(i, op, millisOfDay, date, dow);
+            if (text != null) {
+                System.arraycopy(text, 0, buf, offset, text.length);
+                offset += text.length;
+                continue;
+            }
+            int value = value(op, date, millisOfDay, dow);
+            if (value < 0) {
+                buf[offset++] = '-';
+                value = -value;
+            }
+            int count = digits(value);
+            for (int w = width(op, date); w > count; w--) {
+                offset = putDigit(0, buf, offset);
+            }
+            for (int divisor = pow10(count - 1); divisor > 0; divisor /= 10) {
+                offset = putDigit(value / divisor % 10, buf, offset);
+            }
+        }
+        return offset;
+    }
+
+    private int putDigit(int digit, byte[] buf, int offset) {
+        byte[] bytes = digits.getUtf8Digit(digit);
+        for (byte b : bytes) {
+            buf[offset++] = b;
+        }
+        return offset;
+    }
+
+    /**
+     * @return UTF-8 text of operation or <code>null</code> for numeric operations
+     */
+    private byte[] utf8Text(int i, int op, int millisOfDay, int date, int dow) {
+        switch (op) {
+            case LITERAL:
+                return utf8Literals[i];
+            case MONTH_NAME:
+                return locale.getUtf8MonthName(Jalali.getMonth(date));
+            case DAY_OF_WEEK_TEXT:
+                return locale.getUtf8DayOfWeekText(dow);
+            case AM_PM:
+                return locale.getUtf8AmPmText(millisOfDay < MILLIS_PER_DAY / 2 ? Calendar.AM : Calendar.PM);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return text of operation or <code>null</code> for numeric operations
+     */
+    private String text(int i, int op, int millisOfDay, int date, int dow) {
+        switch (op) {
+            case LITERAL:
+                return literals[i];
+            case MONTH_NAME:
+                return locale.getMonthName(Jalali.getMonth(date));
+            case DAY_OF_WEEK_TEXT:
+                return locale.getDayOfWeekText(dow);
+            case AM_PM:
+                return locale.getAmPmText(millisOfDay < MILLIS_PER_DAY / 2 ? Calendar.AM : Calendar.PM);
+            default:
+                return null;
+        }
+    }
+
+    private static int value(int op, int date, int millisOfDay, int dow) {
+        switch (op) {
+            case YEAR:
+                return Jalali.getYear(date);
+            case YEAR_SHORT:
+                int year = Jalali.getYear(date);
+                // drop the first two digits of the year, as Year component does
+                return year < 100 ? year : year % pow10(digits(year) - 2);
+            case MONTH:
+            case MONTH_2:
+                return Jalali.getMonth(date);
+            case DAY_OF_MONTH:
+            case DAY_OF_MONTH_2:
+                return Jalali.getDayOfMonth(date);
+            case DAY_OF_WEEK:
+            case DAY_OF_WEEK_2:
+                return dow;
+            case HOUR:
+            case HOUR_2:
+                return millisOfDay / 3600000 % 12;
+            case HOUR_OF_DAY:
+            case HOUR_OF_DAY_2:
+                return millisOfDay / 3600000;
+            case MINUTE:
+            case MINUTE_2:
+                return millisOfDay / 60000 % 60;
+            case SECOND:
+            case SECOND_2:
+                return millisOfDay / 1000 % 60;
+            case MILLISECOND:
+                return millisOfDay % 1000;
+            default:
+                throw new IllegalStateException("Unknown operation: " + op);
+        }
+    }
+
+    /**
+     * @return minimum number of digits
+     */
+    private static int width(int op, int date) {
+        switch (op) {
+            case YEAR_SHORT:
+                int year = Jalali.getYear(date);
+                return year < 100 ? 1 : digits(year) - 2;
+            case MONTH_2:
+            case DAY_OF_MONTH_2:
+            case DAY_OF_WEEK_2:
+            case HOUR_2:
+            case HOUR_OF_DAY_2:
+            case MINUTE_2:
+            case SECOND_2:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        while (exponent-- > 0) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private int computeMaxLength() {
+        int length = 0;
+        for (int i = 0; i < ops.length; i++) {
+            switch (ops[i]) {
+                case LITERAL:
+                    length += literals[i].length();
+                    break;
+                case YEAR:
+                case YEAR_SHORT:
+                    length += 4;
+                    break;
+                case MONTH_NAME:
+                    length += maxLength(12, 1, true);
+                    break;
+                case DAY_OF_WEEK_TEXT:
+                    length += maxLength(7, 1, false);
+                    break;
+                case AM_PM:
+                    length += Math.max(locale.getAmPmText(Calendar.AM).length(), locale.getAmPmText(Calendar.PM).length());
+                    break;
+                case MILLISECOND:
+                    length += 3;
+                    break;
+                default:
+                    length += 2;
+                    break;
+            }
+        }
+        return length;
+    }
+
+    private int computeMaxUtf8Length() {
+        int digitLength = digits.getUtf8Digit(0).length;
+        int length = 0;
+        for (int i = 0; i < ops.length; i++) {
+            switch (ops[i]) {
+                case LITERAL:
+                    length += utf8Literals[i].length;
+                    break;
+                case YEAR:
+                case YEAR_SHORT:
+                    length += 4 * digitLength;
+                    break;
+                case MONTH_NAME:
+                    int month = 0;
+                    for (int m = 1; m <= 12; m++) {
+                        month = Math.max(month, locale.getUtf8MonthName(m).length);
+                    }
+                    length += month;
+                    break;
+                case DAY_OF_WEEK_TEXT:
+                    int dow = 0;
+                    for (int d = 1; d <= 7; d++) {
+                        dow = Math.max(dow, locale.getUtf8DayOfWeekText(d).length);
+                    }
+                    length += dow;
+                    break;
+                case AM_PM:
+                    length += Math.max(locale.getUtf8AmPmText(Calendar.AM).length,
+                            locale.getUtf8AmPmText(Calendar.PM).length);
+                    break;
+                case MILLISECOND:
+                    length += 3 * digitLength;
+                    break;
+                default:
+                    length += 2 * digitLength;
+                    break;
+            }
+        }
+        return length;
+    }
+
+    private int maxLength(int count, int first, boolean months) {
+        int max = 0;
+        for (int i = first; i < first + count; i++) {
+            max = Math.max(max, (months ? locale.getMonthName(i) : locale.getDayOfWeekText(i)).length());
+        }
+        return max;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.util.TimeZone;
+
+/**
+ * Time zone compiled into a table of offset transitions. Looking up an offset is a
+ * binary search over the table, without {@link TimeZone} or {@link java.util.Calendar}
+ * objects and without locking inside the JDK zone cache. Instances are immutable and
+ * thread-safe.
+ * <p>
+ * Tables are generated from tzdb 2023c and cover Iran's daylight saving time up to its
+ * abolition in 2022. Offsets match <code>java.time</code>; before 1900 they keep
+ * local mean time where {@link TimeZone} uses the standard offset. Methods of this
+ * library taking a {@link TimeZone} use the compiled zone of the same rules, see
+ * {@link #forTimeZone(TimeZone)}, so both overloads give the same results.
+ *
+ * @since 4.2
+ */
+public final class RoozhZone {
+    public static final RoozhZone UTC = new RoozhZone("UTC", new long[0], new int[]{0});
+    /**
+     * Asia/Tehran
+     */
+    public static final RoozhZone TEHRAN = new RoozhZone("Asia/Tehran", new long[]{
+            -1090466744000L, 227820600000L, 246223800000L, 259617600000L, 271108800000L,
+            283982400000L, 296598600000L, 306531000000L, 322432200000L, 338499000000L,
+            673216200000L, 685481400000L, 701209800000L, 717103800000L, 732745800000L,
+            748639800000L, 764281800000L, 780175800000L, 795817800000L, 811711800000L,
+            827353800000L, 843247800000L, 858976200000L, 874870200000L, 890512200000L,
+            906406200000L, 922048200000L, 937942200000L, 953584200000L, 969478200000L,
+            985206600000L, 1001100600000L, 1016742600000L, 1032636600000L, 1048278600000L,
+            1064172600000L, 1079814600000L, 1095708600000L, 1111437000000L, 1127331000000L,
+            1206045000000L, 1221939000000L, 1237667400000L, 1253561400000L, 1269203400000L,
+            1285097400000L, 1300739400000L, 1316633400000L, 1332275400000L, 1348169400000L,
+            1363897800000L, 1379791800000L, 1395433800000L, 1411327800000L, 1426969800000L,
+            1442863800000L, 1458505800000L, 1474399800000L, 1490128200000L, 1506022200000L,
+            1521664200000L, 1537558200000L, 1553200200000L, 1569094200000L, 1584736200000L,
+            1600630200000L, 1616358600000L, 1632252600000L, 1647894600000L, 1663788600000L
+    }, new int[]{
+            12344000, 12600000, 16200000, 14400000, 18000000, 14400000, 12600000, 16200000,
+            12600000, 16200000, 12600000, 16200000, 12600000, 16200000, 12600000, 16200000,
+            12600000, 16200000, 12600000, 16200000, 12600000, 16200000, 12600000, 16200000,
+            12600000, 16200000, 12600000, 16200000, 12600000, 16200000, 12600000, 16200000,
+            12600000, 16200000, 12600000, 16200000, 12600000, 16200000, 12600000, 16200000,
+            12600000, 16200000, 12600000, 16200000, 12600000, 16200000, 12600000, 16200000,
+            12600000, 16200000, 12600000, 16200000, 12600000, 16200000, 12600000, 16200000,
+            12600000, 16200000, 12600000, 16200000, 12600000, 16200000, 12600000, 16200000,
+            12600000, 16200000, 12600000, 16200000, 12600000, 16200000, 12600000
+    });
+    /**
+     * Asia/Kabul
+     */
+    public static final RoozhZone KABUL = new RoozhZone("Asia/Kabul", new long[]{
+            -2524538208000L, -788932800000L
+    }, new int[]{
+            16608000, 14400000, 16200000
+    });
+    // compiled zones searched by of and forTimeZone
+    private static final RoozhZone[] ZONES = {TEHRAN, KABUL, UTC};
+    private final String id;
+    // instants where offset changes, in milliseconds since 1970-01-01T00:00:00Z
+    private final long[] transitions;
+    // offsets[i] applies before transitions[i], the last one after all transitions
+    private final int[] offsets;
+    // local time from which transitions[i] applies, the later of the two wall clocks
+    private final long[] localTransitions;
+    private final TimeZone timeZone;
+
+    private RoozhZone(String id, long[] transitions, int[] offsets) {
+        this.id = id;
+        this.transitions = transitions;
+        this.offsets = offsets;
+        localTransitions = new long[transitions.length];
+        for (int i = 0; i < transitions.length; i++) {
+            localTransitions[i] = transitions[i] + Math.max(offsets[i], offsets[i + 1]);
+        }
+        timeZone = TimeZone.getTimeZone(id);
+    }
+
+    /**
+     * @param id time zone id, e.g. Asia/Tehran
+     * @return compiled zone
+     * @throws IllegalArgumentException if no table is compiled for id
+     */
+    public static RoozhZone of(String id) {
+        if (id == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        for (RoozhZone zone : ZONES) {
+            if (zone.id.equals(id)) {
+                return zone;
+            }
+        }
+        throw new IllegalArgumentException("Unknown zone: " + id);
+    }
+
+    /**
+     * Get compiled zone with the same id and rules as time zone
+     *
+     * @param zone time zone
+     * @return compiled zone or <code>null</code> if none is compiled for zone
+     */
+    public static RoozhZone forTimeZone(TimeZone zone) {
+        if (zone == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        for (RoozhZone compiled : ZONES) {
+            if (compiled.id.equals(zone.getID()) && compiled.timeZone.hasSameRules(zone)) {
+                return compiled;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get zone where locale is used, Asia/Kabul for Dari and Pashto and Asia/Tehran
+     * otherwise
+     *
+     * @param locale locale
+     * @return compiled zone
+     */
+    public static RoozhZone forLocale(RoozhLocale locale) {
+        switch (locale) {
+            case PASHTO:
+            case DARI:
+                return KABUL;
+            default:
+                return TEHRAN;
+        }
+    }
+
+    private static int search(long[] table, long value) {
+        // index of the first element greater than value
+        int lo = 0;
+        int hi = table.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (table[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @return offset from UTC in milliseconds
+     */
+    public int getOffset(long epochMillis) {
+        int last = transitions.length;
+        if (last == 0 || epochMillis >= transitions[last - 1]) {
+            return offsets[last];
+        }
+        return offsets[search(transitions, epochMillis)];
+    }
+
+    /**
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @return local milliseconds since 1970-01-01T00:00
+     */
+    public long toLocalMillis(long epochMillis) {
+        return epochMillis + getOffset(epochMillis);
+    }
+
+    /**
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @return local days since 1970-01-01
+     */
+    public long toEpochDay(long epochMillis) {
+        return Jalali.floorDiv(toLocalMillis(epochMillis), JalaliDateTime.MILLIS_PER_DAY);
+    }
+
+    /**
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @return local milliseconds since midnight
+     */
+    public int getMillisOfDay(long epochMillis) {
+        long local = toLocalMillis(epochMillis);
+        return (int) (local - Jalali.floorDiv(local, JalaliDateTime.MILLIS_PER_DAY) * JalaliDateTime.MILLIS_PER_DAY);
+    }
+
+    /**
+     * Convert local time to instant. Local times skipped by a transition are moved
+     * forward by the length of the gap, repeated local times resolve to the earlier
+     * instant.
+     *
+     * @param localMillis local milliseconds since 1970-01-01T00:00
+     * @return milliseconds since 1970-01-01T00:00:00Z
+     */
+    public long toEpochMillis(long localMillis) {
+        return localMillis - offsets[search(localTransitions, localMillis)];
+    }
+
+    /**
+     * @return new {@link TimeZone} of same id
+     */
+    public TimeZone toTimeZone() {
+        return (TimeZone) timeZone.clone();
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
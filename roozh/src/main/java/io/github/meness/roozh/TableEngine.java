@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Looks up year starts in {@link YearTable}
+ *
+ * @since 4.2
+ */
+class TableEngine implements RoozhEngine {
+    @Override
+    public int toJalali(long epochDay) {
+        return Jalali.toJalali(epochDay);
+    }
+
+    @Override
+    public long toEpochDay(int packed) {
+        return Jalali.toEpochDay(packed);
+    }
+
+    @Override
+    public String toString() {
+        return "TableEngine";
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * Epoch day of 1 Farvardin for every supported Jalali year, built once from
+ * {@link Borkowski#jalCal(int)} on first use.
+ *
+ * @since 4.2
+ */
+final class YearTable {
+    /**
+     * Days in a 33 years cycle
+     */
+    private static final int CYCLE_DAYS = 12053;
+    /**
+     * index 0 is {@link Borkowski#MIN_YEAR}, the last entry is the start of the year after
+     * {@link Borkowski#MAX_YEAR}
+     */
+    private static final int[] FARVARDIN = build();
+
+    private YearTable() throws InstantiationException {
+        throw new InstantiationException("This class is not for instantiation.");
+    }
+
+    private static int[] build() {
+        int count = Borkowski.MAX_YEAR - Borkowski.MIN_YEAR + 1;
+        int[] table = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            int jY = Borkowski.MIN_YEAR + i;
+            table[i] = Borkowski.gregorianToJdn(jY + 621, 3, Borkowski.jalCal(jY) >> 3) - Borkowski.EPOCH_JDN;
+        }
+        int last = Borkowski.jalCal(Borkowski.MAX_YEAR) & 7;
+        table[count] = table[count - 1] + (last == 0 ? 366 : 365);
+        return table;
+    }
+
+    /**
+     * @param year supported Jalali year
+     * @return epoch day of 1 Farvardin
+     */
+    static int farvardin(int year) {
+        return FARVARDIN[year - Borkowski.MIN_YEAR];
+    }
+
+    /**
+     * @param epochDay supported epoch day
+     * @return Jalali year containing the day
+     */
+    static int yearOf(int epochDay) {
+        int i = (int) ((long) (epochDay - FARVARDIN[0]) * 33 / CYCLE_DAYS);
+        // the cycle estimate is off by at most a year in either direction
+        if (FARVARDIN[i] > epochDay) {
+            i--;
+        } else if (FARVARDIN[i + 1] <= epochDay) {
+            i++;
+        }
+        return Borkowski.MIN_YEAR + i;
+    }
+
+    /**
+     * @param epochDay supported epoch day
+     * @return packed Jalali date
+     */
+    static int toJalali(int epochDay) {
+        int year = yearOf(epochDay);
+        int k = epochDay - farvardin(year);
+        if (k < 186) {
+            return Jalali.pack(year, 1 + k / 31, (k % 31) + 1);
+        }
+        k = k - 186;
+        return Jalali.pack(year, 7 + k / 30, (k % 30) + 1);
+    }
+
+    /**
+     * @param year  supported Jalali year
+     * @param month month, 1 to 12
+     * @param day   day of month
+     * @return epoch day
+     */
+    static int toEpochDay(int year, int month, int day) {
+        return farvardin(year) + (month - 1) * 31 - month / 7 * (month - 7) + day - 1;
+    }
+}
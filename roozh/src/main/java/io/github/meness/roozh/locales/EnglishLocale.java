@@ -16,8 +16,6 @@
 
 package io.github.meness.roozh.locales;
 
-import java.util.Calendar;
-
 import io.github.meness.roozh.Roozh;
 import io.github.meness.roozh.RoozhLocale;
 
@@ -34,25 +32,6 @@ public class EnglishLocale extends Roozh {
         locale = RoozhLocale.ENGLISH;
     }
 
-    @Override
-    public String getDayOfWeekText(int dow) {
-        return DayOfWeek.getS(dow);
-    }
-
-    @Override
-    public String getAmPmText(int am_pm) {
-        if (am_pm == Calendar.AM) {
-            return AM;
-        } else {
-            return PM;
-        }
-    }
-
-    @Override
-    public String getMonthName(int month) {
-        return Month.getS(month);
-    }
-
     public enum DayOfWeek {
         SATURDAY("Saturday"),
         SUNDAY("Sunday"),
@@ -61,14 +40,15 @@ public class EnglishLocale extends Roozh {
         WEDNESDAY("Wednesday"),
         THURSDAY("Thursday"),
         FRIDAY("Friday");
-        private String s;
+        private static final DayOfWeek[] VALUES = values();
+        private final String s;
 
         DayOfWeek(String m) {
             this.s = m;
         }
 
         public static String getS(int i) {
-            return DayOfWeek.values()[i].s;
+            return VALUES[i % 7].s;
         }
     }
 
@@ -86,14 +66,15 @@ public class EnglishLocale extends Roozh {
         BAHMAN("Bahman"),
         ESFAND("Esfand");
 
-        private String s;
+        private static final Month[] VALUES = values();
+        private final String s;
 
         Month(String m) {
             this.s = m;
         }
 
         public static String getS(int i) {
-            return Month.values()[i - 1].s;
+            return VALUES[i - 1].s;
         }
     }
 }
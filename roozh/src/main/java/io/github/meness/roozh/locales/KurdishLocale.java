@@ -16,8 +16,6 @@
 
 package io.github.meness.roozh.locales;
 
-import java.util.Calendar;
-
 import io.github.meness.roozh.Roozh;
 import io.github.meness.roozh.RoozhLocale;
 
@@ -34,25 +32,6 @@ public class KurdishLocale extends Roozh {
         locale = RoozhLocale.KURDISH;
     }
 
-    @Override
-    public String getDayOfWeekText(int dow) {
-        return DayOfWeek.getS(dow);
-    }
-
-    @Override
-    public String getAmPmText(int am_pm) {
-        if (am_pm == Calendar.AM) {
-            return AM;
-        } else {
-            return PM;
-        }
-    }
-
-    @Override
-    public String getMonthName(int month) {
-        return Month.getS(month);
-    }
-
     public enum DayOfWeek {
         SATURDAY("\u0634\u06d5\u0645\u0645\u06d5"),
         SUNDAY("\u06cc\u06d5\u06a9\u0634\u06d5\u0645\u0645\u06d5"),
@@ -61,14 +40,15 @@ public class KurdishLocale extends Roozh {
         WEDNESDAY("\u0686\u0648\u0627\u0631\u0634\u06d5\u0645\u0645\u06d5"),
         THURSDAY("\u067e\u06ce\u0646\u062c\u0634\u06d5\u0645\u0645\u06d5"),
         FRIDAY("\u06be\u06d5\u06cc\u0646\u06cc");
-        private String s;
+        private static final DayOfWeek[] VALUES = values();
+        private final String s;
 
         DayOfWeek(String m) {
             this.s = m;
         }
 
         public static String getS(int i) {
-            return DayOfWeek.values()[i].s;
+            return VALUES[i % 7].s;
         }
     }
 
@@ -86,14 +66,15 @@ public class KurdishLocale extends Roozh {
         BAHMAN("\u0695\u06ce\u0628\u06d5\u0646\u062f\u0627\u0646"),
         ESFAND("\u0695\u06d5\u0634\u06d5\u0645\u06d5");
 
-        private String s;
+        private static final Month[] VALUES = values();
+        private final String s;
 
         Month(String m) {
             this.s = m;
         }
 
         public static String getS(int i) {
-            return Month.values()[i - 1].s;
+            return VALUES[i - 1].s;
         }
     }
 }
@@ -16,8 +16,6 @@
 
 package io.github.meness.roozh.locales;
 
-import java.util.Calendar;
-
 import io.github.meness.roozh.Roozh;
 import io.github.meness.roozh.RoozhLocale;
 
@@ -34,25 +32,6 @@ public class PashtoLocale extends Roozh {
         locale = RoozhLocale.PASHTO;
     }
 
-    @Override
-    public String getDayOfWeekText(int dow) {
-        return DayOfWeek.getS(dow);
-    }
-
-    @Override
-    public String getAmPmText(int am_pm) {
-        if (am_pm == Calendar.AM) {
-            return AM;
-        } else {
-            return PM;
-        }
-    }
-
-    @Override
-    public String getMonthName(int month) {
-        return Month.getS(month);
-    }
-
     public enum DayOfWeek {
         SATURDAY("\u0627\u0648\u0646\u06cd"),
         SUNDAY("\u064a\u0648\u0646\u06cd"),
@@ -61,14 +40,15 @@ public class PashtoLocale extends Roozh {
         WEDNESDAY("\u0685\u0644\u0631\u0646\u06cd"),
         THURSDAY("\u067e\u064a\u0646\u0681\u0646\u06cd"),
         FRIDAY("\u062c\u0645\u0639\u0647");
-        private String s;
+        private static final DayOfWeek[] VALUES = values();
+        private final String s;
 
         DayOfWeek(String m) {
             this.s = m;
         }
 
         public static String getS(int i) {
-            return DayOfWeek.values()[i].s;
+            return VALUES[i % 7].s;
         }
     }
 
@@ -86,14 +66,15 @@ public class PashtoLocale extends Roozh {
         BAHMAN("\u0633\u0644\u0648\u0627\u063a\u0647"),
         ESFAND("\u06a9\u0628");
 
-        private String s;
+        private static final Month[] VALUES = values();
+        private final String s;
 
         Month(String m) {
             this.s = m;
         }
 
         public static String getS(int i) {
-            return Month.values()[i - 1].s;
+            return VALUES[i - 1].s;
         }
     }
 }
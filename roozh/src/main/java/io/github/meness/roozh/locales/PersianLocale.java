@@ -16,8 +16,6 @@
 
 package io.github.meness.roozh.locales;
 
-import java.util.Calendar;
-
 import io.github.meness.roozh.Roozh;
 import io.github.meness.roozh.RoozhLocale;
 
@@ -34,25 +32,6 @@ public class PersianLocale extends Roozh {
         locale = RoozhLocale.PERSIAN;
     }
 
-    @Override
-    public String getDayOfWeekText(int dow) {
-        return DayOfWeek.getS(dow);
-    }
-
-    @Override
-    public String getAmPmText(int am_pm) {
-        if (am_pm == Calendar.AM) {
-            return AM;
-        } else {
-            return PM;
-        }
-    }
-
-    @Override
-    public String getMonthName(int month) {
-        return Month.getS(month);
-    }
-
     public enum DayOfWeek {
         SATURDAY("\u0634\u0646\u0628\u0647"),
         SUNDAY("\u06cc\u06a9\u200c\u0634\u0646\u0628\u0647"),
@@ -61,14 +40,15 @@ public class PersianLocale extends Roozh {
         WEDNESDAY("\u0686\u0647\u0627\u0631\u0634\u0646\u0628\u0647"),
         THURSDAY("\u067e\u0646\u062c\u200c\u0634\u0646\u0628\u0647"),
         FRIDAY("\u062c\u0645\u0639\u0647");
-        private String s;
+        private static final DayOfWeek[] VALUES = values();
+        private final String s;
 
         DayOfWeek(String m) {
             this.s = m;
         }
 
         public static String getS(int i) {
-            return DayOfWeek.values()[i].s;
+            return VALUES[i % 7].s;
         }
     }
 
@@ -86,14 +66,15 @@ public class PersianLocale extends Roozh {
         BAHMAN("\u0628\u0647\u0645\u0646"),
         ESFAND("\u0627\u0633\u0641\u0646\u062f");
 
-        private String s;
+        private static final Month[] VALUES = values();
+        private final String s;
 
         Month(String m) {
             this.s = m;
         }
 
         public static String getS(int i) {
-            return Month.values()[i - 1].s;
+            return VALUES[i - 1].s;
         }
     }
 }
@@ -0,0 +1,604 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.tools;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.meness.roozh.Jalali;
+import io.github.meness.roozh.RoozhFormatter;
+import io.github.meness.roozh.RoozhLocale;
+import io.github.meness.roozh.RoozhParser;
+import io.github.meness.roozh.RoozhPrinter;
+import io.github.meness.roozh.RoozhZone;
+
+/**
+ * Adds converted date columns to CSV files. Each converted column is followed by a new
+ * column holding either the Jalali date and time printed by a {@link RoozhPrinter} or, for
+ * {@link Source#JALALI} columns, the Gregorian ISO-8601 date.
+ * <p>
+ * The input is memory-mapped and split into line-aligned chunks that are converted on a
+ * fixed pool of threads and written to the output channel in order. At most one chunk
+ * per thread plus the one being written are held at a time, so memory stays constant
+ * regardless of file size.
+ * Quoted fields may contain the delimiter but not line breaks. Cells that cannot be
+ * converted get an empty new cell and are counted by {@link #getFailedCells()}.
+ * <p>
+ * From the command line:
+ * <pre>
+ * CsvConverter -H -c 0:millis -c 3:iso -p "yyyy/MM/dd HH:mm" input.csv output.csv
+ * </pre>
+ *
+ * @since 4.2
+ */
+public final class CsvConverter {
+    /**
+     * Default number of bytes mapped per chunk
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    private static final String DEFAULT_PATTERN = "yyyy/MM/dd HH:mm:ss";
+    private static final int LINE_SCAN_SIZE = 8192;
+    private static final long MAX_SECONDS = 999999999999999L;
+
+    /**
+     * Content of a converted column
+     */
+    public enum Source {
+        /**
+         * Seconds since 1970-01-01T00:00:00Z, converted to Jalali
+         */
+        SECONDS("_jalali"),
+        /**
+         * Milliseconds since 1970-01-01T00:00:00Z, converted to Jalali
+         */
+        MILLIS("_jalali"),
+        /**
+         * ISO-8601 Gregorian date or date and time, converted to Jalali
+         */
+        ISO("_jalali"),
+        /**
+         * Jalali date or date and time accepted by {@link RoozhParser}, converted to
+         * Gregorian
+         */
+        JALALI("_gregorian");
+
+        private final byte[] suffix;
+
+        Source(String suffix) {
+            this.suffix = suffix.getBytes(Charset.forName("US-ASCII"));
+        }
+    }
+
+    private final RoozhPrinter printer;
+    private final RoozhZone zone;
+    private final int maxValueLength;
+    // source of each converted column, indexed by column
+    private Source[] sources = new Source[0];
+    private byte delimiter = ',';
+    private boolean header;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private final AtomicLong failedCells = new AtomicLong();
+
+    /**
+     * @param printer printer of Jalali columns; its compiled zone, or Asia/Tehran,
+     *                also applies to timestamps without offset
+     */
+    public CsvConverter(RoozhPrinter printer) {
+        if (printer == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        this.printer = printer;
+        this.zone = printer.getCompiledZone() != null ? printer.getCompiledZone() : RoozhZone.TEHRAN;
+        // ISO-8601 output is at most yyyy-MM-ddTHH:mm:ss.SSS
+        this.maxValueLength = Math.max(printer.getMaxUtf8Length(), 23);
+    }
+
+    /**
+     * Convert column, adding the result as a new column after it
+     *
+     * @param index  zero-based column index
+     * @param source content of column
+     * @return this converter
+     * @throws IllegalArgumentException if index is negative
+     */
+    public CsvConverter addColumn(int index, Source source) {
+        if (source == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Column is negative: " + index);
+        }
+        if (index >= sources.length) {
+            sources = Arrays.copyOf(sources, index + 1);
+        }
+        sources[index] = source;
+        return this;
+    }
+
+    /**
+     * @param delimiter ASCII field delimiter, <code>,</code> by default
+     * @return this converter
+     * @throws IllegalArgumentException if delimiter is not ASCII or is a quote or line break
+     */
+    public CsvConverter setDelimiter(char delimiter) {
+        if (delimiter > 127 || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter is not supported: " + delimiter);
+        }
+        this.delimiter = (byte) delimiter;
+        return this;
+    }
+
+    /**
+     * @param header <code>true</code> if the first line names the columns; new columns are
+     *               then named after their source with a <code>_jalali</code> or
+     *               <code>_gregorian</code> suffix
+     * @return this converter
+     */
+    public CsvConverter setHeader(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * @param threads number of converting threads, all cores by default
+     * @return this converter
+     * @throws IllegalArgumentException if threads is not positive
+     */
+    public CsvConverter setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads is not positive: " + threads);
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * @param chunkSize bytes mapped per chunk, chunks are extended to the end of a line
+     * @return this converter
+     * @throws IllegalArgumentException if chunk size is not positive
+     */
+    public CsvConverter setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size is not positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @return number of cells of the last conversion that could not be converted
+     */
+    public long getFailedCells() {
+        return failedCells.get();
+    }
+
+    /**
+     * Convert file
+     *
+     * @param input  CSV file
+     * @param output target file, replaced if it exists
+     * @return number of rows, without header
+     * @throws IOException if a file cannot be read or written
+     */
+    public long convert(File input, File output) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(input, "r");
+             FileOutputStream out = new FileOutputStream(output)) {
+            return convert(in.getChannel(), out.getChannel());
+        }
+    }
+
+    /**
+     * Convert from the start of file channel to the end
+     *
+     * @param input  CSV file
+     * @param output target
+     * @return number of rows, without header
+     * @throws IOException if input cannot be read or output cannot be written
+     */
+    public long convert(FileChannel input, WritableByteChannel output) throws IOException {
+        failedCells.set(0);
+        long size = input.size();
+        long rows = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+        try {
+            long start = 0;
+            while (start < size || !pending.isEmpty()) {
+                while (start < size && pending.size() <= threads) {
+                    long end = lineEnd(input, Math.min(size, start + chunkSize), size);
+                    if (end - start > Integer.MAX_VALUE) {
+                        throw new IOException("Line is too long at byte " + start);
+                    }
+                    pending.add(pool.submit(new ChunkTask(input, start, (int) (end - start), header && start == 0)));
+                    start = end;
+                }
+                Chunk chunk = await(pending.poll());
+                ByteBuffer buffer = ByteBuffer.wrap(chunk.out, 0, chunk.length);
+                while (buffer.hasRemaining()) {
+                    output.write(buffer);
+                }
+                rows += chunk.rows;
+                failedCells.addAndGet(chunk.failed);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return rows;
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * @return position after the first line break at or after from - 1, or size
+     */
+    private static long lineEnd(FileChannel input, long from, long size) throws IOException {
+        if (from >= size) {
+            return size;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(LINE_SCAN_SIZE);
+        long position = from - 1;
+        while (position < size) {
+            buffer.clear();
+            int read = input.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static final class Chunk {
+        byte[] out;
+        int length;
+        long rows;
+        long failed;
+    }
+
+    private final class ChunkTask implements Callable<Chunk> {
+        private final FileChannel input;
+        private final long start;
+        private final int size;
+        private final boolean firstIsHeader;
+
+        ChunkTask(FileChannel input, long start, int size, boolean firstIsHeader) {
+            this.input = input;
+            this.start = start;
+            this.size = size;
+            this.firstIsHeader = firstIsHeader;
+        }
+
+        @Override
+        public Chunk call() throws IOException {
+            ByteBuffer in = input.map(FileChannel.MapMode.READ_ONLY, start, size);
+            return new ChunkWriter(size + (size >> 1)).convert(in, firstIsHeader);
+        }
+    }
+
+    /**
+     * Converts the lines of one chunk into a growing byte array
+     */
+    private final class ChunkWriter {
+        private final Iso8601 iso = new Iso8601(zone);
+        private final Chunk chunk = new Chunk();
+        private byte[] out;
+        private int length;
+
+        ChunkWriter(int capacity) {
+            out = new byte[capacity];
+        }
+
+        Chunk convert(ByteBuffer in, boolean firstIsHeader) {
+            boolean isHeader = firstIsHeader;
+            int limit = in.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && in.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int contentEnd = lineEnd > lineStart && in.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                // blank lines are copied as they are
+                if (contentEnd > lineStart) {
+                    convertLine(in, lineStart, contentEnd, isHeader);
+                    if (!isHeader) {
+                        chunk.rows++;
+                    }
+                    isHeader = false;
+                }
+                int next = Math.min(limit, lineEnd + 1);
+                ensureCapacity(next - contentEnd);
+                copy(in, contentEnd, next);
+                lineStart = next;
+            }
+            chunk.out = out;
+            chunk.length = length;
+            return chunk;
+        }
+
+        private void convertLine(ByteBuffer in, int start, int end, boolean isHeader) {
+            ensureCapacity(end - start + sources.length * (maxValueLength + 3));
+            int column = 0;
+            int pos = start;
+            while (true) {
+                int fieldEnd = fieldEnd(in, pos, end);
+                int valueStart = length;
+                copy(in, pos, fieldEnd);
+                int valueEnd = length;
+                if (column < sources.length && sources[column] != null) {
+                    out[length++] = delimiter;
+                    if (isHeader) {
+                        appendName(valueStart, valueEnd, sources[column]);
+                    } else {
+                        appendConverted(valueStart, valueEnd, sources[column]);
+                    }
+                }
+                if (fieldEnd == end) {
+                    return;
+                }
+                out[length++] = delimiter;
+                pos = fieldEnd + 1;
+                column++;
+            }
+        }
+
+        private int fieldEnd(ByteBuffer in, int pos, int end) {
+            if (pos < end && in.get(pos) == '"') {
+                pos++;
+                while (pos < end) {
+                    if (in.get(pos++) == '"') {
+                        if (pos < end && in.get(pos) == '"') {
+                            pos++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+            }
+            while (pos < end && in.get(pos) != delimiter) {
+                pos++;
+            }
+            return pos;
+        }
+
+        private void appendName(int start, int end, Source source) {
+            boolean quoted = end - start >= 2 && out[start] == '"' && out[end - 1] == '"';
+            if (quoted) {
+                end--;
+            }
+            ensureCapacity(end - start + source.suffix.length + 1);
+            System.arraycopy(out, start, out, length, end - start);
+            length += end - start;
+            System.arraycopy(source.suffix, 0, out, length, source.suffix.length);
+            length += source.suffix.length;
+            if (quoted) {
+                out[length++] = '"';
+            }
+        }
+
+        private void appendConverted(int start, int end, Source source) {
+            while (start < end && (out[start] == ' ' || out[start] == '"')) {
+                start++;
+            }
+            while (end > start && (out[end - 1] == ' ' || out[end - 1] == '"')) {
+                end--;
+            }
+            try {
+                switch (source) {
+                    case SECONDS:
+                    case MILLIS:
+                        long value = parseLong(start, end);
+                        // seconds of more than 15 digits are far out of range and would overflow
+                        if (value == Long.MIN_VALUE || source == Source.SECONDS && Math.abs(value) > MAX_SECONDS) {
+                            break;
+                        }
+                        length = printer.print(source == Source.SECONDS ? value * 1000 : value, out, length);
+                        return;
+                    case ISO:
+                        if (iso.read(out, start, end) != end) {
+                            break;
+                        }
+                        length = iso.hasTime() ? printer.print(iso.getEpochMillis(), out, length)
+                                : printer.printDate(Jalali.toJalali(iso.getEpochDay()), out, length);
+                        return;
+                    case JALALI:
+                        long local = RoozhParser.parseLocalMillis(out, start, end);
+                        if (RoozhParser.isError(local)) {
+                            break;
+                        }
+                        length = Iso8601.write(local, out, length);
+                        return;
+                    default:
+                        break;
+                }
+            } catch (IllegalArgumentException e) {
+                // out of the supported range
+            }
+            chunk.failed++;
+        }
+
+        /**
+         * @return value or {@link Long#MIN_VALUE} if not an integer of up to 18 digits
+         */
+        private long parseLong(int start, int end) {
+            boolean negative = start < end && out[start] == '-';
+            if (negative || start < end && out[start] == '+') {
+                start++;
+            }
+            if (start == end || end - start > 18) {
+                return Long.MIN_VALUE;
+            }
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                if (!Iso8601.isDigit(out[i])) {
+                    return Long.MIN_VALUE;
+                }
+                value = value * 10 + out[i] - '0';
+            }
+            return negative ? -value : value;
+        }
+
+        private void copy(ByteBuffer in, int from, int to) {
+            in.position(from);
+            in.get(out, length, to - from);
+            length += to - from;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > out.length) {
+                out = Arrays.copyOf(out, Math.max(length + extra, out.length + (out.length >> 1)));
+            }
+        }
+    }
+
+    /**
+     * Convert a CSV file from the command line, reporting rows per second on standard error
+     *
+     * @param args options, input and output file, see usage
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        CsvConverter converter;
+        File input;
+        File output;
+        try {
+            String pattern = DEFAULT_PATTERN;
+            RoozhLocale locale = RoozhLocale.ENGLISH;
+            RoozhZone zone = null;
+            boolean header = false;
+            int threads = 0;
+            char delimiter = ',';
+            List<String> columns = new ArrayList<>();
+            List<String> files = new ArrayList<>();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("-H".equals(arg)) {
+                    header = true;
+                } else if (arg.length() == 2 && arg.charAt(0) == '-' && i + 1 < args.length) {
+                    String value = args[++i];
+                    switch (arg.charAt(1)) {
+                        case 'c':
+                            columns.add(value);
+                            break;
+                        case 'p':
+                            pattern = value;
+                            break;
+                        case 'l':
+                            locale = RoozhLocale.valueOf(value.toUpperCase(Locale.ROOT));
+                            break;
+                        case 'z':
+                            zone = RoozhZone.of(value);
+                            break;
+                        case 'd':
+                            if (value.length() != 1) {
+                                throw new IllegalArgumentException("Delimiter is not one character: " + value);
+                            }
+                            delimiter = value.charAt(0);
+                            break;
+                        case 't':
+                            threads = Integer.parseInt(value);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                    }
+                } else {
+                    files.add(arg);
+                }
+            }
+            if (files.size() != 2 || columns.isEmpty()) {
+                throw new IllegalArgumentException("Expected columns, input and output");
+            }
+            RoozhPrinter printer = RoozhFormatter.ofPattern(pattern, locale);
+            if (zone != null) {
+                printer = printer.withZone(zone);
+            }
+            converter = new CsvConverter(printer).setHeader(header).setDelimiter(delimiter);
+            if (threads > 0) {
+                converter.setThreads(threads);
+            }
+            for (String column : columns) {
+                int colon = column.indexOf(':');
+                if (colon < 0) {
+                    throw new IllegalArgumentException("Expected column:type, got " + column);
+                }
+                converter.addColumn(Integer.parseInt(column.substring(0, colon)),
+                        Source.valueOf(column.substring(colon + 1).toUpperCase(Locale.ROOT)));
+            }
+            input = new File(files.get(0));
+            output = new File(files.get(1));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: CsvConverter [options] <input> <output>\n"
+                    + "  -c <column>:<seconds|millis|iso|jalali>  convert zero-based column, repeatable\n"
+                    + "  -p <pattern>  Jalali pattern, default " + DEFAULT_PATTERN + "\n"
+                    + "  -l <locale>   PERSIAN, KURDISH, PASHTO, DARI or ENGLISH, default ENGLISH\n"
+                    + "  -z <zone>     Asia/Tehran, Asia/Kabul or UTC, default of locale\n"
+                    + "  -d <char>     delimiter, default ,\n"
+                    + "  -H            first line is a header\n"
+                    + "  -t <threads>  default all cores");
+            System.exit(1);
+            return;
+        }
+        long start = System.nanoTime();
+        long rows = converter.convert(input, output);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.println(String.format(Locale.ROOT, "Converted %d rows in %.3f s, %.0f rows/s, %d failed cells",
+                rows, seconds, rows / seconds, converter.getFailedCells()));
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.tools;
+
+import io.github.meness.roozh.RoozhZone;
+
+/**
+ * Reads and writes ISO-8601 Gregorian timestamps in ASCII bytes, such as
+ * <code>2024-10-16</code>, <code>2024-10-16T13:05:09.123Z</code> or
+ * <code>2024-10-16 13:05+03:30</code>. Timestamps without offset are local time of the
+ * zone.
+ * <p>
+ * A reader keeps the result of the last {@link #read(byte[], int, int)} and is not
+ * thread-safe.
+ *
+ * @since 4.2
+ */
+final class Iso8601 {
+    private static final int MILLIS_PER_DAY = 86400000;
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private final RoozhZone zone;
+    private long epochMillis;
+    private long epochDay;
+    private boolean hasTime;
+    private int pos;
+
+    Iso8601(RoozhZone zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * @return instant of the last successful read
+     */
+    long getEpochMillis() {
+        return epochMillis;
+    }
+
+    /**
+     * @return local date of the last successful read, as days since 1970-01-01
+     */
+    long getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * @return <code>true</code> if the last successful read had a time of day
+     */
+    boolean hasTime() {
+        return hasTime;
+    }
+
+    /**
+     * Read the longest timestamp starting at start
+     *
+     * @param buf   source
+     * @param start index of the first year digit
+     * @param limit end of readable bytes
+     * @return index after the timestamp, <code>-1</code> if none starts at start
+     */
+    int read(byte[] buf, int start, int limit) {
+        pos = start;
+        int year = number(buf, limit, 4);
+        if (year < 0 || !skip(buf, limit, '-')) {
+            return -1;
+        }
+        int month = number(buf, limit, 2);
+        if (month < 1 || month > 12 || !skip(buf, limit, '-')) {
+            return -1;
+        }
+        int day = number(buf, limit, 2);
+        if (day < 1 || day > lengthOfMonth(year, month)) {
+            return -1;
+        }
+        epochDay = toEpochDay(year, month, day);
+        long local = epochDay * MILLIS_PER_DAY;
+        hasTime = false;
+        int dateEnd = pos;
+        if (pos < limit && (buf[pos] == 'T' || buf[pos] == ' ')) {
+            pos++;
+            int millisOfDay = time(buf, limit);
+            if (millisOfDay >= 0) {
+                local += millisOfDay;
+                hasTime = true;
+            } else {
+                // a date followed by other text
+                pos = dateEnd;
+            }
+        }
+        if (!hasTime) {
+            epochMillis = zone.toEpochMillis(local);
+            return pos;
+        }
+        int offset = offset(buf, limit);
+        epochMillis = offset == Integer.MIN_VALUE ? zone.toEpochMillis(local) : local - offset;
+        return pos;
+    }
+
+    /**
+     * @return millisecond of day or <code>-1</code>
+     */
+    private int time(byte[] buf, int limit) {
+        int hour = number(buf, limit, 2);
+        if (hour < 0 || hour > 23 || !skip(buf, limit, ':')) {
+            return -1;
+        }
+        int minute = number(buf, limit, 2);
+        if (minute < 0 || minute > 59) {
+            return -1;
+        }
+        int millis = (hour * 60 + minute) * 60000;
+        int end = pos;
+        if (skip(buf, limit, ':')) {
+            int second = number(buf, limit, 2);
+            if (second < 0 || second > 59) {
+                pos = end;
+                return millis;
+            }
+            millis += second * 1000;
+            end = pos;
+            if (skip(buf, limit, '.') || skip(buf, limit, ',')) {
+                int scale = 100;
+                int fractionStart = pos;
+                while (pos < limit && isDigit(buf[pos])) {
+                    millis += (buf[pos++] - '0') * scale;
+                    scale /= 10;
+                }
+                if (pos == fractionStart) {
+                    pos = end;
+                }
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * @return offset in milliseconds, {@link Integer#MIN_VALUE} if none
+     */
+    private int offset(byte[] buf, int limit) {
+        if (skip(buf, limit, 'Z')) {
+            return 0;
+        }
+        int start = pos;
+        if (pos >= limit || buf[pos] != '+' && buf[pos] != '-') {
+            return Integer.MIN_VALUE;
+        }
+        int sign = buf[pos++] == '-' ? -1 : 1;
+        int hours = number(buf, limit, 2);
+        if (hours < 0 || hours > 18) {
+            pos = start;
+            return Integer.MIN_VALUE;
+        }
+        int end = pos;
+        boolean colon = skip(buf, limit, ':');
+        int minutes = number(buf, limit, 2);
+        if (minutes < 0 || minutes > 59) {
+            pos = colon ? end : pos;
+            minutes = 0;
+        }
+        return sign * (hours * 60 + minutes) * 60000;
+    }
+
+    /**
+     * @return value of exactly count digits at pos, advancing it, or <code>-1</code>
+     */
+    private int number(byte[] buf, int limit, int count) {
+        if (pos + count > limit) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            byte b = buf[pos + i];
+            if (!isDigit(b)) {
+                return -1;
+            }
+            value = value * 10 + b - '0';
+        }
+        pos += count;
+        return value;
+    }
+
+    private boolean skip(byte[] buf, int limit, char c) {
+        if (pos < limit && buf[pos] == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return month == 2 && (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : DAYS_IN_MONTH[month - 1];
+    }
+
+    /**
+     * Days since 1970-01-01 of proleptic Gregorian date
+     */
+    static long toEpochDay(int year, int month, int day) {
+        // years start in March so the leap day is last
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * Write local date, and time if not midnight, as <code>yyyy-MM-dd[THH:mm:ss[.SSS]]</code>
+     *
+     * @param localMillis local milliseconds since 1970-01-01T00:00
+     * @param buf         target with at least 23 bytes after offset
+     * @param offset      first index to write
+     * @return index after the last written byte
+     */
+    static int write(long localMillis, byte[] buf, int offset) {
+        long epochDay = localMillis / MILLIS_PER_DAY;
+        if (localMillis % MILLIS_PER_DAY < 0) {
+            epochDay--;
+        }
+        int millisOfDay = (int) (localMillis - epochDay * MILLIS_PER_DAY);
+        long z = epochDay + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        offset = digits(year, 4, buf, offset);
+        buf[offset++] = '-';
+        offset = digits(month, 2, buf, offset);
+        buf[offset++] = '-';
+        offset = digits(day, 2, buf, offset);
+        if (millisOfDay == 0) {
+            return offset;
+        }
+        buf[offset++] = 'T';
+        offset = digits(millisOfDay / 3600000, 2, buf, offset);
+        buf[offset++] = ':';
+        offset = digits(millisOfDay / 60000 % 60, 2, buf, offset);
+        buf[offset++] = ':';
+        offset = digits(millisOfDay / 1000 % 60, 2, buf, offset);
+        if (millisOfDay % 1000 != 0) {
+            buf[offset++] = '.';
+            offset = digits(millisOfDay % 1000, 3, buf, offset);
+        }
+        return offset;
+    }
+
+    private static int digits(int value, int count, byte[] buf, int offset) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + count;
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.tools;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+import io.github.meness.roozh.RoozhFormatter;
+import io.github.meness.roozh.RoozhLocale;
+import io.github.meness.roozh.RoozhPrinter;
+import io.github.meness.roozh.RoozhZone;
+
+/**
+ * Rewrites timestamps in log lines as Jalali text printed by a {@link RoozhPrinter}.
+ * Recognized timestamps are ISO-8601 date and time, e.g. <code>2024-10-16T13:05:09.123Z</code>
+ * or <code>2024-10-16 13:05:09,123</code>, and, unless disabled, epoch seconds of 10 digits
+ * with an optional fraction or epoch milliseconds of 13 digits. A timestamp must not
+ * follow a letter, digit, <code>_</code> or <code>.</code>. Dates without time are left
+ * as they are.
+ * <p>
+ * Lines are processed as byte ranges of UTF-8 or ASCII text. Consecutive lines usually
+ * share their second, so the printed text of the last second is cached and copied;
+ * patterns printing milliseconds are cached per millisecond instead.
+ * <p>
+ * Not thread-safe. From the command line it filters standard input to standard output:
+ * <pre>
+ * tail -f app.log | LogRewriter -p "yyyy/MM/dd HH:mm:ss"
+ * </pre>
+ *
+ * @since 4.2
+ */
+public final class LogRewriter {
+    static final int BUFFER_SIZE = 1 << 18;
+    private static final String DEFAULT_PATTERN = "yyyy/MM/dd HH:mm:ss";
+    // shortest timestamp is 10 epoch digits
+    private static final int MIN_TIMESTAMP_LENGTH = 10;
+
+    private final RoozhPrinter printer;
+    private final Iso8601 iso;
+    private final boolean printsMilliseconds;
+    private final byte[] cached;
+    private long cachedKey = Long.MIN_VALUE;
+    private int cachedLength;
+    private boolean epochs = true;
+    private long epochMillis;
+    private long rewritten;
+
+    /**
+     * @param printer printer of timestamps; its compiled zone, or Asia/Tehran, also applies
+     *                to timestamps without offset
+     */
+    public LogRewriter(RoozhPrinter printer) {
+        if (printer == null) {
+            throw new NullPointerException("Argument cannot be null.");
+        }
+        this.printer = printer;
+        this.iso = new Iso8601(printer.getCompiledZone() != null ? printer.getCompiledZone() : RoozhZone.TEHRAN);
+        this.printsMilliseconds = printer.printsMilliseconds();
+        this.cached = new byte[printer.getMaxUtf8Length()];
+    }
+
+    /**
+     * @param epochs <code>false</code> to rewrite ISO-8601 timestamps only
+     * @return this rewriter
+     */
+    public LogRewriter setEpochs(boolean epochs) {
+        this.epochs = epochs;
+        return this;
+    }
+
+    /**
+     * @return number of timestamps rewritten so far
+     */
+    public long getRewritten() {
+        return rewritten;
+    }
+
+    /**
+     * Get size of a target that fits any rewritten range
+     *
+     * @param length length of source range
+     * @return maximum number of bytes written for a range of length
+     */
+    public int getMaxLength(int length) {
+        return length + (length / MIN_TIMESTAMP_LENGTH + 1) * printer.getMaxUtf8Length();
+    }
+
+    /**
+     * Rewrite whole lines from stream to stream until the end of input
+     *
+     * @param in  source
+     * @param out target, flushed at the end
+     * @throws IOException if source or target fails
+     */
+    public void rewrite(InputStream in, OutputStream out) throws IOException {
+        byte[] buf = new byte[BUFFER_SIZE];
+        byte[] dst = new byte[getMaxLength(buf.length)];
+        int filled = 0;
+        int read;
+        while ((read = in.read(buf, filled, buf.length - filled)) >= 0) {
+            filled += read;
+            int lineEnd = filled;
+            while (lineEnd > 0 && buf[lineEnd - 1] != '\n') {
+                lineEnd--;
+            }
+            if (lineEnd == 0) {
+                if (filled == buf.length) {
+                    // a line longer than the buffer
+                    buf = Arrays.copyOf(buf, buf.length * 2);
+                    dst = new byte[getMaxLength(buf.length)];
+                }
+                continue;
+            }
+            out.write(dst, 0, rewrite(buf, 0, lineEnd, dst, 0));
+            // keep the incomplete last line
+            System.arraycopy(buf, lineEnd, buf, 0, filled - lineEnd);
+            filled -= lineEnd;
+        }
+        if (filled > 0) {
+            out.write(dst, 0, rewrite(buf, 0, filled, dst, 0));
+        }
+        out.flush();
+    }
+
+    /**
+     * Rewrite range of whole lines
+     *
+     * @param src    source
+     * @param start  start of the first line
+     * @param end    end of the last line
+     * @param dst    target with at least {@link #getMaxLength(int)} bytes after offset
+     * @param offset first index to write
+     * @return index after the last written byte
+     */
+    public int rewrite(byte[] src, int start, int end, byte[] dst, int offset) {
+        int copied = start;
+        int i = start;
+        while (i < end) {
+            if (!Iso8601.isDigit(src[i]) || i > start && isWordByte(src[i - 1])) {
+                i++;
+                continue;
+            }
+            int timestampEnd = timestamp(src, i, end);
+            if (timestampEnd >= 0) {
+                System.arraycopy(src, copied, dst, offset, i - copied);
+                try {
+                    offset = print(dst, offset + i - copied);
+                    copied = timestampEnd;
+                    i = timestampEnd;
+                    rewritten++;
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    // out of the supported range, keep as it is
+                    offset += i - copied;
+                    copied = i;
+                }
+            }
+            // skip the rest of the number
+            do {
+                i++;
+            } while (i < end && Iso8601.isDigit(src[i]));
+        }
+        System.arraycopy(src, copied, dst, offset, end - copied);
+        return offset + end - copied;
+    }
+
+    /**
+     * @return end of timestamp starting at start, or <code>-1</code>; sets {@link #epochMillis}
+     */
+    private int timestamp(byte[] src, int start, int end) {
+        int isoEnd = iso.read(src, start, end);
+        if (isoEnd >= 0) {
+            if (!iso.hasTime() || isoEnd < end && isWordByte(src[isoEnd])) {
+                return -1;
+            }
+            epochMillis = iso.getEpochMillis();
+            return isoEnd;
+        }
+        if (!epochs) {
+            return -1;
+        }
+        int digitsEnd = start;
+        while (digitsEnd < end && Iso8601.isDigit(src[digitsEnd])) {
+            digitsEnd++;
+        }
+        int pos = digitsEnd;
+        if (digitsEnd - start == 13) {
+            epochMillis = parse(src, start, digitsEnd);
+        } else if (digitsEnd - start == 10) {
+            epochMillis = parse(src, start, digitsEnd) * 1000;
+            if (pos + 1 < end && src[pos] == '.' && Iso8601.isDigit(src[pos + 1])) {
+                pos++;
+                for (int scale = 100; pos < end && Iso8601.isDigit(src[pos]); scale /= 10) {
+                    epochMillis += (src[pos++] - '0') * scale;
+                }
+            }
+        } else {
+            return -1;
+        }
+        return pos < end && isWordByte(src[pos]) ? -1 : pos;
+    }
+
+    private int print(byte[] dst, int offset) {
+        long key = printsMilliseconds ? epochMillis : epochMillis / 1000 - (epochMillis % 1000 < 0 ? 1 : 0);
+        if (key != cachedKey) {
+            cachedLength = printer.print(epochMillis, cached, 0);
+            cachedKey = key;
+        }
+        System.arraycopy(cached, 0, dst, offset, cachedLength);
+        return offset + cachedLength;
+    }
+
+    private static long parse(byte[] src, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + src[i] - '0';
+        }
+        return value;
+    }
+
+    private static boolean isWordByte(byte b) {
+        return Iso8601.isDigit(b) || b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b == '_' || b == '.';
+    }
+
+    /**
+     * Rewrite standard input to standard output from the command line
+     *
+     * @param args options, see usage
+     * @throws IOException if input or output fails
+     */
+    public static void main(String[] args) throws IOException {
+        LogRewriter rewriter;
+        boolean verbose = false;
+        try {
+            String pattern = DEFAULT_PATTERN;
+            RoozhLocale locale = RoozhLocale.ENGLISH;
+            RoozhZone zone = null;
+            boolean epochs = true;
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("-n".equals(arg)) {
+                    epochs = false;
+                } else if ("-v".equals(arg)) {
+                    verbose = true;
+                } else if (i + 1 < args.length && "-p".equals(arg)) {
+                    pattern = args[++i];
+                } else if (i + 1 < args.length && "-l".equals(arg)) {
+                    locale = RoozhLocale.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                } else if (i + 1 < args.length && "-z".equals(arg)) {
+                    zone = RoozhZone.of(args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            RoozhPrinter printer = RoozhFormatter.ofPattern(pattern, locale);
+            if (zone != null) {
+                printer = printer.withZone(zone);
+            }
+            rewriter = new LogRewriter(printer).setEpochs(epochs);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: LogRewriter [options] < input > output\n"
+                    + "  -p <pattern>  Jalali pattern, default " + DEFAULT_PATTERN + "\n"
+                    + "  -l <locale>   PERSIAN, KURDISH, PASHTO, DARI or ENGLISH, default ENGLISH\n"
+                    + "  -z <zone>     Asia/Tehran, Asia/Kabul or UTC, default of locale\n"
+                    + "  -n            keep epoch numbers, rewrite ISO-8601 only\n"
+                    + "  -v            report throughput on standard error");
+            System.exit(1);
+            return;
+        }
+        CountingInputStream in = new CountingInputStream(System.in);
+        long start = System.nanoTime();
+        rewriter.rewrite(in, new FileOutputStream(FileDescriptor.out));
+        if (verbose) {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.println(String.format(Locale.ROOT, "Rewrote %d timestamps in %.1f MB, %.1f MB/s",
+                    rewriter.getRewritten(), in.count / 1e6, in.count / 1e6 / seconds));
+        }
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private final InputStream in;
+        long count;
+
+        CountingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.github.meness.roozh.utils;
 
+import io.github.meness.roozh.RoozhDigits;
+
 /**
  * Format Utilities
  *
@@ -39,4 +41,19 @@ public final class FormatUtils {
         }
         return sI;
     }
+
+    /**
+     * append text replacing Latin digits
+     *
+     * @param sb     target
+     * @param text   text
+     * @param digits digits to write
+     * @return target
+     */
+    public static StringBuilder appendShaped(StringBuilder sb, String text, RoozhDigits digits) {
+        for (int i = 0; i < text.length(); i++) {
+            sb.append(digits.shape(text.charAt(i)));
+        }
+        return sb;
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pins the days where the {@link Borkowski} port deliberately differs from the original
+ * Roozh arithmetic. The original passed Gregorian dates through the Julian correction of
+ * <code>JG2JD</code>, which is off by one from mid January to the end of February of
+ * century years that are not leap years, repeating a day of Esfand on March 1st.
+ */
+public class BorkowskiTest {
+    private static int original(ReferenceCalendar reference, int year, int month, int day) {
+        // as Roozh#gregorianToPersian did before the port
+        reference.originalJD2Jal(reference.JG2JD(year, month, day, 0));
+        return Jalali.pack(reference.iJY, reference.iJM, reference.iJD);
+    }
+
+    private static void assertDay(int year, int month, int day, int expected, int original) {
+        ReferenceCalendar reference = new ReferenceCalendar();
+        int jdn = Borkowski.gregorianToJdn(year, month, day);
+        assertEquals(expected, Jalali.toJalali(jdn - Borkowski.EPOCH_JDN));
+        assertEquals(jdn, Borkowski.jalaliToJdn(Jalali.getYear(expected), Jalali.getMonth(expected),
+                Jalali.getDayOfMonth(expected)));
+        assertEquals(original, original(reference, year, month, day));
+    }
+
+    @Test
+    public void divergentDays() {
+        assertDay(1900, 1, 12, Jalali.pack(1278, 10, 22), Jalali.pack(1278, 10, 22));
+        assertDay(1900, 1, 13, Jalali.pack(1278, 10, 23), Jalali.pack(1278, 10, 24));
+        assertDay(1900, 2, 28, Jalali.pack(1278, 12, 9), Jalali.pack(1278, 12, 10));
+        assertDay(1900, 3, 1, Jalali.pack(1278, 12, 10), Jalali.pack(1278, 12, 10));
+        assertDay(1700, 1, 11, Jalali.pack(1078, 10, 21), Jalali.pack(1078, 10, 22));
+        assertDay(2100, 1, 14, Jalali.pack(1478, 10, 25), Jalali.pack(1478, 10, 26));
+        assertDay(2100, 2, 19, Jalali.pack(1478, 12, 1), Jalali.pack(1478, 12, 2));
+        // leap century years are not affected
+        assertDay(2000, 1, 13, Jalali.pack(1378, 10, 23), Jalali.pack(1378, 10, 23));
+        assertDay(2000, 2, 29, Jalali.pack(1378, 12, 10), Jalali.pack(1378, 12, 10));
+    }
+
+    @Test
+    public void otherDaysMatchOriginal() {
+        ReferenceCalendar reference = new ReferenceCalendar();
+        // the original cannot convert the last days of 3177 in Gregorian 3799
+        int end = Borkowski.gregorianToJdn(3799, 1, 1);
+        int divergent = 0;
+        for (int jdn = (int) Jalali.MIN_EPOCH_DAY + Borkowski.EPOCH_JDN; jdn < end; jdn++) {
+            reference.JD2JG(jdn, 0);
+            int year = reference.iGY;
+            int month = reference.iGM;
+            int day = reference.iGD;
+            int date = Jalali.toJalali(jdn - Borkowski.EPOCH_JDN);
+            int original = original(reference, year, month, day);
+            if (date != original) {
+                String message = year + "-" + month + "-" + day;
+                assertTrue(message, year % 100 == 0 && year % 400 != 0 && month <= 2);
+                assertEquals(message, Jalali.plusDays(date, 1), original);
+                divergent++;
+            }
+        }
+        assertEquals(1092, divergent);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks every engine against {@link ReferenceCalendar} for every supported day, in
+ * both directions, and reports the throughput of each sweep.
+ */
+public class EngineSweepTest {
+    private static final int JDN_OFFSET = Borkowski.EPOCH_JDN;
+    private static final int CHUNKS = 64;
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+    private static ExecutorService pool;
+
+    @BeforeClass
+    public static void setUp() {
+        pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void arithmeticEngine() throws Exception {
+        sweep("arithmetic", Jalali.ARITHMETIC);
+    }
+
+    @Test
+    public void tableEngine() throws Exception {
+        sweep("table", Jalali.TABLE);
+    }
+
+    @Test
+    public void mappedEngine() throws Exception {
+        File file = folder.newFile("roozh-days.bin");
+        MappedEngine.generate(file);
+        sweep("mapped", MappedEngine.open(file));
+    }
+
+    @Test
+    public void facade() throws Exception {
+        sweep("facade", new RoozhEngine() {
+            @Override
+            public int toJalali(long epochDay) {
+                return Jalali.toJalali(epochDay);
+            }
+
+            @Override
+            public long toEpochDay(int packed) {
+                return Jalali.toEpochDay(Jalali.getYear(packed), Jalali.getMonth(packed), Jalali.getDayOfMonth(packed));
+            }
+        });
+    }
+
+    @Test
+    public void leapYears() {
+        ReferenceCalendar reference = new ReferenceCalendar();
+        for (int year = Jalali.MIN_YEAR; year <= Jalali.MAX_YEAR; year++) {
+            reference.JalCal(year);
+            boolean leap = reference.iLeap == 0;
+            assertEquals("Year " + year, leap, Jalali.isLeapYear(year));
+            assertEquals("Year " + year, leap ? 366 : 365, Jalali.lengthOfYear(year));
+            assertEquals("Year " + year, leap ? 30 : 29, Jalali.lengthOfMonth(year, 12));
+        }
+    }
+
+    /**
+     * Borkowski's arithmetic matches the Persian calendar of .NET, a 33-year cycle with
+     * leap years where <code>(25 * year + 11) mod 33 &lt; 8</code>, from 1799-03-21 to
+     * 2256-03-19
+     */
+    @Test
+    public void dotNetWindow() {
+        long first = gregorianEpochDay(1799, 3, 21);
+        long last = gregorianEpochDay(2256, 3, 19);
+        int year = 1178;
+        int month = 1;
+        int day = 1;
+        for (long epochDay = first; epochDay <= last; epochDay++) {
+            assertEquals("Epoch day " + epochDay, Jalali.pack(year, month, day), Jalali.toJalali(epochDay));
+            int length = month <= 6 ? 31 : month <= 11 ? 30 : (25 * year + 11) % 33 < 8 ? 30 : 29;
+            if (++day > length) {
+                day = 1;
+                if (++month > 12) {
+                    month = 1;
+                    year++;
+                }
+            }
+        }
+        assertEquals(1634, Jalali.getYear(Jalali.toJalali(last)));
+    }
+
+    private static long gregorianEpochDay(int year, int month, int day) {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        // proleptic Gregorian, Calendar switches to Julian before 1582 otherwise
+        calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+        calendar.clear();
+        calendar.set(year, month - 1, day);
+        return calendar.getTimeInMillis() / JalaliDateTime.MILLIS_PER_DAY;
+    }
+
+    private static void sweep(String name, final RoozhEngine engine) throws Exception {
+        long start = System.nanoTime();
+        long size = Jalali.MAX_EPOCH_DAY - Jalali.MIN_EPOCH_DAY + 1;
+        List<Future<String>> results = new ArrayList<>();
+        for (int c = 0; c < CHUNKS; c++) {
+            final long from = Jalali.MIN_EPOCH_DAY + size * c / CHUNKS;
+            final long to = Jalali.MIN_EPOCH_DAY + size * (c + 1) / CHUNKS;
+            results.add(pool.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return check(engine, from, to);
+                }
+            }));
+        }
+        for (Future<String> result : results) {
+            assertNull(name, result.get());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // engine alone on one thread, without the reference
+        long sink = 0;
+        long engineStart = System.nanoTime();
+        for (long epochDay = Jalali.MIN_EPOCH_DAY; epochDay <= Jalali.MAX_EPOCH_DAY; epochDay++) {
+            sink += engine.toEpochDay(engine.toJalali(epochDay));
+        }
+        double engineSeconds = (System.nanoTime() - engineStart) / 1e9;
+        System.out.printf("%s: verified %d days in %.3f s; round trip %.0f days/s (checksum %d)%n", name, size,
+                seconds, size / engineSeconds, sink);
+    }
+
+    /**
+     * @return first mismatch or <code>null</code>
+     */
+    private static String check(RoozhEngine engine, long from, long to) {
+        ReferenceCalendar reference = new ReferenceCalendar();
+        for (long epochDay = from; epochDay < to; epochDay++) {
+            int jdn = (int) epochDay + JDN_OFFSET;
+            int actual = engine.toJalali(epochDay);
+            int year = Jalali.getYear(actual);
+            int month = Jalali.getMonth(actual);
+            int day = Jalali.getDayOfMonth(actual);
+            if (reference.Jal2JD(year, month, day) != jdn || !isValid(reference, month, day)) {
+                return "toJalali(" + epochDay + ") = " + actual + " is not the reference date";
+            }
+            reference.JD2JG(jdn, 0);
+            if (reference.iGY - 621 <= Jalali.MAX_YEAR) {
+                reference.JD2Jal(jdn);
+                int expected = Jalali.pack(reference.iJY, reference.iJM, reference.iJD);
+                if (actual != expected) {
+                    return "toJalali(" + epochDay + ") = " + actual + ", expected " + expected;
+                }
+            }
+            long back = engine.toEpochDay(actual);
+            if (back != epochDay) {
+                return "toEpochDay(" + actual + ") = " + back + ", expected " + epochDay;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param reference reference after {@link ReferenceCalendar#Jal2JD(int, int, int)} of the year
+     */
+    private static boolean isValid(ReferenceCalendar reference, int month, int day) {
+        int length = month <= 6 ? 31 : month <= 11 ? 30 : reference.iLeap == 0 ? 30 : 29;
+        return month >= 1 && month <= 12 && day >= 1 && day <= length;
+    }
+}
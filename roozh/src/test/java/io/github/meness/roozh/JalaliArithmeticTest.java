@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class JalaliArithmeticTest {
+    @Test
+    public void plusMonthsClampsToMonthLength() {
+        assertEquals(Jalali.pack(1399, 7, 30), Jalali.plusMonths(Jalali.pack(1399, 6, 31), 1));
+        assertEquals(Jalali.pack(1400, 1, 31), Jalali.plusMonths(Jalali.pack(1399, 6, 31), 7));
+        assertEquals(Jalali.pack(1402, 12, 29), Jalali.plusMonths(Jalali.pack(1403, 1, 31), -1));
+        assertEquals(Jalali.pack(1403, 12, 30), Jalali.plusMonths(Jalali.pack(1403, 11, 30), 1));
+    }
+
+    @Test
+    public void plusYearsClampsEsfand() {
+        // 1403 is leap, 1404 is not
+        assertEquals(Jalali.pack(1404, 12, 29), Jalali.plusYears(Jalali.pack(1403, 12, 30), 1));
+        assertEquals(Jalali.pack(1399, 12, 30), Jalali.plusYears(Jalali.pack(1399, 12, 30), 0));
+        assertEquals(Jalali.pack(1402, 12, 29), Jalali.plusYears(Jalali.pack(1403, 12, 30), -1));
+    }
+
+    @Test
+    public void plusDaysCrossesYears() {
+        assertEquals(Jalali.pack(1404, 1, 1), Jalali.plusDays(Jalali.pack(1403, 12, 30), 1));
+        assertEquals(Jalali.pack(1403, 12, 30), Jalali.plusDays(Jalali.pack(1404, 1, 1), -1));
+        assertEquals(366, Jalali.daysBetween(Jalali.pack(1403, 1, 1), Jalali.pack(1404, 1, 1)));
+    }
+
+    @Test
+    public void betweenMatchesPlus() {
+        int from = Jalali.pack(1399, 6, 31);
+        assertEquals(1, Jalali.monthsBetween(from, Jalali.pack(1399, 7, 30)));
+        assertEquals(0, Jalali.monthsBetween(from, Jalali.pack(1399, 7, 29)));
+        assertEquals(-1, Jalali.monthsBetween(Jalali.pack(1399, 7, 30), Jalali.pack(1399, 6, 30)));
+        assertEquals(0, Jalali.monthsBetween(Jalali.pack(1399, 7, 30), Jalali.pack(1399, 6, 31)));
+    }
+
+    @Test
+    public void ageOfEsfandBirthday() {
+        int birth = Jalali.pack(1403, 12, 30);
+        assertEquals(0, Jalali.age(birth, Jalali.pack(1404, 12, 28)));
+        assertEquals(1, Jalali.age(birth, Jalali.pack(1404, 12, 29)));
+        assertEquals(4, Jalali.age(birth, Jalali.pack(1407, 12, 29)));
+        assertEquals(5, Jalali.age(birth, Jalali.pack(1408, 12, 30)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void plusMonthsRejectsInvalidDate() {
+        Jalali.plusMonths(Jalali.pack(1404, 12, 30), 1);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JalaliCodecTest {
+    private static int[] allDates() {
+        List<Integer> dates = new ArrayList<>();
+        for (int year = Jalali.MIN_YEAR; year <= Jalali.MAX_YEAR; year++) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= Jalali.lengthOfMonth(year, month); day++) {
+                    dates.add(Jalali.pack(year, month, day));
+                }
+            }
+        }
+        int[] packed = new int[dates.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = dates.get(i);
+        }
+        return packed;
+    }
+
+    @Test
+    public void bytesAreChronologicalAndRoundTrip() {
+        int[] packed = allDates();
+        for (JalaliCodec codec : JalaliCodec.values()) {
+            int size = codec.getSize();
+            ByteBuffer heap = ByteBuffer.allocate(packed.length * size);
+            ByteBuffer direct = ByteBuffer.allocateDirect(packed.length * size);
+            codec.encode(packed, 0, packed.length, heap);
+            codec.encode(packed, 0, packed.length, direct);
+            heap.flip();
+            direct.flip();
+            assertTrue(codec.name(), heap.equals(direct));
+
+            byte[] bytes = heap.array();
+            for (int i = 1; i < packed.length; i++) {
+                int cmp = 0;
+                for (int k = 0; k < size && cmp == 0; k++) {
+                    cmp = (bytes[(i - 1) * size + k] & 0xFF) - (bytes[i * size + k] & 0xFF);
+                }
+                assertTrue(codec.name() + " at " + i, cmp < 0);
+            }
+
+            int[] decoded = new int[packed.length];
+            codec.decode(direct, decoded, 0, decoded.length);
+            assertArrayEquals(codec.name(), packed, decoded);
+        }
+    }
+
+    @Test
+    public void monthPrefixMatchesEncoding() {
+        for (JalaliCodec codec : JalaliCodec.values()) {
+            byte[] bytes = new byte[codec.getSize()];
+            codec.encode(Jalali.pack(1403, 12, 30), bytes, 0);
+            assertArrayEquals(codec.name(), codec.monthPrefix(1403, 12), Arrays.copyOf(bytes, bytes.length - 1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDateIsRejected() {
+        JalaliCodec.FOUR_BYTES.encode(Jalali.pack(1404, 12, 30), new byte[4], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void corruptBytesAreRejected() {
+        JalaliCodec.THREE_BYTES.decode(new byte[]{0, 0, 0}, 0);
+    }
+}
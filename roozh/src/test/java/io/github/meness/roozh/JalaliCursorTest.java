@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JalaliCursorTest {
+    private static void assertAt(long epochDay, JalaliCursor cursor) {
+        assertEquals(Jalali.toJalali(epochDay), cursor.get());
+        assertEquals(epochDay, cursor.getEpochDay());
+    }
+
+    private static void assertOutOfRange(JalaliCursor cursor, JalaliUnit unit) {
+        int date = cursor.get();
+        long epochDay = cursor.getEpochDay();
+        try {
+            cursor.next(unit);
+            fail(unit + " after " + cursor);
+        } catch (IllegalStateException expected) {
+            // state is kept
+        }
+        assertEquals(date, cursor.get());
+        assertEquals(epochDay, cursor.getEpochDay());
+    }
+
+    @Test
+    public void daysAndWeeksOfWholeRange() {
+        JalaliCursor days = new JalaliCursor(Jalali.toJalali(Jalali.MIN_EPOCH_DAY));
+        for (long epochDay = Jalali.MIN_EPOCH_DAY; epochDay < Jalali.MAX_EPOCH_DAY; epochDay++) {
+            days.nextDay();
+            assertAt(epochDay + 1, days);
+        }
+        for (int start = 0; start < 7; start++) {
+            JalaliCursor weeks = new JalaliCursor(Jalali.toJalali(Jalali.MIN_EPOCH_DAY + start));
+            for (long epochDay = Jalali.MIN_EPOCH_DAY + start; epochDay + 7 <= Jalali.MAX_EPOCH_DAY; epochDay += 7) {
+                weeks.next(JalaliUnit.WEEK);
+                assertAt(epochDay + 7, weeks);
+            }
+        }
+    }
+
+    @Test
+    public void monthsAndYearsKeepDayOfMonth() {
+        for (int day = 1; day <= 31; day++) {
+            int start = Jalali.pack(Jalali.MIN_YEAR, 1, day);
+            JalaliCursor months = new JalaliCursor(start);
+            for (int i = 1; i < (Jalali.MAX_YEAR - Jalali.MIN_YEAR + 1) * 12; i++) {
+                months.next(JalaliUnit.MONTH);
+                assertEquals(Jalali.plusMonths(start, i), months.get());
+                assertEquals(Jalali.toEpochDay(months.get()), months.getEpochDay());
+            }
+            JalaliCursor years = new JalaliCursor(Jalali.pack(Jalali.MIN_YEAR, 12, Math.min(day, 29)));
+            for (int i = 1; i <= Jalali.MAX_YEAR - Jalali.MIN_YEAR; i++) {
+                years.next(JalaliUnit.YEAR);
+                assertEquals(Jalali.plusYears(Jalali.pack(Jalali.MIN_YEAR, 12, Math.min(day, 29)), i), years.get());
+                assertEquals(Jalali.toEpochDay(years.get()), years.getEpochDay());
+            }
+        }
+    }
+
+    @Test
+    public void anchorDayIsClamped() {
+        // 1403 is leap, 1404 is not
+        JalaliCursor cursor = new JalaliCursor(Jalali.pack(1403, 6, 31));
+        assertEquals(Jalali.pack(1403, 7, 30), cursor.nextMonth().get());
+        for (int month = 8; month <= 11; month++) {
+            assertEquals(Jalali.pack(1403, month, 30), cursor.nextMonth().get());
+        }
+        assertEquals(Jalali.pack(1403, 12, 30), cursor.nextMonth().get());
+        assertEquals(Jalali.pack(1404, 1, 31), cursor.nextMonth().get());
+        assertEquals(Jalali.pack(1404, 12, 29), cursor.set(Jalali.pack(1404, 11, 30)).nextMonth().get());
+        assertEquals(Jalali.pack(1405, 1, 30), cursor.nextMonth().get());
+        assertEquals(Jalali.pack(1404, 12, 29), cursor.set(Jalali.pack(1403, 12, 30)).nextYear().get());
+        assertEquals(Jalali.pack(1408, 12, 30), cursor.nextYear().nextYear().nextYear().nextYear().get());
+        assertEquals(Jalali.pack(1404, 1, 4), cursor.set(Jalali.pack(1403, 12, 27)).nextWeek().get());
+        // day steps move the anchor
+        assertEquals(Jalali.pack(1404, 2, 5), cursor.nextDay().nextMonth().get());
+    }
+
+    @Test
+    public void maxYearIsBoundary() {
+        JalaliCursor cursor = new JalaliCursor(Jalali.toJalali(Jalali.MAX_EPOCH_DAY));
+        for (JalaliUnit unit : JalaliUnit.values()) {
+            assertOutOfRange(cursor, unit);
+        }
+        cursor.set(Jalali.pack(Jalali.MAX_YEAR, 12, 1));
+        assertOutOfRange(cursor, JalaliUnit.MONTH);
+        assertOutOfRange(cursor, JalaliUnit.YEAR);
+        cursor.set(Jalali.toJalali(Jalali.MAX_EPOCH_DAY - 7));
+        assertAt(Jalali.MAX_EPOCH_DAY, cursor.nextWeek());
+        cursor.set(Jalali.toJalali(Jalali.MAX_EPOCH_DAY - 6));
+        assertOutOfRange(cursor, JalaliUnit.WEEK);
+        cursor.set(Jalali.pack(Jalali.MAX_YEAR, 11, 30));
+        cursor.nextMonth();
+        assertAt(Jalali.toEpochDay(Jalali.MAX_YEAR, 12, Jalali.lengthOfMonth(Jalali.MAX_YEAR, 12)), cursor);
+        cursor.set(Jalali.pack(Jalali.MAX_YEAR - 1, 12, 29));
+        cursor.nextYear();
+        assertAt(Jalali.toEpochDay(Jalali.MAX_YEAR, 12, 29), cursor);
+    }
+}
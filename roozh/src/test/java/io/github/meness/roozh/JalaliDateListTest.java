@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class JalaliDateListTest {
+    @Test
+    public void sortMatchesArraysSort() {
+        Random random = new Random(42);
+        long span = Jalali.MAX_EPOCH_DAY - Jalali.MIN_EPOCH_DAY + 1;
+        for (int size : new int[]{0, 1, 31, 1000, 200000}) {
+            JalaliDateList list = new JalaliDateList();
+            for (int i = 0; i < size; i++) {
+                // mix of the whole range and a crowded few months
+                long epochDay = i % 2 == 0 ? Jalali.MIN_EPOCH_DAY + (long) (random.nextDouble() * span)
+                        : random.nextInt(100);
+                list.add(Jalali.toJalali(epochDay));
+            }
+            int[] expected = list.toArray();
+            Arrays.sort(expected);
+            list.sort();
+            assertArrayEquals("size " + size, expected, list.toArray());
+        }
+    }
+
+    @Test
+    public void viewsAndGroups() {
+        JalaliDateList list = new JalaliDateList();
+        list.add(Jalali.pack(1403, 12, 30));
+        list.add(Jalali.pack(1403, 1, 1));
+        list.add(Jalali.pack(1404, 1, 1));
+        list.add(Jalali.pack(1403, 12, 1));
+        list.sort();
+
+        JalaliDateList esfand = list.viewMonth(1403, 12);
+        assertEquals(2, esfand.size());
+        assertEquals(Jalali.pack(1403, 12, 1), esfand.get(0));
+        assertEquals(3, list.viewYear(1403).size());
+        assertEquals(0, list.viewMonth(1403, 6).size());
+
+        assertEquals(1, list.groupEnd(0, JalaliUnit.MONTH));
+        assertEquals(3, list.groupEnd(1, JalaliUnit.MONTH));
+        assertEquals(3, list.groupEnd(0, JalaliUnit.YEAR));
+        assertEquals(-2, list.binarySearch(Jalali.pack(1403, 6, 1)));
+    }
+
+    @Test
+    public void printWithoutDateObjects() {
+        JalaliDateList list = new JalaliDateList();
+        list.add(Jalali.pack(1399, 12, 1));
+        list.add(Jalali.pack(1399, 12, 2));
+        RoozhPrinter printer = RoozhFormatter.ofPattern("yyyy/MM/dd EEEE", RoozhLocale.ENGLISH);
+        assertEquals("1399/12/01 Friday; 1399/12/02 Saturday",
+                list.printAll(printer, "; ", new StringBuilder()).toString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewIsReadOnly() {
+        JalaliDateList list = new JalaliDateList();
+        list.add(Jalali.pack(1399, 1, 1));
+        list.view(0, 1).add(Jalali.pack(1399, 1, 2));
+    }
+}
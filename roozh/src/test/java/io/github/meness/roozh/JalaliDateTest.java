@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import io.github.meness.roozh.locales.EnglishLocale;
+import io.github.meness.roozh.locales.PersianLocale;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JalaliDateTest {
+    private static int signum(int value) {
+        return value < 0 ? -1 : value > 0 ? 1 : 0;
+    }
+
+    private static void assertInvalidDate(int year, int month, int day) {
+        try {
+            JalaliDate.of(year, month, day);
+            fail(year + "/" + month + "/" + day);
+        } catch (IllegalArgumentException expected) {
+            // rejected
+        }
+        try {
+            JalaliDate.ofPacked(Jalali.pack(year, month, day));
+            fail(year + "/" + month + "/" + day);
+        } catch (IllegalArgumentException expected) {
+            // rejected
+        }
+    }
+
+    private static void assertInvalidTime(int hour, int minute, int second, int millisecond) {
+        try {
+            JalaliDateTime.of(JalaliDate.of(1403, 1, 1), hour, minute, second, millisecond);
+            fail(hour + ":" + minute + ":" + second + "." + millisecond);
+        } catch (IllegalArgumentException expected) {
+            // rejected
+        }
+    }
+
+    @Test
+    public void datesAreValues() {
+        JalaliDate date = JalaliDate.of(1403, 12, 30);
+        assertEquals(date, JalaliDate.ofPacked(Jalali.pack(1403, 12, 30)));
+        assertEquals(date, JalaliDate.ofEpochDay(date.toEpochDay()));
+        assertEquals(date.hashCode(), JalaliDate.ofEpochDay(date.toEpochDay()).hashCode());
+        assertFalse(date.equals(JalaliDate.of(1404, 1, 1)));
+        assertFalse(date.equals(Jalali.pack(1403, 12, 30)));
+        assertFalse(date.equals(null));
+        assertEquals("1403/12/30", date.toString());
+        assertEquals("1404/01/01", date.plusDays(1).toString());
+        assertEquals(Calendar.THURSDAY, date.getDayOfWeek());
+        assertEquals(JalaliDate.of(1404, 12, 29), date.plusYears(1));
+        assertEquals(JalaliDate.of(1404, 1, 30), date.plusMonths(1));
+    }
+
+    @Test
+    public void compareToMatchesEpochDay() {
+        // including years before 1 and the ends of the range
+        long[] days = {Jalali.MIN_EPOCH_DAY, Jalali.MIN_EPOCH_DAY + 400, -227000, -226000, -1, 0, 1, 19800,
+                Jalali.MAX_EPOCH_DAY - 1, Jalali.MAX_EPOCH_DAY};
+        for (long a : days) {
+            for (long b : days) {
+                JalaliDate x = JalaliDate.ofEpochDay(a);
+                JalaliDate y = JalaliDate.ofEpochDay(b);
+                assertEquals(x + " " + y, Long.signum(a - b), signum(x.compareTo(y)));
+                assertEquals(a == b, x.equals(y));
+                JalaliDateTime noon = JalaliDateTime.of(x, 12, 0, 0, 0);
+                JalaliDateTime morning = JalaliDateTime.of(y, 11, 59, 59, 999);
+                assertEquals(a < b ? -1 : 1, signum(noon.compareTo(morning)));
+            }
+        }
+    }
+
+    @Test
+    public void dateTimesAreValues() {
+        JalaliDateTime dateTime = JalaliDateTime.of(JalaliDate.of(1403, 12, 30), 13, 5, 9, 7);
+        assertEquals(dateTime, JalaliDateTime.ofLocalEpochMillis(dateTime.toLocalEpochMillis()));
+        assertEquals(dateTime.hashCode(), JalaliDateTime.ofLocalEpochMillis(dateTime.toLocalEpochMillis()).hashCode());
+        assertFalse(dateTime.equals(JalaliDateTime.of(JalaliDate.of(1403, 12, 30), 13, 5, 9, 8)));
+        assertFalse(dateTime.equals(dateTime.getDate()));
+        assertEquals(0, dateTime.compareTo(JalaliDateTime.ofLocalEpochMillis(dateTime.toLocalEpochMillis())));
+        assertEquals("1403/12/30 13:05:09.007", dateTime.toString());
+        assertEquals(1, dateTime.getHour());
+        assertEquals(13, dateTime.getHourOfDay());
+        assertEquals(Calendar.PM, dateTime.getAmPm());
+        assertEquals(Calendar.THURSDAY, dateTime.getDayOfWeek());
+        assertEquals(((13 * 60 + 5) * 60 + 9) * 1000 + 7, dateTime.getMillisOfDay());
+        assertEquals(Calendar.AM, JalaliDateTime.of(dateTime.getDate(), 0, 0, 0, 0).getAmPm());
+        assertEquals(0, JalaliDateTime.of(dateTime.getDate(), 12, 0, 0, 0).getHour());
+        // before 1970 the local millis are negative
+        JalaliDateTime early = JalaliDateTime.ofLocalEpochMillis(-1);
+        assertEquals("1348/10/10 23:59:59.999", early.toString());
+    }
+
+    @Test
+    public void ofEpochMillisMatchesCalendar() {
+        TimeZone tehran = TimeZone.getTimeZone("Asia/Tehran");
+        for (long millis : RoozhPrinterTest.instants()) {
+            Calendar calendar = Calendar.getInstance(tehran);
+            calendar.setTimeInMillis(millis);
+            JalaliDateTime dateTime = JalaliDateTime.ofEpochMillis(millis, RoozhZone.TEHRAN);
+            assertEquals(dateTime, JalaliDateTime.ofEpochMillis(millis, tehran));
+            assertEquals(JalaliDate.ofEpochMillis(millis, RoozhZone.TEHRAN), dateTime.getDate());
+            assertEquals(JalaliDate.ofEpochMillis(millis, tehran), dateTime.getDate());
+            assertEquals(calendar.get(Calendar.HOUR_OF_DAY), dateTime.getHourOfDay());
+            assertEquals(calendar.get(Calendar.HOUR), dateTime.getHour());
+            assertEquals(calendar.get(Calendar.MINUTE), dateTime.getMinute());
+            assertEquals(calendar.get(Calendar.SECOND), dateTime.getSecond());
+            assertEquals(calendar.get(Calendar.MILLISECOND), dateTime.getMillisecond());
+            assertEquals(calendar.get(Calendar.AM_PM), dateTime.getAmPm());
+            assertEquals(calendar.get(Calendar.DAY_OF_WEEK), dateTime.getDayOfWeek());
+            Roozh roozh = Roozh.getInstance().gregorianToPersian(millis);
+            assertEquals(Jalali.pack(roozh.getYear(), roozh.getMonth(), roozh.getDayOfMonth()),
+                    dateTime.getDate().toPacked());
+        }
+    }
+
+    @Test
+    public void rangeIsValidated() {
+        assertInvalidDate(1403, 0, 1);
+        assertInvalidDate(1403, 13, 1);
+        assertInvalidDate(1403, 1, 0);
+        assertInvalidDate(1403, 1, 32);
+        assertInvalidDate(1403, 7, 31);
+        assertInvalidDate(1404, 12, 30);
+        assertInvalidDate(Jalali.MIN_YEAR - 1, 12, 29);
+        assertInvalidDate(Jalali.MAX_YEAR + 1, 1, 1);
+        assertEquals(Jalali.MIN_EPOCH_DAY, JalaliDate.of(Jalali.MIN_YEAR, 1, 1).toEpochDay());
+        assertEquals(Jalali.MAX_EPOCH_DAY, JalaliDate.ofPacked(Jalali.toJalali(Jalali.MAX_EPOCH_DAY)).toEpochDay());
+        try {
+            JalaliDate.ofEpochDay(Jalali.MAX_EPOCH_DAY + 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // rejected
+        }
+        assertInvalidTime(-1, 0, 0, 0);
+        assertInvalidTime(24, 0, 0, 0);
+        assertInvalidTime(0, 60, 0, 0);
+        assertInvalidTime(0, 0, 60, 0);
+        assertInvalidTime(0, 0, 0, 1000);
+        assertInvalidTime(0, 0, 0, -1);
+        assertEquals(JalaliDateTime.MILLIS_PER_DAY - 1,
+                JalaliDateTime.of(JalaliDate.of(1403, 1, 1), 23, 59, 59, 999).getMillisOfDay());
+    }
+
+    @Test
+    public void saturdayNames() {
+        // Calendar.SATURDAY is 7, past the last index of the name enums
+        assertEquals("Saturday", EnglishLocale.DayOfWeek.getS(Calendar.SATURDAY));
+        assertEquals(PersianLocale.DayOfWeek.getS(0), PersianLocale.DayOfWeek.getS(Calendar.SATURDAY));
+        // 1403/12/25 is a Saturday
+        long millis = Jalali.toEpochDay(1403, 12, 25) * JalaliDateTime.MILLIS_PER_DAY;
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            Roozh roozh = Roozh.getInstance(locale).gregorianToPersian(millis);
+            assertEquals(Calendar.SATURDAY, roozh.getDayOfWeek());
+            String expected = locale.getDayOfWeekText(Calendar.SATURDAY);
+            assertEquals(expected, new RoozhFormatter(roozh).appendDayOfWeekText().build());
+            assertEquals("7", new RoozhFormatter(roozh).appendDayOfWeek().build());
+            assertTrue(expected.length() > 0);
+        }
+    }
+}
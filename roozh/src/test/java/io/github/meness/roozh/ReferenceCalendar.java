@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+/**
+ * The original Roozh arithmetic by Kazimierz Borkowski, kept verbatim as the reference
+ * every engine is checked against. Not thread-safe, results are left in fields like the
+ * original did.
+ * <p>
+ * The only change is in {@link #JD2Jal(int)}: the original passed <code>J1G0 = 0</code>
+ * to {@link #JG2JD(int, int, int, int)}, which applies the Julian correction on top of
+ * an already Gregorian formula. Here both directions use the Gregorian form, as
+ * {@link #Jal2JD(int, int, int)} always did. The original is kept as
+ * {@link #originalJD2Jal(int)} to pin the days where the two differ.
+ * <p>
+ * {@link #JD2Jal(int)} is undefined for the last days of year 3177 falling in Gregorian
+ * 3799, whose Jalali year 3178 is past the break table.
+ */
+class ReferenceCalendar {
+    int iJY, iJM, iJD;
+    int iGY, iGM, iGD;
+    // 0 for leap years
+    int iLeap;
+    private int iMarch;
+
+    int JG2JD(int year, int month, int day, int J1G0) {
+        int jd = (1461 * (year + 4800 + (month - 14) / 12)) / 4
+                + (367 * (month - 2 - 12 * ((month - 14) / 12))) / 12
+                - (3 * ((year + 4900 + (month - 14) / 12) / 100)) / 4 + day
+                - 32075;
+
+        if (J1G0 == 0)
+            jd = jd - (year + 100100 + (month - 8) / 6) / 100 * 3 / 4 + 752;
+
+        return jd;
+    }
+
+    void JD2Jal(int JDN) {
+        JD2JG(JDN, 0);
+
+        iJY = iGY - 621;
+        JalCal(iJY);
+
+        int JDN1F = JG2JD(iGY, 3, iMarch, 1);
+        int k = JDN - JDN1F;
+        if (k >= 0) {
+            if (k <= 185) {
+                iJM = 1 + k / 31;
+                iJD = (k % 31) + 1;
+                return;
+            } else {
+                k = k - 186;
+            }
+        } else {
+            iJY = iJY - 1;
+            k = k + 179;
+            if (iLeap == 1)
+                k = k + 1;
+        }
+
+        iJM = 7 + k / 30;
+        iJD = (k % 30) + 1;
+    }
+
+    void originalJD2Jal(int JDN) {
+        JD2JG(JDN, 0);
+
+        iJY = iGY - 621;
+        JalCal(iJY);
+
+        int JDN1F = JG2JD(iGY, 3, iMarch, 0);
+        int k = JDN - JDN1F;
+        if (k >= 0) {
+            if (k <= 185) {
+                iJM = 1 + k / 31;
+                iJD = (k % 31) + 1;
+                return;
+            } else {
+                k = k - 186;
+            }
+        } else {
+            iJY = iJY - 1;
+            k = k + 179;
+            if (iLeap == 1)
+                k = k + 1;
+        }
+
+        iJM = 7 + k / 30;
+        iJD = (k % 30) + 1;
+    }
+
+    void JD2JG(int JD, int J1G0) {
+        int i, j;
+
+        j = 4 * JD + 139361631;
+
+        if (J1G0 == 0) {
+            j = j + (4 * JD + 183187720) / 146097 * 3 / 4 * 4 - 3908;
+        }
+
+        i = (j % 1461) / 4 * 5 + 308;
+        iGD = (i % 153) / 5 + 1;
+        iGM = ((i / 153) % 12) + 1;
+        iGY = j / 1461 - 100100 + (8 - iGM) / 6;
+    }
+
+    void JalCal(int jY) {
+        iMarch = 0;
+        iLeap = 0;
+
+        int[] breaks = {-61, 9, 38, 199, 426, 686, 756, 818, 1111, 1181, 1210,
+                1635, 2060, 2097, 2192, 2262, 2324, 2394, 2456, 3178};
+
+        iGY = jY + 621;
+        int leapJ = -14;
+        int jp = breaks[0];
+
+        int jump;
+        for (int j = 1; j <= 19; j++) {
+            int jm = breaks[j];
+            jump = jm - jp;
+            if (jY < jm) {
+                int N = jY - jp;
+                leapJ = leapJ + N / 33 * 8 + (N % 33 + 3) / 4;
+
+                if ((jump % 33) == 4 && (jump - N) == 4)
+                    leapJ = leapJ + 1;
+
+                int leapG = (iGY / 4) - (iGY / 100 + 1) * 3 / 4 - 150;
+
+                iMarch = 20 + leapJ - leapG;
+
+                if ((jump - N) < 6)
+                    N = N - jump + (jump + 4) / 33 * 33;
+
+                iLeap = ((((N + 1) % 33) - 1) % 4);
+
+                if (iLeap == -1)
+                    iLeap = 4;
+                break;
+            }
+
+            leapJ = leapJ + jump / 33 * 8 + (jump % 33) / 4;
+            jp = jm;
+        }
+    }
+
+    int Jal2JD(int jY, int jM, int jD) {
+        JalCal(jY);
+        return JG2JD(iGY, 3, iMarch, 1) + (jM - 1) * 31 - jM / 7 * (jM - 7)
+                + jD - 1;
+    }
+}
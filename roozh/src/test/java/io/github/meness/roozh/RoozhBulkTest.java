@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class RoozhBulkTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void formatMatchesPrinter() {
+        RoozhPrinter printer = RoozhFormatter.ofPattern("yyyy/MM/dd EEEE HH:mm:ss a", RoozhLocale.PERSIAN)
+                .withNativeDigits();
+        // small columns stay on the calling thread, large ones are chunked
+        for (int length : new int[]{0, 3, RoozhBulk.PARALLEL_THRESHOLD * 2 + 5}) {
+            long[] epochMillis = new long[length];
+            int[] packed = new int[length];
+            for (int i = 0; i < length; i++) {
+                epochMillis[i] = 1500000000000L + i * 977777L;
+                packed[i] = Jalali.toJalali(i % 20000);
+            }
+            char[] chars = new char[length * printer.getMaxLength()];
+            byte[] bytes = new byte[length * printer.getMaxUtf8Length()];
+            int[] charOffsets = new int[length + 1];
+            int[] byteOffsets = new int[length + 1];
+
+            assertEquals(RoozhBulk.format(printer, epochMillis, chars, charOffsets), charOffsets[length]);
+            RoozhBulk.format(printer, epochMillis, bytes, byteOffsets);
+            for (int i = 0; i < length; i++) {
+                String expected = printer.format(epochMillis[i]);
+                assertEquals(expected, new String(chars, charOffsets[i], charOffsets[i + 1] - charOffsets[i]));
+                assertEquals(expected, new String(bytes, byteOffsets[i], byteOffsets[i + 1] - byteOffsets[i], UTF_8));
+            }
+
+            RoozhBulk.formatDates(printer, packed, chars, charOffsets);
+            RoozhBulk.formatDates(printer, packed, bytes, byteOffsets);
+            for (int i = 0; i < length; i++) {
+                String expected = printer.printDate(packed[i], new StringBuilder()).toString();
+                assertEquals(expected, new String(chars, charOffsets[i], charOffsets[i + 1] - charOffsets[i]));
+                assertEquals(expected, new String(bytes, byteOffsets[i], byteOffsets[i + 1] - byteOffsets[i], UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void conversionsMatchJalali() {
+        Random random = new Random(7);
+        long days = Jalali.MAX_EPOCH_DAY - Jalali.MIN_EPOCH_DAY - 1;
+        TimeZone tehran = TimeZone.getTimeZone("Asia/Tehran");
+        TimeZone berlin = TimeZone.getTimeZone("Europe/Berlin");
+        // small arrays stay on the calling thread, large ones are split into many fork/join leaves
+        for (int length : new int[]{0, 5, RoozhBulk.PARALLEL_THRESHOLD * 3 + 17}) {
+            long[] epochMillis = new long[length];
+            int[] epochDays = new int[length];
+            for (int i = 0; i < length; i++) {
+                epochDays[i] = (int) (Jalali.MIN_EPOCH_DAY + 1 + (long) (random.nextDouble() * days));
+                epochMillis[i] = epochDays[i] * (long) JalaliDateTime.MILLIS_PER_DAY + random.nextInt(86400000);
+            }
+            int[] packed = new int[length];
+            int[] out = new int[length + 2];
+
+            RoozhBulk.convert(epochMillis, out, RoozhZone.KABUL);
+            for (int i = 0; i < length; i++) {
+                assertEquals(Jalali.toJalaliFromMillis(epochMillis[i], RoozhZone.KABUL), out[i]);
+            }
+            RoozhBulk.convert(epochMillis, out, tehran);
+            for (int i = 0; i < length; i++) {
+                assertEquals(Jalali.toJalaliFromMillis(epochMillis[i], RoozhZone.TEHRAN), out[i]);
+            }
+            RoozhBulk.convert(epochMillis, out, berlin);
+            for (int i = 0; i < length; i++) {
+                assertEquals(Jalali.toJalaliFromMillis(epochMillis[i], berlin), out[i]);
+            }
+            RoozhBulk.convert(epochMillis, out);
+            for (int i = 0; i < length; i++) {
+                assertEquals(Jalali.toJalaliFromMillis(epochMillis[i], RoozhZone.TEHRAN), out[i]);
+            }
+
+            RoozhBulk.toJalali(epochDays, packed);
+            for (int i = 0; i < length; i++) {
+                assertEquals(Jalali.toJalali(epochDays[i]), packed[i]);
+            }
+            RoozhBulk.toEpochDays(packed, out);
+            for (int i = 0; i < length; i++) {
+                assertEquals(epochDays[i], out[i]);
+                assertEquals(Jalali.toEpochDay(packed[i]), out[i]);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDateIsRejected() {
+        int[] packed = new int[RoozhBulk.PARALLEL_THRESHOLD * 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = Jalali.toJalali(i);
+        }
+        packed[packed.length - 3] = Jalali.pack(1404, 12, 30);
+        RoozhBulk.toEpochDays(packed, new int[packed.length]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dayOutOfRangeIsRejected() {
+        RoozhBulk.toJalali(new int[]{0, (int) Jalali.MAX_EPOCH_DAY + 1}, new int[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shortConversionTargetIsRejected() {
+        RoozhBulk.convert(new long[3], new int[2], RoozhZone.TEHRAN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shortEpochDayTargetIsRejected() {
+        RoozhBulk.toEpochDays(new int[]{Jalali.pack(1403, 1, 1)}, new int[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shortTargetIsRejected() {
+        RoozhPrinter printer = RoozhFormatter.ofPattern("yyyy/MM/dd", RoozhLocale.ENGLISH);
+        RoozhBulk.format(printer, new long[2], new char[printer.getMaxLength()], new int[3]);
+    }
+}
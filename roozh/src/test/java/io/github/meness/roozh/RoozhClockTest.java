@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class RoozhClockTest {
+    private static final long MILLIS_PER_DAY = JalaliDateTime.MILLIS_PER_DAY;
+
+    private static Object cachedSecond(RoozhClock clock) throws ReflectiveOperationException {
+        Field field = RoozhClock.class.getDeclaredField("second");
+        field.setAccessible(true);
+        return field.get(clock);
+    }
+
+    private static void assertToday(RoozhClock clock, long millis) {
+        assertEquals("at " + millis, Jalali.toJalaliFromMillis(millis, clock.getZone()), clock.today(millis));
+    }
+
+    private static void assertDay(RoozhClock clock, long from, long to) {
+        for (long millis = from; millis < to; millis += 60000) {
+            assertToday(clock, millis);
+            assertToday(clock, millis + 59999);
+        }
+    }
+
+    @Test
+    public void midnightRollover() {
+        RoozhClock clock = new RoozhClock(RoozhZone.TEHRAN);
+        // 1403/12/30 to 1404/01/01, a leap Esfand into the new year
+        long midnight = Jalali.toEpochDay(1404, 1, 1) * MILLIS_PER_DAY - 12600000;
+        assertToday(clock, midnight - 1);
+        assertToday(clock, midnight);
+        assertToday(clock, midnight - 1);
+        assertEquals(Jalali.pack(1404, 1, 1), clock.today(midnight));
+        assertEquals(Jalali.pack(1403, 12, 30), clock.today(midnight - 1));
+        assertDay(clock, midnight - MILLIS_PER_DAY, midnight + MILLIS_PER_DAY);
+        assertDay(new RoozhClock(RoozhZone.KABUL), midnight - MILLIS_PER_DAY, midnight + MILLIS_PER_DAY);
+        // before 1970
+        assertToday(clock, -1);
+        assertToday(clock, -MILLIS_PER_DAY * 20000 - 1);
+    }
+
+    @Test
+    public void daylightSavingTimeDays() {
+        RoozhClock clock = RoozhClock.TEHRAN;
+        // 1401/01/02 starts at 01:00 and lasts 23 hours
+        long spring = 1647894600000L;
+        assertEquals(Jalali.pack(1401, 1, 1), clock.today(spring - 1));
+        assertEquals(Jalali.pack(1401, 1, 2), clock.today(spring));
+        assertDay(clock, spring - MILLIS_PER_DAY, spring + MILLIS_PER_DAY);
+        // 1401/06/30 repeats its last hour and lasts 25 hours
+        long autumn = 1663788600000L;
+        assertEquals(Jalali.pack(1401, 6, 30), clock.today(autumn));
+        assertEquals(Jalali.pack(1401, 6, 31), clock.today(autumn + 3600000));
+        assertEquals(Jalali.pack(1401, 6, 30), clock.today(autumn + 3600000 - 1));
+        assertDay(clock, autumn - MILLIS_PER_DAY, autumn + MILLIS_PER_DAY);
+    }
+
+    @Test
+    public void stampMatchesPrinter() {
+        RoozhPrinter printer = RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm:ss", RoozhLocale.PERSIAN);
+        RoozhClock clock = new RoozhClock(RoozhZone.TEHRAN);
+        for (long millis : RoozhPrinterTest.instants()) {
+            String expected = printer.format(millis) + "."
+                    + String.format("%03d", millis - Jalali.floorDiv(millis, 1000) * 1000);
+            assertEquals(expected, clock.stamp(millis, new StringBuilder()).toString());
+        }
+        assertEquals("1403/12/30 00:00:00.007", clock.stamp(Jalali.toEpochDay(1403, 12, 30) * MILLIS_PER_DAY
+                - 12600000 + 7, new StringBuilder()).toString());
+    }
+
+    @Test
+    public void stampInNativeDigits() {
+        RoozhPrinter printer = RoozhFormatter.ofPattern("HH:mm:ss", RoozhLocale.PERSIAN, RoozhDigits.PERSIAN);
+        RoozhClock clock = new RoozhClock(RoozhZone.TEHRAN, printer);
+        long millis = Jalali.toEpochDay(1403, 12, 30) * MILLIS_PER_DAY - 12600000 + 45296789;
+        assertEquals("\u06f1\u06f2:\u06f3\u06f4:\u06f5\u06f6.\u06f7\u06f8\u06f9",
+                clock.stamp(millis, new StringBuilder()).toString());
+    }
+
+    @Test
+    public void secondIsCached() throws ReflectiveOperationException {
+        RoozhClock clock = new RoozhClock(RoozhZone.TEHRAN);
+        long second = 1700000000000L;
+        clock.stamp(second + 1, new StringBuilder());
+        Object cached = cachedSecond(clock);
+        for (int millis = 0; millis < 1000; millis += 37) {
+            StringBuilder sb = new StringBuilder("> ");
+            assertEquals("> 1402/08/24 01:43:20." + String.format("%03d", millis),
+                    clock.stamp(second + millis, sb).toString());
+            assertSame(cached, cachedSecond(clock));
+        }
+        assertEquals("1402/08/24 01:43:21.000", clock.stamp(second + 1000, new StringBuilder()).toString());
+        assertNotSame(cached, cachedSecond(clock));
+        assertEquals("1402/08/24 01:43:19.999", clock.stamp(second - 1, new StringBuilder()).toString());
+        assertEquals("1402/08/24 01:43:20.500", clock.stamp(second + 500, new StringBuilder()).toString());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import io.github.meness.roozh.utils.FormatUtils;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class RoozhDigitsTest {
+    // 1403/12/30 12:05:09.007 in Tehran, a Thursday
+    private static final long MILLIS = Jalali.toEpochDay(1403, 12, 30) * JalaliDateTime.MILLIS_PER_DAY + 30909007L;
+
+    private static String shape(String text, RoozhDigits digits) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            sb.append(c >= '0' && c <= '9' ? digits.getDigit(c - '0') : c);
+        }
+        return sb.toString();
+    }
+
+    private static RoozhFormatter formatter(Roozh roozh) {
+        // literal digits stay Latin, numbers of components are shaped
+        return new RoozhFormatter(roozh).appendText("No.1 ").appendYear(false).appendSlash()
+                .appendMonthLeadingZero().appendSlash().appendDayOfMonth(true).appendSpace().appendMonthName()
+                .appendSpace().appendDayOfWeekText().appendSpace().appendHourOfDay(true).appendColon()
+                .appendMinute(true).appendColon().appendSecond(true).appendDot().appendMillisecond().appendSpace()
+                .appendAmPm().appendCharacter('9');
+    }
+
+    @Test
+    public void digitSets() {
+        assertEquals("0123456789", shape("0123456789", RoozhDigits.LATIN));
+        assertEquals("\u06f0\u06f1\u06f2\u06f3\u06f4\u06f5\u06f6\u06f7\u06f8\u06f9",
+                shape("0123456789", RoozhDigits.PERSIAN));
+        assertEquals("\u0660\u0661\u0662\u0663\u0664\u0665\u0666\u0667\u0668\u0669",
+                shape("0123456789", RoozhDigits.ARABIC_INDIC));
+        for (RoozhDigits digits : RoozhDigits.values()) {
+            assertEquals(digits.getDigit(7), digits.shape('7'));
+            assertEquals('x', digits.shape('x'));
+            assertEquals('\u06f7', digits.shape('\u06f7'));
+            assertEquals("[" + shape("1403/12, Esfand", digits),
+                    FormatUtils.appendShaped(new StringBuilder("["), "1403/12, Esfand", digits).toString());
+        }
+        assertEquals(RoozhDigits.PERSIAN, RoozhLocale.PERSIAN.getDigits());
+        assertEquals(RoozhDigits.PERSIAN, RoozhLocale.DARI.getDigits());
+        assertEquals(RoozhDigits.PERSIAN, RoozhLocale.PASHTO.getDigits());
+        assertEquals(RoozhDigits.ARABIC_INDIC, RoozhLocale.KURDISH.getDigits());
+        assertEquals(RoozhDigits.LATIN, RoozhLocale.ENGLISH.getDigits());
+    }
+
+    @Test
+    public void buildAndPrinterShapeNumbersOnly() {
+        Roozh roozh = Roozh.getInstance(RoozhLocale.ENGLISH).gregorianToPersian(MILLIS);
+        for (RoozhDigits digits : RoozhDigits.values()) {
+            String expected = "No.1 " + shape("1403/12/30", digits) + " Esfand Thursday "
+                    + shape("12:05:09.7", digits) + " p.m.9";
+            RoozhFormatter formatter = formatter(roozh).setDigits(digits);
+            assertEquals(expected, formatter.build());
+            assertEquals(expected, formatter.compile().format(MILLIS));
+            assertEquals(expected, formatter(roozh).compile().withDigits(digits).format(MILLIS));
+            assertEquals(expected, RoozhFormatter.ofPattern("'No.1 'yyyy/MM/dd MMM EEEE HH:mm:ss.S a'9'",
+                    RoozhLocale.ENGLISH, digits).format(MILLIS));
+        }
+    }
+
+    @Test
+    public void nativeDigitsOfLocales() {
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            Roozh roozh = Roozh.getInstance(locale).gregorianToPersian(MILLIS);
+            RoozhDigits digits = locale.getDigits();
+            // Dari and Pashto are printed in Kabul, an hour ahead of Tehran
+            String time = RoozhZone.forLocale(locale) == RoozhZone.KABUL ? "13:05:09.7" : "12:05:09.7";
+            String expected = "No.1 " + shape("1403/12/30", digits) + " " + locale.getMonthName(12) + " "
+                    + locale.getDayOfWeekText(Calendar.THURSDAY) + " " + shape(time, digits) + " "
+                    + locale.getAmPmText(Calendar.PM) + "9";
+            RoozhFormatter formatter = formatter(roozh).useNativeDigits();
+            assertEquals(expected, formatter.build());
+            assertEquals(expected, formatter.compile().format(MILLIS));
+            assertEquals(expected, formatter(roozh).compile().withNativeDigits().format(MILLIS));
+            assertEquals(digits, formatter.compile().getDigits());
+        }
+    }
+
+    @Test
+    public void namesAreNotShaped() {
+        Properties properties = new Properties();
+        properties.setProperty("numbered.months", "M1,M2,M3,M4,M5,M6,M7,M8,M9,M10,M11,M12");
+        properties.setProperty("numbered.days", "D7,D1,D2,D3,D4,D5,D6");
+        properties.setProperty("numbered.am", "H0");
+        properties.setProperty("numbered.pm", "H12");
+        RoozhLocaleData numbered = RoozhLocaleData.parse(properties).get("numbered");
+        RoozhPrinter printer = RoozhFormatter.ofPattern("d MMM EEEE a", RoozhLocale.ENGLISH, RoozhDigits.PERSIAN)
+                .withLocale(numbered);
+        assertEquals("\u06f3\u06f0 M12 D5 H12", printer.format(MILLIS));
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import io.github.meness.roozh.locales.DariLocale;
+import io.github.meness.roozh.locales.EnglishLocale;
+import io.github.meness.roozh.locales.KurdishLocale;
+import io.github.meness.roozh.locales.PashtoLocale;
+import io.github.meness.roozh.locales.PersianLocale;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RoozhLocaleDataTest {
+    private static String month(RoozhLocale locale, int month) {
+        switch (locale) {
+            case PERSIAN:
+                return PersianLocale.Month.getS(month);
+            case KURDISH:
+                return KurdishLocale.Month.getS(month);
+            case PASHTO:
+                return PashtoLocale.Month.getS(month);
+            case DARI:
+                return DariLocale.Month.getS(month);
+            default:
+                return EnglishLocale.Month.getS(month);
+        }
+    }
+
+    private static String day(RoozhLocale locale, int dow) {
+        switch (locale) {
+            case PERSIAN:
+                return PersianLocale.DayOfWeek.getS(dow);
+            case KURDISH:
+                return KurdishLocale.DayOfWeek.getS(dow);
+            case PASHTO:
+                return PashtoLocale.DayOfWeek.getS(dow);
+            case DARI:
+                return DariLocale.DayOfWeek.getS(dow);
+            default:
+                return EnglishLocale.DayOfWeek.getS(dow);
+        }
+    }
+
+    private static String[] amPm(RoozhLocale locale) {
+        switch (locale) {
+            case PERSIAN:
+                return new String[]{PersianLocale.AM, PersianLocale.PM};
+            case KURDISH:
+                return new String[]{KurdishLocale.AM, KurdishLocale.PM};
+            case PASHTO:
+                return new String[]{PashtoLocale.AM, PashtoLocale.PM};
+            case DARI:
+                return new String[]{DariLocale.AM, DariLocale.PM};
+            default:
+                return new String[]{EnglishLocale.AM, EnglishLocale.PM};
+        }
+    }
+
+    private static Properties properties(String... entries) {
+        Properties properties = new Properties();
+        for (int i = 0; i < entries.length; i += 2) {
+            properties.setProperty(entries[i], entries[i + 1]);
+        }
+        return properties;
+    }
+
+    private static void assertMalformed(Properties properties) {
+        try {
+            RoozhLocaleData.parse(properties);
+            fail(properties.toString());
+        } catch (IllegalArgumentException expected) {
+            // rejected
+        }
+    }
+
+    @Test
+    public void builtInLocalesMatchRoozh() {
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            Roozh roozh = Roozh.getInstance(locale);
+            RoozhLocaleData data = RoozhLocaleData.of(locale);
+            assertSame(data, RoozhLocaleData.forId(locale.name().toLowerCase()));
+            assertSame(locale, data.getLocale());
+            assertEquals(locale.getDigits(), data.getDigits());
+            for (int month = 1; month <= 12; month++) {
+                assertEquals(month(locale, month), data.getMonthName(month));
+                assertEquals(month(locale, month), roozh.getMonthName(month));
+            }
+            for (int dow = Calendar.SUNDAY; dow <= Calendar.SATURDAY; dow++) {
+                assertEquals(day(locale, dow), data.getDayOfWeekText(dow));
+                assertEquals(day(locale, dow), roozh.getDayOfWeekText(dow));
+            }
+            assertEquals(day(locale, 0), roozh.getDayOfWeekText(Calendar.SATURDAY));
+            for (int amPm : new int[]{Calendar.AM, Calendar.PM}) {
+                assertEquals(amPm(locale)[amPm], data.getAmPmText(amPm));
+                assertEquals(amPm(locale)[amPm], roozh.getAmPmText(amPm));
+            }
+        }
+        RoozhLocaleData english = RoozhLocaleData.of(RoozhLocale.ENGLISH);
+        assertEquals("Esfand", english.getMonthName(12));
+        assertEquals("Saturday", english.getDayOfWeekText(Calendar.SATURDAY));
+        assertEquals("Friday", english.getDayOfWeekText(Calendar.FRIDAY));
+        assertEquals("\u0634\u0646\u0628\u0647", RoozhLocaleData.of(RoozhLocale.PERSIAN)
+                .getDayOfWeekText(Calendar.SATURDAY));
+    }
+
+    @Test
+    public void extensionLocalesFromClassPath() {
+        assertEquals(Arrays.asList("dari", "english", "kurdish", "pashto", "persian", "persian-latin",
+                "persian-short"), Arrays.asList(RoozhLocaleData.getAvailableIds().toArray()));
+        RoozhLocaleData latin = RoozhLocaleData.forId("persian-latin");
+        assertSame(latin, RoozhLocaleData.forId("persian-latin"));
+        assertNull(latin.getLocale());
+        assertEquals(RoozhDigits.LATIN, latin.getDigits());
+        assertEquals("Farvardin", latin.getMonthName(1));
+        assertEquals("Esfand", latin.getMonthName(12));
+        assertEquals("Shanbe", latin.getDayOfWeekText(Calendar.SATURDAY));
+        assertEquals("Jome", latin.getDayOfWeekText(Calendar.FRIDAY));
+        assertEquals("B.Z.", latin.getAmPmText(Calendar.PM));
+
+        RoozhLocaleData compact = RoozhLocaleData.forId("persian-short");
+        assertEquals(RoozhDigits.PERSIAN, compact.getDigits());
+        assertEquals("\u0627\u0633\u0641", compact.getMonthName(12));
+        assertEquals("\u0642.\u0638", compact.getAmPmText(Calendar.AM));
+
+        // built-in ids are not replaced by resources
+        assertSame(RoozhLocaleData.of(RoozhLocale.ENGLISH), RoozhLocaleData.forId("english"));
+        assertEquals("Esfand", RoozhLocaleData.forId("english").getMonthName(12));
+
+        // 1403/12/30 12:00 in Tehran is a Thursday
+        long millis = Jalali.toEpochDay(1403, 12, 30) * JalaliDateTime.MILLIS_PER_DAY + 30600000L;
+        RoozhPrinter printer = RoozhFormatter.ofPattern("d MMM EEEE a", RoozhLocale.ENGLISH);
+        assertEquals("30 Esfand Panjshanbe B.Z.", printer.withLocale(latin).format(millis));
+        assertEquals("\u06f3\u06f0 \u0627\u0633\u0641 \u067e \u0628.\u0638",
+                printer.withLocale(compact).withNativeDigits().format(millis));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownId() {
+        RoozhLocaleData.forId("klingon");
+    }
+
+    @Test
+    public void malformedEntries() {
+        String months = "1,2,3,4,5,6,7,8,9,10,11,12";
+        String days = "1,2,3,4,5,6,7";
+        Map<String, RoozhLocaleData> parsed = RoozhLocaleData.parse(properties("x.months", months, "x.days", days,
+                "x.am", " am ", "x.pm", "pm", "unrelated", "value"));
+        assertEquals(1, parsed.size());
+        assertEquals("am", parsed.get("x").getAmPmText(Calendar.AM));
+        assertTrue(RoozhLocaleData.parse(properties("x.days", days)).isEmpty());
+        // missing days, AM or PM
+        assertMalformed(properties("x.months", months, "x.am", "am", "x.pm", "pm"));
+        assertMalformed(properties("x.months", months, "x.days", days, "x.pm", "pm"));
+        assertMalformed(properties("x.months", months, "x.days", days, "x.am", "am"));
+        // wrong number of names
+        assertMalformed(properties("x.months", "1,2,3,4,5,6,7,8,9,10,11", "x.days", days, "x.am", "am", "x.pm", "pm"));
+        assertMalformed(properties("x.months", months, "x.days", "1,2,3,4,5,6,7,8", "x.am", "am", "x.pm", "pm"));
+        // unknown digits
+        assertMalformed(properties("x.months", months, "x.days", days, "x.am", "am", "x.pm", "pm",
+                "x.digits", "ROMAN"));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RoozhParserTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final long MEHR_25 = Jalali.toEpochDay(1403, 7, 25);
+    private static final long MILLIS_PER_DAY = JalaliDateTime.MILLIS_PER_DAY;
+
+    private static String toDigits(String text, char zero) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(c >= '0' && c <= '9' ? (char) (zero + c - '0') : c);
+        }
+        return sb.toString();
+    }
+
+    private static void assertStatus(int status, String text) {
+        long result = RoozhParser.parseLocalMillis(text);
+        assertTrue(text, RoozhParser.isError(result));
+        assertEquals(text, status, RoozhParser.getStatus(result));
+    }
+
+    @Test
+    public void digitsOfEveryScript() {
+        // Latin, Persian and Arabic-Indic
+        for (char zero : new char[]{'0', '\u06f0', '\u0660'}) {
+            assertEquals(MEHR_25, RoozhParser.parseEpochDay(toDigits("1403/07/25", zero)));
+            assertEquals(MEHR_25, RoozhParser.parseEpochDay(toDigits("25-7-1403", zero)));
+            assertEquals(MEHR_25 * MILLIS_PER_DAY + 47107000,
+                    RoozhParser.parseLocalMillis(toDigits("1403/7/25 13:05:07", zero)));
+        }
+    }
+
+    @Test
+    public void monthNamesOfEveryLocale() {
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            for (int month = 1; month <= 12; month++) {
+                String text = "5 " + locale.getMonthName(month) + " 1403";
+                assertEquals(text, Jalali.toEpochDay(1403, month, 5), RoozhParser.parseEpochDay(text));
+            }
+        }
+    }
+
+    @Test
+    public void subRanges() {
+        String text = "[1403/07/25 13:05]";
+        long expected = MEHR_25 * MILLIS_PER_DAY + 47100000;
+        assertEquals(expected, RoozhParser.parseLocalMillis(text, 1, text.length() - 1));
+        assertEquals(expected, RoozhParser.parseLocalMillis(text.toCharArray(), 1, text.length() - 1));
+        byte[] utf8 = text.getBytes(UTF_8);
+        assertEquals(expected, RoozhParser.parseLocalMillis(utf8, 1, utf8.length - 1));
+
+        // a Persian digit cut by the end of range is not read past it
+        byte[] persian = "1403/07/2\u06f5".getBytes(UTF_8);
+        assertEquals(MEHR_25, RoozhParser.parseEpochDay(persian, 0, persian.length));
+        assertEquals(RoozhParser.SYNTAX, RoozhParser.getStatus(RoozhParser.parseEpochDay(persian, 0, persian.length - 1)));
+    }
+
+    @Test
+    public void fractionsOfSecond() {
+        long seconds = MEHR_25 * MILLIS_PER_DAY + 47107000;
+        assertEquals(seconds + 500, RoozhParser.parseLocalMillis("1403/07/25 13:05:07.5"));
+        assertEquals(seconds + 50, RoozhParser.parseLocalMillis("1403/07/25 13:05:07.05"));
+        assertEquals(seconds + 123, RoozhParser.parseLocalMillis("1403/07/25T13:05:07.123"));
+        assertEquals(seconds + 123, RoozhParser.parseLocalMillis("1403/07/25 13:05:07.123456"));
+    }
+
+    @Test
+    public void everyStatus() {
+        assertFalse(RoozhParser.isError(RoozhParser.parseLocalMillis("1403/07/25")));
+        assertEquals(RoozhParser.OK, RoozhParser.getStatus(RoozhParser.parseLocalMillis("1403/07/25")));
+
+        assertStatus(RoozhParser.EMPTY, "");
+        assertStatus(RoozhParser.EMPTY, " \t ");
+
+        assertStatus(RoozhParser.SYNTAX, "1403/07");
+        assertStatus(RoozhParser.SYNTAX, "Mehr 1403");
+        assertStatus(RoozhParser.SYNTAX, "1403/07/25x");
+        assertStatus(RoozhParser.SYNTAX, "1403/07/25 13");
+        assertStatus(RoozhParser.SYNTAX, "1403/07/25 13:");
+        assertStatus(RoozhParser.SYNTAX, "1403/07/25 13:05 PM");
+
+        assertStatus(RoozhParser.RANGE, "1403/13/01");
+        assertStatus(RoozhParser.RANGE, "1404/12/30");
+        assertStatus(RoozhParser.RANGE, "3178/01/01");
+        assertStatus(RoozhParser.RANGE, "1403/07/25 24:00");
+        assertStatus(RoozhParser.RANGE, "1403/07/25 13:60");
+    }
+
+    @Test
+    public void epochMillisInZone() {
+        // Tehran has been +03:30 all year since 2022
+        assertEquals((MEHR_25 * MILLIS_PER_DAY + 47100000) - 12600000,
+                RoozhParser.parseEpochMillis("1403/07/25 13:05", RoozhZone.TEHRAN));
+        assertEquals(RoozhParser.RANGE,
+                RoozhParser.getStatus(RoozhParser.parseEpochMillis("1403/07/32", RoozhZone.TEHRAN)));
+    }
+}
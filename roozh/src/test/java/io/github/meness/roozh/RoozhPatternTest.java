@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class RoozhPatternTest {
+    // pattern letters and the append calls they stand for, see RoozhPrinterTest.append
+    private static final String[] LETTERS = {"yyyy", "yy", "M", "MM", "MMM", "d", "dd", "u", "uu", "E",
+            "h", "hh", "H", "HH", "m", "mm", "s", "ss", "S", "a"};
+
+    private static void assertSamePrinted(RoozhPrinter expected, RoozhPrinter actual) {
+        for (long millis : RoozhPrinterTest.instants()) {
+            assertEquals(expected.format(millis), actual.format(millis));
+        }
+    }
+
+    @Test
+    public void lettersMatchAppend() {
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            for (int variant = 0; variant < LETTERS.length; variant++) {
+                RoozhFormatter formatter = RoozhPrinterTest.append(new RoozhFormatter(Roozh.getInstance(locale)),
+                        variant);
+                assertSamePrinted(formatter.compile(), RoozhFormatter.ofPattern(LETTERS[variant], locale));
+            }
+        }
+    }
+
+    @Test
+    public void longerRunsMatchAppend() {
+        RoozhFormatter formatter = new RoozhFormatter(Roozh.getInstance(RoozhLocale.ENGLISH));
+        assertSamePrinted(RoozhFormatter.ofPattern("MMM", RoozhLocale.ENGLISH),
+                RoozhFormatter.ofPattern("MMMMM", RoozhLocale.ENGLISH));
+        assertSamePrinted(RoozhFormatter.ofPattern("E", RoozhLocale.ENGLISH),
+                RoozhFormatter.ofPattern("EEEE", RoozhLocale.ENGLISH));
+        assertSamePrinted(formatter.appendYear(false).compile(), RoozhFormatter.ofPattern("y", RoozhLocale.ENGLISH));
+        assertSamePrinted(formatter.clear().appendDayOfWeekLeadingZero().compile(),
+                RoozhFormatter.ofPattern("uuu", RoozhLocale.ENGLISH));
+    }
+
+    @Test
+    public void quotedText() {
+        // 1403/12/30 12:05:09 in Tehran
+        long millis = Jalali.toEpochDay(1403, 12, 30) * JalaliDateTime.MILLIS_PER_DAY + 30909000L;
+        assertEquals("1403/12/30 at 12h05", RoozhFormatter.ofPattern("yyyy/MM/dd 'at' HH'h'mm", RoozhLocale.ENGLISH)
+                .format(millis));
+        assertEquals("'30 it's 09", RoozhFormatter.ofPattern("''d 'it''s' ss", RoozhLocale.ENGLISH).format(millis));
+        assertEquals("30''", RoozhFormatter.ofPattern("d''''", RoozhLocale.ENGLISH).format(millis));
+        assertEquals("yyyy-30", RoozhFormatter.ofPattern("'yyyy'-d", RoozhLocale.ENGLISH).format(millis));
+        assertEquals("30\u060c 12:05:09.0 p.m.",
+                RoozhFormatter.ofPattern("d\u060c HH:mm:ss.S a", RoozhLocale.ENGLISH).format(millis));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownLetter() {
+        RoozhFormatter.ofPattern("yyyy/MM/dd G", RoozhLocale.PERSIAN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unterminatedQuote() {
+        RoozhFormatter.ofPattern("yyyy 'at", RoozhLocale.PERSIAN);
+    }
+
+    @Test
+    public void printersAreCached() {
+        RoozhPrinter printer = RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm", RoozhLocale.KURDISH);
+        assertSame(printer, RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm", RoozhLocale.KURDISH));
+        assertSame(printer, RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm", RoozhLocale.KURDISH, RoozhDigits.LATIN));
+        assertNotSame(printer, RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm", RoozhLocale.DARI));
+        assertNotSame(printer, RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm", RoozhLocale.KURDISH,
+                RoozhDigits.ARABIC_INDIC));
+        assertEquals(RoozhZone.KABUL, RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm", RoozhLocale.DARI)
+                .getCompiledZone());
+    }
+
+    @Test
+    public void evictionKeepsPrintersCorrect() {
+        // more patterns than the cache of a locale holds
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 200; i++) {
+                String pattern = "'" + i + "' yyyy/MM/dd";
+                RoozhPrinter printer = RoozhFormatter.ofPattern(pattern, RoozhLocale.PASHTO);
+                RoozhPrinter expected = new RoozhFormatter(Roozh.getInstance(RoozhLocale.PASHTO)).appendText(i + " ")
+                        .appendYear(false).appendSlash().appendMonthLeadingZero().appendSlash().appendDayOfMonth(true)
+                        .compile();
+                assertSamePrinted(expected, printer);
+                assertSame(printer, RoozhFormatter.ofPattern(pattern, RoozhLocale.PASHTO));
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RoozhPrinterTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    // year, month, day, day of week, hour, minute, second, millisecond and AM/PM in every padding
+    private static final int VARIANTS = 20;
+
+    /**
+     * @return instants from 1900 on, with midnights, noons and the edges of Tehran's daylight saving time
+     */
+    static long[] instants() {
+        long[] local = {0L, 12 * 3600000L - 1, 12 * 3600000L, 24 * 3600000L - 1, 1000L, 59999L};
+        long[] instants = new long[500 + local.length * 2 + 4];
+        int n = 0;
+        for (int i = 0; i < 500; i++) {
+            // 1900 to 2100 with varying time of day
+            instants[n++] = -2208988800000L + i * 12622780800L + i * 7919L;
+        }
+        for (long millis : local) {
+            instants[n++] = Jalali.toEpochDay(1403, 12, 30) * JalaliDateTime.MILLIS_PER_DAY + millis - 12600000;
+            instants[n++] = Jalali.toEpochDay(1404, 1, 1) * JalaliDateTime.MILLIS_PER_DAY + millis - 12600000;
+        }
+        // 1401/01/02 and 1401/06/31, the last switches of daylight saving time
+        instants[n++] = 1647894600000L - 1;
+        instants[n++] = 1647894600000L;
+        instants[n++] = 1663788600000L - 1;
+        instants[n] = 1663788600000L;
+        return instants;
+    }
+
+    static RoozhFormatter append(RoozhFormatter formatter, int variant) {
+        switch (variant) {
+            case 0:
+                return formatter.appendYear(false);
+            case 1:
+                return formatter.appendYear(true);
+            case 2:
+                return formatter.appendMonth();
+            case 3:
+                return formatter.appendMonthLeadingZero();
+            case 4:
+                return formatter.appendMonthName();
+            case 5:
+                return formatter.appendDayOfMonth(false);
+            case 6:
+                return formatter.appendDayOfMonth(true);
+            case 7:
+                return formatter.appendDayOfWeek();
+            case 8:
+                return formatter.appendDayOfWeekLeadingZero();
+            case 9:
+                return formatter.appendDayOfWeekText();
+            case 10:
+                return formatter.appendHour(false);
+            case 11:
+                return formatter.appendHour(true);
+            case 12:
+                return formatter.appendHourOfDay(false);
+            case 13:
+                return formatter.appendHourOfDay(true);
+            case 14:
+                return formatter.appendMinute(false);
+            case 15:
+                return formatter.appendMinute(true);
+            case 16:
+                return formatter.appendSecond(false);
+            case 17:
+                return formatter.appendSecond(true);
+            case 18:
+                return formatter.appendMillisecond();
+            default:
+                return formatter.appendAmPm();
+        }
+    }
+
+    private static void assertPrinted(String expected, RoozhPrinter printer, long millis) throws IOException {
+        assertEquals(expected, printer.format(millis));
+        char[] chars = new char[printer.getMaxLength() + 3];
+        int end = printer.print(millis, chars, 3);
+        assertEquals(expected, new String(chars, 3, end - 3));
+        assertEquals("|" + expected, printer.print(millis, new StringBuilder("|")).toString());
+        StringWriter writer = new StringWriter();
+        printer.print(millis, writer);
+        assertEquals(expected, writer.toString());
+    }
+
+    private static void assertSameAsBuild(RoozhFormatter formatter, Roozh roozh) throws IOException {
+        RoozhPrinter printer = formatter.compile();
+        for (long millis : instants()) {
+            roozh.gregorianToPersian(millis);
+            assertPrinted(formatter.clean().build(), printer, millis);
+        }
+    }
+
+    @Test
+    public void everyComponentMatchesBuild() throws IOException {
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            Roozh roozh = Roozh.getInstance(locale);
+            for (int variant = 0; variant < VARIANTS; variant++) {
+                assertSameAsBuild(append(new RoozhFormatter(roozh), variant), roozh);
+            }
+        }
+    }
+
+    @Test
+    public void allComponentsMatchBuild() throws IOException {
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            Roozh roozh = Roozh.getInstance(locale);
+            RoozhFormatter formatter = new RoozhFormatter(roozh).appendText("[");
+            for (int variant = 0; variant < VARIANTS; variant++) {
+                append(formatter, variant).appendSpace();
+            }
+            assertSameAsBuild(formatter.appendSlash().appendDot().appendHyphen().appendColon().appendNewLine()
+                    .appendCharacter('\u060c'), roozh);
+        }
+    }
+
+    @Test
+    public void maxLengthIsEnough() {
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            RoozhFormatter formatter = new RoozhFormatter(Roozh.getInstance(locale));
+            for (int variant = 0; variant < VARIANTS; variant++) {
+                append(formatter, variant);
+            }
+            RoozhPrinter printer = formatter.compile();
+            for (long millis : instants()) {
+                assertEquals(true, printer.format(millis).length() <= printer.getMaxLength());
+            }
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void emptyFormatterDoesNotCompile() {
+        new RoozhFormatter(Roozh.getInstance()).compile();
+    }
+
+    /**
+     * @return printers of every component in native digits with multi-byte literals
+     */
+    private static RoozhPrinter[] utf8Printers() {
+        RoozhPrinter[] printers = new RoozhPrinter[RoozhLocale.values().length];
+        for (RoozhLocale locale : RoozhLocale.values()) {
+            RoozhFormatter formatter = new RoozhFormatter(Roozh.getInstance(locale)).appendText("\u0633\u0627\u0639\u062a ");
+            for (int variant = 0; variant < VARIANTS; variant++) {
+                append(formatter, variant).appendCharacter('\u060c');
+            }
+            printers[locale.ordinal()] = formatter.useNativeDigits().compile();
+        }
+        return printers;
+    }
+
+    private static void assertBuffer(byte[] expected, RoozhPrinter printer, long millis, ByteBuffer buffer) {
+        int start = buffer.position();
+        printer.print(millis, buffer);
+        assertEquals(start + expected.length, buffer.position());
+        byte[] actual = new byte[expected.length];
+        buffer.position(start);
+        buffer.get(actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void utf8MatchesFormat() {
+        for (RoozhPrinter printer : utf8Printers()) {
+            int max = printer.getMaxUtf8Length();
+            byte[] bytes = new byte[max + 2];
+            ByteBuffer heap = ByteBuffer.allocate(max + 3);
+            ByteBuffer direct = ByteBuffer.allocateDirect(max + 3);
+            // a slice has an array offset
+            ByteBuffer slice = ((ByteBuffer) ByteBuffer.allocate(max + 10).position(7)).slice();
+            for (long millis : instants()) {
+                byte[] expected = printer.format(millis).getBytes(UTF_8);
+                assertTrue(expected.length <= max);
+                assertEquals(2 + expected.length, printer.print(millis, bytes, 2));
+                assertArrayEquals(expected, Arrays.copyOfRange(bytes, 2, 2 + expected.length));
+                for (ByteBuffer buffer : new ByteBuffer[]{heap, direct, slice}) {
+                    buffer.clear().position(3);
+                    assertBuffer(expected, printer, millis, buffer);
+                }
+                JalaliDateTime dateTime = JalaliDateTime.ofEpochMillis(millis, printer.getCompiledZone());
+                assertEquals(expected.length, printer.print(dateTime, bytes, 0));
+                assertArrayEquals(expected, Arrays.copyOf(bytes, expected.length));
+            }
+        }
+    }
+
+    @Test
+    public void shortBufferIsNotWritten() {
+        for (RoozhPrinter printer : utf8Printers()) {
+            int max = printer.getMaxUtf8Length();
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(max + 4), ByteBuffer.allocateDirect(max + 4)}) {
+                // one byte less than the longest output, though this instant would fit
+                buffer.position(5);
+                try {
+                    printer.print(0L, buffer);
+                    fail("remaining " + buffer.remaining());
+                } catch (BufferOverflowException expected) {
+                    assertEquals(5, buffer.position());
+                }
+                buffer.position(4);
+                printer.print(0L, buffer);
+                assertEquals(4 + printer.format(0L).getBytes(UTF_8).length, buffer.position());
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RoozhZoneTest {
+    // TimeZone uses standard time before 1900 where the compiled tables keep local mean time
+    private static final long FROM = -2208988800000L;
+    // 2050-01-01T00:00Z
+    private static final long TO = 2524608000000L;
+    private static final long STEP = 15 * 60000L;
+    private static final long MILLIS_PER_DAY = JalaliDateTime.MILLIS_PER_DAY;
+
+    /**
+     * @return instants at which the offset of zone changes
+     */
+    private static List<Long> transitions(TimeZone zone) {
+        List<Long> transitions = new ArrayList<>();
+        for (long t = FROM; t + STEP < TO; t += STEP) {
+            if (zone.getOffset(t) != zone.getOffset(t + STEP)) {
+                // first instant of the new offset
+                long lo = t;
+                long hi = t + STEP;
+                while (hi - lo > 1) {
+                    long mid = lo + (hi - lo) / 2;
+                    if (zone.getOffset(mid) == zone.getOffset(t)) {
+                        lo = mid;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                transitions.add(hi);
+            }
+        }
+        return transitions;
+    }
+
+    private static void assertInstant(RoozhZone zone, TimeZone reference, long t) {
+        int offset = reference.getOffset(t);
+        assertEquals(zone + " at " + t, offset, zone.getOffset(t));
+        assertEquals(zone + " at " + t, Jalali.floorDiv(t + offset, MILLIS_PER_DAY), zone.toEpochDay(t));
+    }
+
+    private static void assertSameAsTimeZone(RoozhZone zone) {
+        TimeZone reference = TimeZone.getTimeZone(zone.getId());
+        for (long t = FROM; t < TO; t += STEP) {
+            assertInstant(zone, reference, t);
+            long local = zone.toLocalMillis(t);
+            long back = zone.toEpochMillis(local);
+            // only the second pass through an overlap resolves to another instant
+            assertTrue(zone + " at " + t, back == t || back < t && zone.toLocalMillis(back) == local);
+        }
+        for (long t : transitions(reference)) {
+            assertInstant(zone, reference, t - 1);
+            assertInstant(zone, reference, t);
+            int before = reference.getOffset(t - 1);
+            int after = reference.getOffset(t);
+            // local times from t + min to t + max are skipped (gap) or repeated (overlap)
+            long first = t + Math.min(before, after);
+            long last = t + Math.max(before, after) - 1;
+            for (long local : new long[]{first, (first + last) / 2, last}) {
+                // gaps move forward by their length, overlaps resolve to the earlier instant
+                assertEquals(zone + " local " + local, local - before, zone.toEpochMillis(local));
+            }
+            assertEquals(first - 1 - before, zone.toEpochMillis(first - 1));
+            assertEquals(last + 1 - after, zone.toEpochMillis(last + 1));
+        }
+    }
+
+    @Test
+    public void tehranMatchesTimeZone() {
+        assertSameAsTimeZone(RoozhZone.TEHRAN);
+        List<Long> transitions = transitions(TimeZone.getTimeZone("Asia/Tehran"));
+        assertTrue(transitions.size() > 60);
+        // daylight saving time ended for good on 1401/06/31
+        assertEquals(1663788600000L, (long) transitions.get(transitions.size() - 1));
+        assertEquals(12600000, RoozhZone.TEHRAN.getOffset(1679517000000L));
+        assertEquals(12600000, RoozhZone.TEHRAN.getOffset(TO));
+    }
+
+    @Test
+    public void kabulMatchesTimeZone() {
+        assertSameAsTimeZone(RoozhZone.KABUL);
+        assertEquals(1, transitions(TimeZone.getTimeZone("Asia/Kabul")).size());
+        assertEquals(16200000, RoozhZone.KABUL.getOffset(TO));
+    }
+
+    @Test
+    public void timeZoneOverloadsUseCompiledZone() {
+        // 1890-01-01T23:58 in local mean time, already the next day in the standard offset of TimeZone
+        long millis = -2524521600000L + 86280000L - 12344000;
+        TimeZone tehran = TimeZone.getTimeZone("Asia/Tehran");
+        int expected = Jalali.toJalaliFromMillis(millis, RoozhZone.TEHRAN);
+        assertTrue(expected != Jalali.toJalali(Jalali.floorDiv(millis + tehran.getOffset(millis), MILLIS_PER_DAY)));
+        assertEquals(expected, Jalali.toJalaliFromMillis(millis, tehran));
+        assertEquals(JalaliDate.ofEpochMillis(millis, RoozhZone.TEHRAN), JalaliDate.ofEpochMillis(millis, tehran));
+        assertEquals(JalaliDateTime.ofEpochMillis(millis, RoozhZone.TEHRAN),
+                JalaliDateTime.ofEpochMillis(millis, tehran));
+        int[] out = new int[1];
+        RoozhBulk.convert(new long[]{millis}, out, tehran);
+        assertEquals(expected, out[0]);
+        RoozhFormatter formatter = new RoozhFormatter(Roozh.getInstance()).appendYear(false).appendMonth()
+                .appendDayOfMonth(true).appendHourOfDay(true).appendMinute(true);
+        String text = formatter.compile(RoozhLocale.ENGLISH, RoozhZone.TEHRAN).format(millis);
+        assertEquals(text, formatter.compile(RoozhLocale.ENGLISH, tehran).format(millis));
+        assertEquals(text, formatter.compile().withZone(tehran).format(millis));
+        long local = RoozhZone.TEHRAN.toLocalMillis(millis);
+        JalaliDateTime dateTime = JalaliDateTime.ofLocalEpochMillis(local);
+        String parsed = String.format("%d/%02d/%02d %02d:%02d", dateTime.getYear(), dateTime.getMonth(),
+                dateTime.getDayOfMonth(), dateTime.getHourOfDay(), dateTime.getMinute());
+        assertEquals(millis, RoozhParser.parseEpochMillis(parsed, tehran));
+    }
+
+    @Test
+    public void compiledZoneOfTimeZone() {
+        assertEquals(RoozhZone.TEHRAN, RoozhZone.forTimeZone(TimeZone.getTimeZone("Asia/Tehran")));
+        assertEquals(RoozhZone.UTC, RoozhZone.of("UTC"));
+        assertEquals(null, RoozhZone.forTimeZone(TimeZone.getTimeZone("Europe/Berlin")));
+        assertEquals(null, RoozhZone.forTimeZone(new java.util.SimpleTimeZone(0, "Asia/Tehran")));
+    }
+}
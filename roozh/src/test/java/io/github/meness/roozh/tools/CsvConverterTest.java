@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.tools;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import io.github.meness.roozh.RoozhFormatter;
+import io.github.meness.roozh.RoozhLocale;
+
+import static org.junit.Assert.assertEquals;
+
+public class CsvConverterTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String convert(String csv, CsvConverter converter) throws IOException {
+        File input = folder.newFile();
+        File output = folder.newFile();
+        Files.write(input.toPath(), csv.getBytes(UTF_8));
+        converter.convert(input, output);
+        return new String(Files.readAllBytes(output.toPath()), UTF_8);
+    }
+
+    @Test
+    public void addsColumnsAfterSources() throws IOException {
+        String csv = "\"id\",ts,iso,jalali\r\n"
+                + "1,1500000037123,2017-07-14T02:40:37Z,1399/12/30\r\n"
+                + "2,\"1500000037123\",2017-07-14,1403/7/25 13:05\n"
+                + "\n"
+                + "3,x,2017-02-30,1403/13/01\n";
+        String expected = "\"id\",ts,ts_jalali,iso,iso_jalali,jalali,jalali_gregorian\r\n"
+                + "1,1500000037123,1396/04/23 07:10:37,2017-07-14T02:40:37Z,1396/04/23 07:10:37,1399/12/30,2021-03-20\r\n"
+                + "2,\"1500000037123\",1396/04/23 07:10:37,2017-07-14,1396/04/23 00:00:00,1403/7/25 13:05,2024-10-16T13:05:00\n"
+                + "\n"
+                + "3,x,,2017-02-30,,1403/13/01,\n";
+        // chunks of a few bytes end on every line
+        for (int chunkSize : new int[]{1, 7, CsvConverter.DEFAULT_CHUNK_SIZE}) {
+            CsvConverter converter = new CsvConverter(RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm:ss", RoozhLocale.ENGLISH))
+                    .setHeader(true)
+                    .setChunkSize(chunkSize)
+                    .setThreads(2)
+                    .addColumn(1, CsvConverter.Source.MILLIS)
+                    .addColumn(2, CsvConverter.Source.ISO)
+                    .addColumn(3, CsvConverter.Source.JALALI);
+            assertEquals(expected, convert(csv, converter));
+            assertEquals(3, converter.getFailedCells());
+        }
+    }
+
+    @Test
+    public void quotedDelimiterStaysInField() throws IOException {
+        CsvConverter converter = new CsvConverter(RoozhFormatter.ofPattern("yyyy/MM/dd", RoozhLocale.ENGLISH))
+                .setDelimiter(';')
+                .addColumn(1, CsvConverter.Source.SECONDS);
+        assertEquals("\"a;b\";0;1348/10/11", convert("\"a;b\";0", converter));
+    }
+}
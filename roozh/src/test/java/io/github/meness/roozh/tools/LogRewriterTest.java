@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Alireza Eskandarpour Shoferi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.meness.roozh.tools;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import io.github.meness.roozh.RoozhFormatter;
+import io.github.meness.roozh.RoozhLocale;
+
+import static org.junit.Assert.assertEquals;
+
+public class LogRewriterTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static String rewrite(LogRewriter rewriter, String log) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        rewriter.rewrite(new ByteArrayInputStream(log.getBytes(UTF_8)), out);
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    @Test
+    public void rewritesTimestamps() throws IOException {
+        LogRewriter rewriter = new LogRewriter(RoozhFormatter.ofPattern("yyyy/MM/dd HH:mm:ss", RoozhLocale.ENGLISH));
+        String log = "2017-07-14T02:40:37Z INFO start\n"
+                + "[2017-07-14 07:10:37,123] local time\n"
+                + "s=1500000037 ms=1500000037123 f=1500000037.5\n"
+                + "id=a1500000037 v1.1500000037 12345678901 on 2017-07-14\n"
+                + "0001-01-01T00:00:00Z 2017-07-14T02:40:37+04:30";
+        String expected = "1396/04/23 07:10:37 INFO start\n"
+                + "[1396/04/23 07:10:37] local time\n"
+                + "s=1396/04/23 07:10:37 ms=1396/04/23 07:10:37 f=1396/04/23 07:10:37\n"
+                + "id=a1500000037 v1.1500000037 12345678901 on 2017-07-14\n"
+                + "0001-01-01T00:00:00Z 1396/04/23 02:40:37";
+        assertEquals(expected, rewrite(rewriter, log));
+        assertEquals(6, rewriter.getRewritten());
+    }
+
+    @Test
+    public void cacheKeepsMilliseconds() throws IOException {
+        LogRewriter rewriter = new LogRewriter(RoozhFormatter.ofPattern("HH:mm:ss.S", RoozhLocale.ENGLISH));
+        assertEquals("07:10:37.123 07:10:37.124 07:10:37.124\n",
+                rewrite(rewriter, "1500000037123 1500000037124 1500000037124\n"));
+    }
+
+    @Test
+    public void lineLongerThanBuffer() throws IOException {
+        LogRewriter rewriter = new LogRewriter(RoozhFormatter.ofPattern("yyyy/MM/dd", RoozhLocale.ENGLISH))
+                .setEpochs(false);
+        StringBuilder log = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        while (log.length() <= LogRewriter.BUFFER_SIZE) {
+            log.append("2017-07-14T02:40:37Z ");
+            expected.append("1396/04/23 ");
+        }
+        log.append("\n1500000037\n");
+        expected.append("\n1500000037\n");
+        assertEquals(expected.toString(), rewrite(rewriter, log.toString()));
+    }
+}